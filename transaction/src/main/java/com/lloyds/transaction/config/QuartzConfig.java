@@ -1,13 +1,33 @@
 package com.lloyds.transaction.config;
 
+import com.lloyds.transaction.service.ScheduledTransferExecutor;
 import com.lloyds.transaction.service.TransactionService;
+import com.lloyds.transaction.service.quartz.DisabledJobCleaner;
+import com.lloyds.transaction.service.quartz.ElasticThreadPool;
+import com.lloyds.transaction.service.quartz.MisfireRecoveryJob;
+import com.lloyds.transaction.service.quartz.TransferJobMetricsListener;
+import com.lloyds.transaction.service.quartz.TransferPreflightJob;
+import com.lloyds.transaction.service.quartz.TransferSweeperJob;
+import com.lloyds.transaction.service.preflight.TransferPreflightService;
+import com.lloyds.transaction.service.recovery.MisfireRecoveryService;
+import com.lloyds.transaction.service.sweeper.TransferSweeper;
 import lombok.RequiredArgsConstructor;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.quartz.TriggerListener;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.quartz.SchedulerFactoryBean;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -38,16 +58,87 @@ public class QuartzConfig {
     @Value("${spring.quartz.properties.org.quartz.threadPool.threadCount}")
     private String threadPoolThreadCount;
 
+    @Value("${spring.quartz.properties.org.quartz.threadPool.keepAliveSeconds:60}")
+    private String threadPoolKeepAliveSeconds;
+
+    @Value("${spring.quartz.properties.org.quartz.scheduler.batchTriggerAcquisitionMaxCount:1}")
+    private String batchTriggerAcquisitionMaxCount;
+
+    @Value("${spring.quartz.properties.org.quartz.scheduler.batchTriggerAcquisitionFireAheadTimeWindow:0}")
+    private String batchTriggerAcquisitionFireAheadTimeWindow;
+
     @Value("${spring.quartz.properties.org.quartz.jobStore.dataSource}")
     private String jobStoreDataSource;
 
+    @Value("${transfer.scheduler.engine:quartz}")
+    private String schedulerEngine;
+
+    @Value("${transfer.scheduler.sweeper.interval-ms:5000}")
+    private long sweeperIntervalMs;
+
+    @Value("${transfer.scheduler.misfire.mode:fire-now}")
+    private String misfireMode;
+
+    @Value("${transfer.scheduler.misfire.reconcile.enabled:true}")
+    private boolean misfireReconcileEnabled;
+
+    @Value("${transfer.scheduler.retry.enabled:false}")
+    private boolean retryEnabled;
+
+    @Value("${transfer.scheduler.misfire.drain-interval-ms:5000}")
+    private long misfireDrainIntervalMs;
+
+    @Value("${transfer.scheduler.preflight.enabled:false}")
+    private boolean preflightEnabled;
+
+    @Value("${transfer.scheduler.preflight.interval-ms:300000}")
+    private long preflightIntervalMs;
+
     @Bean
-    public SchedulerFactoryBean schedulerFactoryBean(TransactionService transactionService) {
+    public SchedulerFactoryBean schedulerFactoryBean(TransactionService transactionService, TransferSweeper transferSweeper,
+                                                     ScheduledTransferExecutor scheduledTransferExecutor,
+                                                     MisfireRecoveryService misfireRecoveryService,
+                                                     TransferPreflightService transferPreflightService,
+                                                     TransferJobMetricsListener transferJobMetricsListener) {
         SchedulerFactoryBean factory = new SchedulerFactoryBean();
 
         // Use the Spring-managed DataSource
         factory.setDataSource(dataSource);
-        factory.setSchedulerContextAsMap(Map.of("transactionService", transactionService));
+        factory.setSchedulerContextAsMap(Map.of(
+                "transactionService", transactionService,
+                "transferSweeper", transferSweeper,
+                "scheduledTransferExecutor", scheduledTransferExecutor,
+                "misfireRecoveryService", misfireRecoveryService,
+                "transferPreflightService", transferPreflightService));
+
+        List<JobDetail> jobDetails = new ArrayList<>();
+        List<Trigger> triggers = new ArrayList<>();
+        List<TriggerListener> triggerListeners = new ArrayList<>();
+        factory.setGlobalJobListeners(transferJobMetricsListener);
+        triggerListeners.add(transferJobMetricsListener);
+        if (sweeperJobEnabled()) {
+            // One trigger drains every one-time transfer in the scheduled_transfer table
+            JobDetail sweeperJob = buildSweeperJobDetail();
+            jobDetails.add(sweeperJob);
+            triggers.add(buildSweeperTrigger(sweeperJob));
+        }
+        if (recoveryJobEnabled()) {
+            // The same rate-limited job queues the occurrences misfired triggers skipped and drains them with the retries
+            JobDetail recoveryJob = buildRecoveryJobDetail();
+            jobDetails.add(recoveryJob);
+            triggers.add(buildRecoveryTrigger(recoveryJob));
+        }
+        if (preflightEnabled) {
+            JobDetail preflightJob = buildPreflightJobDetail();
+            jobDetails.add(preflightJob);
+            triggers.add(buildPreflightTrigger(preflightJob));
+        }
+        factory.setGlobalTriggerListeners(triggerListeners.toArray(new TriggerListener[0]));
+        if (!jobDetails.isEmpty()) {
+            factory.setJobDetails(jobDetails.toArray(new JobDetail[0]));
+            factory.setTriggers(triggers.toArray(new Trigger[0]));
+            factory.setOverwriteExistingJobs(true);
+        }
 
 //        // Quartz scheduler properties
         Properties props = new Properties();
@@ -58,9 +149,110 @@ public class QuartzConfig {
         props.setProperty("org.quartz.jobStore.isClustered", jobStoreIsClustered);
         props.setProperty("org.quartz.threadPool.class", threadPoolClass);
         props.setProperty("org.quartz.threadPool.threadCount", threadPoolThreadCount);
+        if (ElasticThreadPool.class.getName().equals(threadPoolClass)) {
+            props.setProperty("org.quartz.threadPool.keepAliveSeconds", threadPoolKeepAliveSeconds);
+        }
+        // Acquire as many triggers per scan as there are free threads; with a JDBC store, batch
+        // acquisition must happen under the TRIGGER_ACCESS lock to avoid double firing
+        props.setProperty("org.quartz.scheduler.batchTriggerAcquisitionMaxCount", batchTriggerAcquisitionMaxCount);
+        props.setProperty("org.quartz.scheduler.batchTriggerAcquisitionFireAheadTimeWindow", batchTriggerAcquisitionFireAheadTimeWindow);
+        if (Integer.parseInt(batchTriggerAcquisitionMaxCount) > 1) {
+            props.setProperty("org.quartz.jobStore.acquireTriggersWithinLock", "true");
+        }
         props.setProperty("org.quartz.jobStore.dataSource", jobStoreDataSource);
 
         factory.setQuartzProperties(props);
         return factory;
     }
-}
\ No newline at end of file
+
+    /**
+     * Deletes the stored jobs of features turned off since they were registered, e.g. the sweeper job after
+     * switching to the quartz or partitioned engine, or the pre-flight job once pre-flight checks are disabled.
+     */
+    @Bean
+    public DisabledJobCleaner disabledJobCleaner(Scheduler scheduler) {
+        List<JobKey> disabledJobs = new ArrayList<>();
+        if (!sweeperJobEnabled()) {
+            disabledJobs.add(JobKey.jobKey(TransferSweeperJob.JOB_NAME, TransferSweeperJob.JOB_GROUP));
+        }
+        if (!recoveryJobEnabled()) {
+            disabledJobs.add(JobKey.jobKey(MisfireRecoveryJob.JOB_NAME, MisfireRecoveryJob.JOB_GROUP));
+        }
+        if (!preflightEnabled) {
+            disabledJobs.add(JobKey.jobKey(TransferPreflightJob.JOB_NAME, TransferPreflightJob.JOB_GROUP));
+        }
+        return new DisabledJobCleaner(scheduler, disabledJobs);
+    }
+
+    private boolean sweeperJobEnabled() {
+        return "sweeper".equalsIgnoreCase(schedulerEngine);
+    }
+
+    /**
+     * Triggers created in queue mode keep skipping their missed fire times after the mode is switched back to
+     * fire-now, so the recovery job keeps queuing those occurrences unless reconciliation is turned off too.
+     */
+    private boolean recoveryJobEnabled() {
+        return "queue".equalsIgnoreCase(misfireMode) || misfireReconcileEnabled || retryEnabled;
+    }
+
+    private JobDetail buildSweeperJobDetail() {
+        return JobBuilder.newJob(TransferSweeperJob.class)
+                .withIdentity(TransferSweeperJob.JOB_NAME, TransferSweeperJob.JOB_GROUP)
+                .withDescription("Scheduled Transfer Sweeper Job")
+                .storeDurably()
+                .build();
+    }
+
+    private Trigger buildSweeperTrigger(JobDetail sweeperJob) {
+        return TriggerBuilder.newTrigger()
+                .forJob(sweeperJob)
+                .withIdentity(TransferSweeperJob.JOB_NAME, "sweeper-triggers")
+                .withDescription("Scheduled Transfer Sweeper Trigger")
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                        .withIntervalInMilliseconds(sweeperIntervalMs)
+                        .repeatForever()
+                        .withMisfireHandlingInstructionNextWithRemainingCount())
+                .build();
+    }
+
+    private JobDetail buildRecoveryJobDetail() {
+        return JobBuilder.newJob(MisfireRecoveryJob.class)
+                .withIdentity(MisfireRecoveryJob.JOB_NAME, MisfireRecoveryJob.JOB_GROUP)
+                .withDescription("Misfire Recovery Job")
+                .storeDurably()
+                .build();
+    }
+
+    private Trigger buildRecoveryTrigger(JobDetail recoveryJob) {
+        return TriggerBuilder.newTrigger()
+                .forJob(recoveryJob)
+                .withIdentity(MisfireRecoveryJob.JOB_NAME, "recovery-triggers")
+                .withDescription("Misfire Recovery Trigger")
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                        .withIntervalInMilliseconds(misfireDrainIntervalMs)
+                        .repeatForever()
+                        .withMisfireHandlingInstructionNextWithRemainingCount())
+                .build();
+    }
+
+    private JobDetail buildPreflightJobDetail() {
+        return JobBuilder.newJob(TransferPreflightJob.class)
+                .withIdentity(TransferPreflightJob.JOB_NAME, TransferPreflightJob.JOB_GROUP)
+                .withDescription("Scheduled Transfer Pre-flight Job")
+                .storeDurably()
+                .build();
+    }
+
+    private Trigger buildPreflightTrigger(JobDetail preflightJob) {
+        return TriggerBuilder.newTrigger()
+                .forJob(preflightJob)
+                .withIdentity(TransferPreflightJob.JOB_NAME, "preflight-triggers")
+                .withDescription("Scheduled Transfer Pre-flight Trigger")
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule()
+                        .withIntervalInMilliseconds(preflightIntervalMs)
+                        .repeatForever()
+                        .withMisfireHandlingInstructionNextWithRemainingCount())
+                .build();
+    }
+}
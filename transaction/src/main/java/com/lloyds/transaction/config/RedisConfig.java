@@ -0,0 +1,56 @@
+package com.lloyds.transaction.config;
+
+import com.lloyds.transaction.service.account.AccountOwnershipCache;
+import com.lloyds.transaction.service.redis.RevokedJtiFilter;
+import com.lloyds.transaction.service.redis.TokenBlacklistNearCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.List;
+
+/**
+ * Subscribes the local blacklist structures (near-cache, revoked JTI filter) to the Redis channels that
+ * announce revoked JTIs, and the account ownership cache to the channel that announces ownership changes.
+ */
+@Configuration
+public class RedisConfig {
+
+    @Bean
+    @ConditionalOnExpression("${token.blacklist.near-cache.enabled:false} or ${token.blacklist.bloom.enabled:false}")
+    public RedisMessageListenerContainer revocationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TokenBlacklistNearCache nearCache,
+            RevokedJtiFilter revokedJtiFilter,
+            @Value("${token.blacklist.revocation-channels}") List<String> channels) {
+        List<ChannelTopic> topics = channels.stream().map(ChannelTopic::new).toList();
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        if (nearCache.isEnabled()) {
+            container.addMessageListener(nearCache, topics);
+            nearCache.trackSubscription(container::isListening);
+        }
+        if (revokedJtiFilter.isEnabled()) {
+            container.addMessageListener(revokedJtiFilter, topics);
+            revokedJtiFilter.trackSubscription(container::isListening);
+        }
+        return container;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "account.ownership-cache.enabled", havingValue = "true")
+    public RedisMessageListenerContainer ownershipListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            AccountOwnershipCache accountOwnershipCache,
+            @Value("${account.ownership-cache.invalidation-channel:account-ownership-changes}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(accountOwnershipCache, new ChannelTopic(channel));
+        return container;
+    }
+}
@@ -1,14 +1,19 @@
 package com.lloyds.transaction.controller;
 
 import com.lloyds.transaction.dto.request.TransferRequestDTO;
+import com.lloyds.transaction.dto.response.BulkSchedulerResponseDTO;
+import com.lloyds.transaction.dto.response.ScheduledTransferDTO;
 import com.lloyds.transaction.dto.response.SchedulerResponseDTO;
 import com.lloyds.transaction.service.SchedulerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @Slf4j
 @RequiredArgsConstructor
@@ -27,4 +32,45 @@ public class SchedulerController {
             return ResponseEntity.ok(response);
 
     }
+
+    @PostMapping("/transfer/bulk")
+    public ResponseEntity<BulkSchedulerResponseDTO> scheduleTransfers(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader,
+                                                                      @RequestBody List<TransferRequestDTO> transferRequests) {
+
+            log.info("Received request to schedule {} transfers", transferRequests.size());
+            BulkSchedulerResponseDTO response = schedulerService.scheduleTransfers(authHeader, transferRequests);
+            return ResponseEntity.ok(response);
+
+    }
+
+    /**
+     * Lists the caller's scheduled transfers in the given status, soonest first, optionally for one sender account.
+     */
+    @GetMapping("/transfers")
+    public ResponseEntity<Page<ScheduledTransferDTO>> getScheduledTransfers(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader,
+                                                                            @RequestParam(required = false) Long accountId,
+                                                                            @RequestParam(defaultValue = "PENDING", required = false) String status,
+                                                                            @RequestParam(defaultValue = "1", required = false) int page,
+                                                                            @RequestParam(defaultValue = "20", required = false) int size) {
+
+            return ResponseEntity.ok(schedulerService.getScheduledTransfers(authHeader, accountId, status, page, size));
+
+    }
+
+    @GetMapping("/transfers/{scheduledTransferId}")
+    public ResponseEntity<ScheduledTransferDTO> getScheduledTransfer(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader,
+                                                                     @PathVariable Long scheduledTransferId) {
+
+            return ResponseEntity.ok(schedulerService.getScheduledTransfer(authHeader, scheduledTransferId));
+
+    }
+
+    @DeleteMapping("/transfers/{scheduledTransferId}")
+    public ResponseEntity<ScheduledTransferDTO> cancelScheduledTransfer(@RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader,
+                                                                        @PathVariable Long scheduledTransferId) {
+
+            log.info("Received request to cancel scheduled transfer: {}", scheduledTransferId);
+            return ResponseEntity.ok(schedulerService.cancelScheduledTransfer(authHeader, scheduledTransferId));
+
+    }
 }
\ No newline at end of file
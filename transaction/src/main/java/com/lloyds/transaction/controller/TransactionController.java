@@ -4,10 +4,14 @@ import com.lloyds.transaction.dto.request.TransferRequestDTO;
 import com.lloyds.transaction.dto.response.AccountDTO;
 import com.lloyds.transaction.dto.response.TransferResponseDTO;
 import com.lloyds.transaction.exception.InsufficientFundsException;
+import com.lloyds.transaction.exception.LaneCapacityExceededException;
 import com.lloyds.transaction.dto.response.TransactionDTO;
 import com.lloyds.transaction.feign.AccountInterface;
 import com.lloyds.transaction.security.JwtUtil;
 import com.lloyds.transaction.service.TransactionService;
+import com.lloyds.transaction.service.account.AccountOwnershipCache;
+import com.lloyds.transaction.service.lanes.ExecutionLanes;
+import com.lloyds.transaction.service.lanes.Lane;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
@@ -18,6 +22,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @RestController
@@ -28,6 +34,8 @@ public class TransactionController {
     private final TransactionService transactionService;
     private final AccountInterface accountFiegnClient;
     private final JwtUtil jwtUtil;
+    private final ExecutionLanes executionLanes;
+    private final AccountOwnershipCache accountOwnershipCache;
 
     @Value("${service.api.key}")
     private String apiKey;
@@ -48,11 +56,12 @@ public class TransactionController {
             String jwtToken = authHeader.replace("Bearer ", "");
             String customerIdFromToken = jwtUtil.extractId(jwtToken);
             Long customerIdFromTokenAsLong = Long.parseLong(customerIdFromToken);
-            TransferResponseDTO transferResponse = transactionService.transferFunds(transferRequest, customerIdFromTokenAsLong);
+            TransferResponseDTO transferResponse = executionLanes.run(Lane.INTERACTIVE,
+                    () -> transactionService.transferFunds(transferRequest, customerIdFromTokenAsLong));
 
             return ResponseEntity.ok(transferResponse);
         }
-        catch(InsufficientFundsException e){
+        catch(InsufficientFundsException | LaneCapacityExceededException e){
             throw e;
         }
         catch (Exception e) {
@@ -77,18 +86,34 @@ public class TransactionController {
             String customerIdFromToken = jwtUtil.extractId(token);
             Long customerIdFromTokenAsLong = Long.parseLong(customerIdFromToken);
 
-            ResponseEntity<AccountDTO> accountResponse = accountFiegnClient.getAccountById(accountId, authorizationHeader, apiKey);
-
-            if (!accountResponse.getStatusCode().is2xxSuccessful() || accountResponse.getBody() == null) {
-                log.warn("Failed to fetch account details for account {}", accountId);
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            // A trusted ownership claim in the token answers the check without asking the account service
+            Optional<Set<Long>> ownedAccountIds = jwtUtil.extractOwnedAccountIds(token);
+            if (ownedAccountIds.isPresent()) {
+                if (!ownedAccountIds.get().contains(accountId)) {
+                    log.warn("Access denied: account {} is not in the token's account claim", accountId);
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+                }
+                return ResponseEntity.ok(transactionService.getTransactionsByAccountId(
+                        accountId, page, size, sortOrder, sortBy));
             }
 
-            AccountDTO accountDTO = accountResponse.getBody();
+            // Only a cached match is trusted; anything else is checked with the account service, so a stale
+            // entry can cost a call but never deny access
+            if (!Objects.equals(accountOwnershipCache.ownerOf(accountId), customerIdFromTokenAsLong)) {
+                ResponseEntity<AccountDTO> accountResponse = accountFiegnClient.getAccountDetailsById(accountId, authorizationHeader, apiKey);
+
+                if (!accountResponse.getStatusCode().is2xxSuccessful() || accountResponse.getBody() == null) {
+                    log.warn("Failed to fetch account details for account {}", accountId);
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+                }
+
+                AccountDTO accountDTO = accountResponse.getBody();
+                accountOwnershipCache.put(accountId, accountDTO.getCustomerId());
 
-            if (!Objects.equals(accountDTO.getCustomerId(), customerIdFromTokenAsLong)) {
-                log.warn("Access denied: Customer ID mismatch for account {}", accountId);
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+                if (!Objects.equals(accountDTO.getCustomerId(), customerIdFromTokenAsLong)) {
+                    log.warn("Access denied: Customer ID mismatch for account {}", accountId);
+                    return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+                }
             }
 
             Page<TransactionDTO> transactions = transactionService.getTransactionsByAccountId(
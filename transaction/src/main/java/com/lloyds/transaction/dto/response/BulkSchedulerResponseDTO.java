@@ -0,0 +1,18 @@
+package com.lloyds.transaction.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class BulkSchedulerResponseDTO {
+    private int requested;
+    private int scheduled;
+    private int failed;
+    // One entry per requested transfer, in request order
+    private List<SchedulerResponseDTO> results;
+}
@@ -0,0 +1,46 @@
+package com.lloyds.transaction.dto.response;
+
+import com.lloyds.transaction.entity.ScheduledTransfer;
+import lombok.*;
+
+import java.time.Instant;
+
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduledTransferDTO {
+    private Long id;
+    private String jobId;
+    private String engine;
+    private Long senderAccountId;
+    private Long receiverAccountId;
+    private String receiverName;
+    private String note;
+    private String transactionType;
+    private Double amount;
+    private String recurrencePattern;
+    private Instant nextFireTime;
+    private String status;
+    private String preflightStatus;
+    private String transactionId;
+    private Instant createdAt;
+
+    public ScheduledTransferDTO(ScheduledTransfer scheduledTransfer) {
+        this.id = scheduledTransfer.getId();
+        this.jobId = scheduledTransfer.getJobName() != null ? scheduledTransfer.getJobName() : String.valueOf(scheduledTransfer.getId());
+        this.engine = scheduledTransfer.getEngine().name();
+        this.senderAccountId = scheduledTransfer.getSenderAccountId();
+        this.receiverAccountId = scheduledTransfer.getReceiverAccountId();
+        this.receiverName = scheduledTransfer.getReceiverName();
+        this.note = scheduledTransfer.getNote();
+        this.transactionType = scheduledTransfer.getTransactionType();
+        this.amount = scheduledTransfer.getAmount();
+        this.recurrencePattern = scheduledTransfer.getRecurrencePattern();
+        this.nextFireTime = scheduledTransfer.getNextFireTime();
+        this.status = scheduledTransfer.getStatus().name();
+        this.preflightStatus = scheduledTransfer.getPreflightStatus() != null ? scheduledTransfer.getPreflightStatus().name() : null;
+        this.transactionId = scheduledTransfer.getTransactionId();
+        this.createdAt = scheduledTransfer.getCreatedAt();
+    }
+}
@@ -0,0 +1,50 @@
+package com.lloyds.transaction.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(
+        name = "transfer_dead_letter",
+        indexes = {
+                @Index(name = "idx_dead_letter_scheduled_transfer", columnList = "scheduledTransferId")
+        }
+)
+public class DeadLetterTransfer {
+
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long scheduledTransferId;
+
+    // Occurrence that was given up on
+    @Column(nullable = false)
+    private Instant scheduledFireTime;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError != null && lastError.length() > MAX_ERROR_LENGTH
+                ? lastError.substring(0, MAX_ERROR_LENGTH)
+                : lastError;
+    }
+}
@@ -0,0 +1,29 @@
+package com.lloyds.transaction.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "scheduler_partition_lease")
+public class PartitionLease {
+
+    @Id
+    private Integer partitionId;
+
+    // Null while the partition is free
+    private String ownerNode;
+
+    private Instant leaseExpiresAt;
+
+    public PartitionLease(Integer partitionId) {
+        this.partitionId = partitionId;
+    }
+}
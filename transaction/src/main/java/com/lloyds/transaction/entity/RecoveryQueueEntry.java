@@ -0,0 +1,84 @@
+package com.lloyds.transaction.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(
+        name = "transfer_recovery_queue",
+        indexes = {
+                @Index(name = "idx_recovery_queue_drain", columnList = "status, notBefore, scheduledFireTime")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_recovery_queue_occurrence",
+                        columnNames = {"scheduledTransferId", "scheduledFireTime", "reason"})
+        }
+)
+public class RecoveryQueueEntry {
+
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    public enum Reason {
+        MISFIRE,
+        // A transient failure of an occurrence that ran; executed again after a backoff
+        RETRY
+    }
+
+    public enum Status {
+        QUEUED,
+        IN_PROGRESS,
+        DONE,
+        FAILED,
+        // Claim expired before the run finished; whether money moved has to be checked before it is run again
+        UNRECONCILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long scheduledTransferId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Reason reason = Reason.MISFIRE;
+
+    // The fire time of the missed or failed occurrence; drained oldest first
+    @Column(nullable = false)
+    private Instant scheduledFireTime;
+
+    @Column(nullable = false)
+    private Instant notBefore;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.QUEUED;
+
+    private Instant claimedAt;
+
+    private Instant completedAt;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError != null && lastError.length() > MAX_ERROR_LENGTH
+                ? lastError.substring(0, MAX_ERROR_LENGTH)
+                : lastError;
+    }
+}
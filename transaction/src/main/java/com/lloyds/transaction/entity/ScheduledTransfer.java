@@ -0,0 +1,131 @@
+package com.lloyds.transaction.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(
+        name = "scheduled_transfer",
+        indexes = {
+                @Index(name = "idx_scheduled_transfer_sweep", columnList = "engine, status, dueAt"),
+                @Index(name = "idx_scheduled_transfer_partition_sweep", columnList = "engine, status, partitionId, dueAt"),
+                @Index(name = "idx_scheduled_transfer_job_name", columnList = "jobName", unique = true),
+                @Index(name = "idx_scheduled_transfer_customer", columnList = "customerId, status, nextFireTime"),
+                @Index(name = "idx_scheduled_transfer_sender", columnList = "senderAccountId, status, nextFireTime"),
+                @Index(name = "idx_scheduled_transfer_upcoming", columnList = "status, nextFireTime")
+        }
+)
+public class ScheduledTransfer {
+
+    private static final int MAX_ERROR_LENGTH = 512;
+
+    /**
+     * QUARTZ rows are the payload of a Quartz job that references them by ID;
+     * SWEEPER rows are one-time transfers executed by the sweeper.
+     */
+    public enum Engine {
+        QUARTZ,
+        SWEEPER
+    }
+
+    public enum Status {
+        PENDING,
+        CLAIMED,
+        COMPLETED,
+        FAILED,
+        CANCELLED,
+        // One-time transfer that failed transiently and waits in the retry queue
+        RETRYING,
+        // Claim expired before the run finished; whether money moved has to be checked before it is run again
+        UNRECONCILED
+    }
+
+    /**
+     * Outcome of the last pre-flight check; null until a check could reach the account service.
+     */
+    public enum PreflightStatus {
+        PASSED,
+        SENDER_NOT_FOUND,
+        RECEIVER_NOT_FOUND,
+        INSUFFICIENT_FUNDS
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Engine engine = Engine.SWEEPER;
+
+    // Quartz job name, for QUARTZ rows
+    private String jobName;
+
+    @Column(nullable = false)
+    private Long customerId;
+
+    @Column(nullable = false)
+    private Long senderAccountId;
+
+    // Hash of senderAccountId; partitioned sweepers only claim rows of the partitions they lease
+    private Integer partitionId;
+
+    @Column(nullable = false)
+    private Long receiverAccountId;
+
+    private String receiverName;
+
+    private String note;
+
+    private String transactionType;
+
+    @Column(nullable = false)
+    private Double amount;
+
+    private String recurrencePattern;
+
+    // First (or only) fire time
+    @Column(nullable = false)
+    private Instant dueAt;
+
+    // Upcoming fire time, kept current as recurring occurrences run; null once nothing is left to fire
+    private Instant nextFireTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.PENDING;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 24)
+    private PreflightStatus preflightStatus;
+
+    private Instant preflightCheckedAt;
+
+    private String claimedBy;
+
+    private Instant claimedAt;
+
+    private Instant completedAt;
+
+    private String transactionId;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError != null && lastError.length() > MAX_ERROR_LENGTH
+                ? lastError.substring(0, MAX_ERROR_LENGTH)
+                : lastError;
+    }
+}
@@ -0,0 +1,28 @@
+package com.lloyds.transaction.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+
+@Setter
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(name = "scheduler_node")
+public class SchedulerNode {
+
+    @Id
+    private String nodeId;
+
+    @Column(nullable = false)
+    private Instant heartbeatAt;
+
+    public SchedulerNode(String nodeId, Instant heartbeatAt) {
+        this.nodeId = nodeId;
+        this.heartbeatAt = heartbeatAt;
+    }
+}
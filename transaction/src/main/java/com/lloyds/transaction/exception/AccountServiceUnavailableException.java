@@ -0,0 +1,11 @@
+package com.lloyds.transaction.exception;
+
+/**
+ * The account service could not answer an account lookup (5xx, 429 or no response). Nothing has been
+ * written at that point, so the transfer can safely be tried again.
+ */
+public class AccountServiceUnavailableException extends AccountNotFoundException {
+    public AccountServiceUnavailableException(String message) {
+        super(message);
+    }
+}
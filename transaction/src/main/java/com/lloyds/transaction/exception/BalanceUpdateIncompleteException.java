@@ -0,0 +1,11 @@
+package com.lloyds.transaction.exception;
+
+/**
+ * A transfer failed after at least one balance had been written. Running it again could debit the sender a
+ * second time, so it is never retried automatically and needs to be reconciled.
+ */
+public class BalanceUpdateIncompleteException extends RuntimeException {
+    public BalanceUpdateIncompleteException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,10 @@
+package com.lloyds.transaction.exception;
+
+/**
+ * A call was rejected without being attempted because its circuit breaker is open.
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+    public CircuitBreakerOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.lloyds.transaction.exception;
+
+/**
+ * An execution lane stayed full for longer than its acquire timeout. Nothing has been written at that
+ * point, so the transfer can safely be tried again.
+ */
+public class LaneCapacityExceededException extends RuntimeException {
+    public LaneCapacityExceededException(String message) {
+        super(message);
+    }
+}
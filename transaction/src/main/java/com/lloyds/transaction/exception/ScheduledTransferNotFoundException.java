@@ -0,0 +1,7 @@
+package com.lloyds.transaction.exception;
+
+public class ScheduledTransferNotFoundException extends RuntimeException {
+    public ScheduledTransferNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.lloyds.transaction.exception;
+
+/**
+ * The token blacklist could not be checked and the degraded policy is fail-closed, so the request is refused
+ * rather than let through unchecked.
+ */
+public class TokenBlacklistUnavailableException extends RuntimeException {
+    public TokenBlacklistUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
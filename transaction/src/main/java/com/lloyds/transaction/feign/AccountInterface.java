@@ -16,7 +16,8 @@ import java.math.BigDecimal;
 import java.util.List;
 
 @PropertySource("classpath:config.properties")
-@FeignClient(name = "account-service", url = "${lloyds.account.service.url}")
+// Not primary: CachingAccountClient wraps this client and is the AccountInterface injected everywhere
+@FeignClient(name = "account-service", url = "${lloyds.account.service.url}", primary = false)
 public interface AccountInterface {
 
     // Get all accounts for a customer by customer ID
@@ -33,6 +34,21 @@ public interface AccountInterface {
                                                @RequestHeader(HttpHeaders.AUTHORIZATION) String authorizationHeader,  @RequestHeader("X-Service-API-Key") String apiKey
     );
 
+    /**
+     * The account for its details (number, type, owner). The balance may be cached and must not be used for
+     * funds checks; read those with {@link #getAccountById}.
+     */
+    default ResponseEntity<AccountDTO> getAccountDetailsById(Long id, String authorizationHeader, String apiKey) {
+        return getAccountById(id, authorizationHeader, apiKey);
+    }
+
+    /**
+     * The customer's accounts for their details; the same caveat as {@link #getAccountDetailsById} applies.
+     */
+    default ResponseEntity<List<AccountDTO>> getAccountDetailsByCustomerId(String authorizationHeader, String apiKey, Long customerID) {
+        return getAccountsByCustomerId(authorizationHeader, apiKey, customerID);
+    }
+
     // Update the balance of a particular account
     @PutMapping("/accounts/updateBalance/{accountId}")
     void updateAccountBalance(@PathVariable Long accountId, @RequestParam BigDecimal newBalance,
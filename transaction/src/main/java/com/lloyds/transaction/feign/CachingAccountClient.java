@@ -0,0 +1,232 @@
+package com.lloyds.transaction.feign;
+
+import com.lloyds.transaction.dto.response.AccountDTO;
+import com.lloyds.transaction.service.coalescing.SingleFlight;
+import com.lloyds.transaction.service.lanes.ExecutionLanes;
+import com.lloyds.transaction.service.lanes.Lane;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link AccountInterface} that keeps short-lived snapshots of the accounts the account service returns.
+ * {@link #getAccountById} and {@link #getAccountsByCustomerId} always ask the account service, so balances
+ * read for funds checks are fresh, and refresh the snapshots as they go; only the details lookups
+ * ({@link #getAccountDetailsById}, {@link #getAccountDetailsByCustomerId}) are answered from them.
+ * {@link #updateAccountBalance} writes the new balance through to the snapshot, or drops the snapshot if the
+ * update failed and the balance is unknown.
+ * <p>
+ * Concurrent identical reads also share one call to the account service through {@link SingleFlight}, e.g.
+ * thousands of payroll transfers reading the same employer account at once. A read that joins may get a
+ * balance read up to one call's duration before it arrived; a balance update stops later reads from joining
+ * calls that were already in flight, so they cannot miss the update. Reads only join calls that count against
+ * the same execution lane's budget, so an interactive request never waits on a scheduled-lane call.
+ */
+@Slf4j
+@Primary
+@Component
+public class CachingAccountClient implements AccountInterface {
+
+    private final AccountInterface delegate;
+    private final ExecutionLanes executionLanes;
+    private final boolean enabled;
+    private final long ttlMs;
+    private final Map<Long, Snapshot<AccountDTO>> accounts;
+    private final Map<Long, Snapshot<List<Long>>> customerAccounts;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final SingleFlight<AccountKey, ResponseEntity<AccountDTO>> accountReads;
+    private final SingleFlight<AccountKey, ResponseEntity<List<AccountDTO>>> customerReads;
+
+    private record Snapshot<T>(T value, long expiresAt) {
+    }
+
+    // The headers are part of the key, so callers only share a call made with their own credentials; the lane
+    // is too, so callers only share a call held to their own lane's budget (null: not limited)
+    private record AccountKey(Long id, Lane lane, String authorizationHeader, String apiKey) {
+    }
+
+    public CachingAccountClient(@Qualifier("com.lloyds.transaction.feign.AccountInterface") AccountInterface delegate,
+                                ExecutionLanes executionLanes,
+                                MeterRegistry meterRegistry,
+                                @Value("${account.snapshot-cache.enabled:false}") boolean enabled,
+                                @Value("${account.snapshot-cache.ttl-ms:30000}") long ttlMs,
+                                @Value("${account.snapshot-cache.max-entries:10000}") int maxEntries,
+                                @Value("${account.single-flight.enabled:false}") boolean singleFlightEnabled) {
+        this.delegate = delegate;
+        this.executionLanes = executionLanes;
+        this.enabled = enabled;
+        this.accountReads = singleFlightEnabled ? new SingleFlight<>("account.getAccountById", meterRegistry) : null;
+        this.customerReads = singleFlightEnabled ? new SingleFlight<>("account.getAccountsByCustomerId", meterRegistry) : null;
+        this.ttlMs = ttlMs;
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.evictions = Counter.builder("account.snapshot-cache.evictions")
+                .description("Snapshots evicted because the cache was full")
+                .register(meterRegistry);
+        this.accounts = lruMap(maxEntries);
+        this.customerAccounts = lruMap(maxEntries);
+        Gauge.builder("account.snapshot-cache.size", this, CachingAccountClient::size)
+                .description("Account snapshots held")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("account.snapshot-cache.lookups")
+                .description("Account details lookups answered from a snapshot (hit) or by the account service (miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private <V> Map<Long, V> lruMap(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, V> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public ResponseEntity<List<AccountDTO>> getAccountsByCustomerId(String authorizationHeader, String apiKey, Long customerID) {
+        ResponseEntity<List<AccountDTO>> response = customerReads == null
+                ? delegate.getAccountsByCustomerId(authorizationHeader, apiKey, customerID)
+                : customerReads.execute(new AccountKey(customerID, executionLanes.budgetedLane(), authorizationHeader, apiKey),
+                        () -> delegate.getAccountsByCustomerId(authorizationHeader, apiKey, customerID));
+        if (enabled && response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+            long expiresAt = System.currentTimeMillis() + ttlMs;
+            List<Long> accountIds = new ArrayList<>(response.getBody().size());
+            synchronized (this) {
+                for (AccountDTO account : response.getBody()) {
+                    accounts.put(account.getId(), new Snapshot<>(copyOf(account), expiresAt));
+                    accountIds.add(account.getId());
+                }
+                customerAccounts.put(customerID, new Snapshot<>(accountIds, expiresAt));
+            }
+        }
+        return response;
+    }
+
+    @Override
+    public ResponseEntity<AccountDTO> getAccountById(Long id, String authorizationHeader, String apiKey) {
+        ResponseEntity<AccountDTO> response = accountReads == null
+                ? delegate.getAccountById(id, authorizationHeader, apiKey)
+                : accountReads.execute(new AccountKey(id, executionLanes.budgetedLane(), authorizationHeader, apiKey),
+                        () -> delegate.getAccountById(id, authorizationHeader, apiKey));
+        if (enabled && response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+            synchronized (this) {
+                accounts.put(id, new Snapshot<>(copyOf(response.getBody()), System.currentTimeMillis() + ttlMs));
+            }
+        }
+        return response;
+    }
+
+    @Override
+    public void updateAccountBalance(Long accountId, BigDecimal newBalance, String authorizationHeader, String apiKey) {
+        try {
+            delegate.updateAccountBalance(accountId, newBalance, authorizationHeader, apiKey);
+        } catch (RuntimeException e) {
+            invalidate(accountId);
+            throw e;
+        } finally {
+            if (accountReads != null) {
+                accountReads.forget(key -> accountId.equals(key.id()));
+                // The owner is not known here, so no customer list read in flight may be joined any more
+                customerReads.forget(key -> true);
+            }
+        }
+        synchronized (this) {
+            Snapshot<AccountDTO> snapshot = accounts.get(accountId);
+            if (snapshot != null) {
+                snapshot.value().setBalance(newBalance.doubleValue());
+            }
+        }
+    }
+
+    @Override
+    public ResponseEntity<AccountDTO> getAccountDetailsById(Long id, String authorizationHeader, String apiKey) {
+        AccountDTO account = cachedAccount(id);
+        if (account != null) {
+            hits.increment();
+            return ResponseEntity.ok(account);
+        }
+        misses.increment();
+        return getAccountById(id, authorizationHeader, apiKey);
+    }
+
+    @Override
+    public ResponseEntity<List<AccountDTO>> getAccountDetailsByCustomerId(String authorizationHeader, String apiKey, Long customerID) {
+        List<AccountDTO> cached = cachedCustomerAccounts(customerID);
+        if (cached != null) {
+            hits.increment();
+            return ResponseEntity.ok(cached);
+        }
+        misses.increment();
+        return getAccountsByCustomerId(authorizationHeader, apiKey, customerID);
+    }
+
+    public synchronized void invalidate(Long accountId) {
+        accounts.remove(accountId);
+    }
+
+    private synchronized AccountDTO cachedAccount(Long id) {
+        Snapshot<AccountDTO> snapshot = fresh(accounts, id);
+        return snapshot != null ? copyOf(snapshot.value()) : null;
+    }
+
+    // Only answered if every one of the customer's accounts still has a snapshot
+    private synchronized List<AccountDTO> cachedCustomerAccounts(Long customerID) {
+        Snapshot<List<Long>> accountIds = fresh(customerAccounts, customerID);
+        if (accountIds == null) {
+            return null;
+        }
+        List<AccountDTO> result = new ArrayList<>(accountIds.value().size());
+        for (Long accountId : accountIds.value()) {
+            Snapshot<AccountDTO> snapshot = fresh(accounts, accountId);
+            if (snapshot == null) {
+                return null;
+            }
+            result.add(copyOf(snapshot.value()));
+        }
+        return result;
+    }
+
+    private <T> Snapshot<T> fresh(Map<Long, Snapshot<T>> map, Long key) {
+        if (!enabled || key == null) {
+            return null;
+        }
+        Snapshot<T> snapshot = map.get(key);
+        if (snapshot != null && snapshot.expiresAt() <= System.currentTimeMillis()) {
+            map.remove(key);
+            return null;
+        }
+        return snapshot;
+    }
+
+    private synchronized int size() {
+        return accounts.size();
+    }
+
+    private static AccountDTO copyOf(AccountDTO account) {
+        return new AccountDTO(account.getAccountNumber(), account.getBalance(), account.getAccountType(),
+                account.getId(), account.getCustomerId());
+    }
+}
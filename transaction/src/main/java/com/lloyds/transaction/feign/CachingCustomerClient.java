@@ -0,0 +1,199 @@
+package com.lloyds.transaction.feign;
+
+import com.lloyds.transaction.dto.response.CustomerDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link CustomerInterface} that caches customer profiles, which change rarely, for the TTL. A lookup in the
+ * last refresh-ahead window of an entry's life is still answered from the cache but also reloads the profile
+ * in the background, so a customer looked up at least once per window is never a miss. A failed reload keeps
+ * the old profile until it expires. The least recently used profile is evicted once the cache is full.
+ */
+@Slf4j
+@Primary
+@Component
+public class CachingCustomerClient implements CustomerInterface {
+
+    private final CustomerInterface delegate;
+    private final boolean enabled;
+    private final long ttlMs;
+    private final long refreshAheadMs;
+    private final LongSupplier clock;
+    private final ExecutorService refresher;
+    private final Map<Long, Entry> profiles;
+    private final Set<Long> refreshing = ConcurrentHashMap.newKeySet();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter refreshSuccesses;
+    private final Counter refreshFailures;
+
+    private record Entry(CustomerDTO customer, long loadedAt) {
+    }
+
+    @Autowired
+    public CachingCustomerClient(@Qualifier("com.lloyds.transaction.feign.CustomerInterface") CustomerInterface delegate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${customer.profile-cache.enabled:false}") boolean enabled,
+                                 @Value("${customer.profile-cache.ttl-ms:21600000}") long ttlMs,
+                                 @Value("${customer.profile-cache.refresh-ahead-ms:1800000}") long refreshAheadMs,
+                                 @Value("${customer.profile-cache.max-entries:100000}") int maxEntries,
+                                 @Value("${customer.profile-cache.refresh-threads:2}") int refreshThreads) {
+        this(delegate, meterRegistry, enabled, ttlMs, refreshAheadMs, maxEntries, System::currentTimeMillis,
+                new ThreadPoolExecutor(refreshThreads, refreshThreads, 0, TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(maxEntries), new CustomizableThreadFactory("customer-profile-refresh-")));
+    }
+
+    CachingCustomerClient(CustomerInterface delegate, MeterRegistry meterRegistry, boolean enabled, long ttlMs,
+                          long refreshAheadMs, int maxEntries, LongSupplier clock, ExecutorService refresher) {
+        this.delegate = delegate;
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        this.refreshAheadMs = refreshAheadMs;
+        this.clock = clock;
+        this.refresher = refresher;
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.evictions = Counter.builder("customer.profile-cache.evictions")
+                .description("Profiles evicted because the cache was full")
+                .register(meterRegistry);
+        this.refreshSuccesses = refreshCounter(meterRegistry, "success");
+        this.refreshFailures = refreshCounter(meterRegistry, "failure");
+        this.profiles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        Gauge.builder("customer.profile-cache.size", this, CachingCustomerClient::size)
+                .description("Customer profiles cached")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("customer.profile-cache.lookups")
+                .description("Profile lookups answered by the cache (hit) or by the customer service (miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter refreshCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("customer.profile-cache.refreshes")
+                .description("Background reloads of profiles nearing expiry")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ResponseEntity<CustomerDTO> getCustomerById(Long id) {
+        if (!enabled || id == null) {
+            return delegate.getCustomerById(id);
+        }
+        long now = clock.getAsLong();
+        Entry entry;
+        synchronized (profiles) {
+            entry = profiles.get(id);
+            if (entry != null && now - entry.loadedAt() >= ttlMs) {
+                profiles.remove(id);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            ResponseEntity<CustomerDTO> response = delegate.getCustomerById(id);
+            store(id, response);
+            return response;
+        }
+        hits.increment();
+        if (now - entry.loadedAt() >= ttlMs - refreshAheadMs) {
+            refreshAhead(id);
+        }
+        return ResponseEntity.ok(copyOf(entry.customer()));
+    }
+
+    public void invalidate(Long id) {
+        synchronized (profiles) {
+            profiles.remove(id);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        refresher.shutdownNow();
+    }
+
+    private void refreshAhead(Long id) {
+        if (!refreshing.add(id)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    if (store(id, delegate.getCustomerById(id))) {
+                        refreshSuccesses.increment();
+                    } else {
+                        refreshFailures.increment();
+                    }
+                } catch (Exception e) {
+                    refreshFailures.increment();
+                    log.warn("Failed to refresh profile of customer {}, keeping the cached one: {}", id, e.getMessage());
+                } finally {
+                    refreshing.remove(id);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Refresher saturated or shut down; the entry is reloaded on its next miss instead
+            refreshing.remove(id);
+        }
+    }
+
+    // Only complete profiles are cached; anything else is returned to the caller as is
+    private boolean store(Long id, ResponseEntity<CustomerDTO> response) {
+        if (response == null || response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+            return false;
+        }
+        Entry entry = new Entry(copyOf(response.getBody()), clock.getAsLong());
+        synchronized (profiles) {
+            profiles.put(id, entry);
+        }
+        return true;
+    }
+
+    private int size() {
+        synchronized (profiles) {
+            return profiles.size();
+        }
+    }
+
+    private static CustomerDTO copyOf(CustomerDTO customer) {
+        return new CustomerDTO(customer.getId(), customer.getFirstName(), customer.getMiddleName(),
+                customer.getLastName(), customer.getEmail());
+    }
+}
@@ -8,7 +8,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @PropertySource("classpath:config.properties")
-@FeignClient(name = "customer-service", url = "${lloyds.customer.service.url}") // URL can be your customer service URL
+// Not primary: CachingCustomerClient wraps this client and is the CustomerInterface injected everywhere
+@FeignClient(name = "customer-service", url = "${lloyds.customer.service.url}", primary = false) // URL can be your customer service URL
 public interface CustomerInterface {
 
     @GetMapping("customers/{id}")
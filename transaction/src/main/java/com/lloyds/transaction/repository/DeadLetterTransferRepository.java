@@ -0,0 +1,14 @@
+package com.lloyds.transaction.repository;
+
+import com.lloyds.transaction.entity.DeadLetterTransfer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+
+@Repository
+public interface DeadLetterTransferRepository extends JpaRepository<DeadLetterTransfer, Long> {
+
+    List<DeadLetterTransfer> findByScheduledTransferId(Long scheduledTransferId);
+}
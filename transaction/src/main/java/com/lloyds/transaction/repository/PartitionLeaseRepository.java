@@ -0,0 +1,22 @@
+package com.lloyds.transaction.repository;
+
+import com.lloyds.transaction.entity.PartitionLease;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+
+@Repository
+public interface PartitionLeaseRepository extends JpaRepository<PartitionLease, Integer> {
+
+    /**
+     * Locks every lease row so one node at a time rebalances. Must run inside a transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM PartitionLease l ORDER BY l.partitionId")
+    List<PartitionLease> lockAll();
+}
@@ -0,0 +1,35 @@
+package com.lloyds.transaction.repository;
+
+import com.lloyds.transaction.entity.RecoveryQueueEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+
+@Repository
+public interface RecoveryQueueRepository extends JpaRepository<RecoveryQueueEntry, Long> {
+
+    /**
+     * Locks up to {@code batchSize} queued entries whose not-before time has passed, oldest missed
+     * fire time first, skipping rows another node is already draining. Must run inside a transaction.
+     */
+    @Query(value = "SELECT * FROM transfer_recovery_queue WHERE status = 'QUEUED' AND not_before <= :now " +
+            "ORDER BY scheduled_fire_time LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<RecoveryQueueEntry> lockReadyEntries(@Param("now") Instant now, @Param("batchSize") int batchSize);
+
+    long countByStatus(RecoveryQueueEntry.Status status);
+
+    @Modifying
+    @Query("UPDATE RecoveryQueueEntry r SET r.status = :expired, r.lastError = :error, r.completedAt = :now " +
+            "WHERE r.status = :inProgress AND r.claimedAt < :cutoff")
+    int expireClaims(@Param("inProgress") RecoveryQueueEntry.Status inProgress,
+                     @Param("expired") RecoveryQueueEntry.Status expired,
+                     @Param("error") String error,
+                     @Param("cutoff") Instant cutoff,
+                     @Param("now") Instant now);
+}
@@ -0,0 +1,149 @@
+package com.lloyds.transaction.repository;
+
+import com.lloyds.transaction.entity.ScheduledTransfer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+
+@Repository
+public interface ScheduledTransferRepository extends JpaRepository<ScheduledTransfer, Long> {
+
+    /**
+     * Locks up to {@code batchSize} due transfers, oldest first. Rows already locked by another
+     * node's sweep are skipped rather than waited on, so concurrent sweepers never block each other.
+     * Must run inside a transaction; the locks are held until it commits.
+     */
+    @Query(value = "SELECT * FROM scheduled_transfer WHERE engine = 'SWEEPER' AND status = 'PENDING' " +
+            "AND due_at <= :now ORDER BY due_at LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ScheduledTransfer> lockDueTransfers(@Param("now") Instant now, @Param("batchSize") int batchSize);
+
+    /**
+     * Same as {@link #lockDueTransfers} restricted to the given partitions, for the partitioned sweeper.
+     * With {@code includeUnassigned}, rows stored before partitioning, which have no partition, are included.
+     */
+    @Query(value = "SELECT * FROM scheduled_transfer WHERE engine = 'SWEEPER' AND status = 'PENDING' " +
+            "AND (partition_id IN (:partitions) OR (partition_id IS NULL AND :includeUnassigned = TRUE)) " +
+            "AND due_at <= :now ORDER BY due_at LIMIT :batchSize FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<ScheduledTransfer> lockDueTransfersInPartitions(@Param("now") Instant now,
+                                                         @Param("partitions") Collection<Integer> partitions,
+                                                         @Param("includeUnassigned") boolean includeUnassigned,
+                                                         @Param("batchSize") int batchSize);
+
+    Optional<ScheduledTransfer> findByJobName(String jobName);
+
+    Optional<ScheduledTransfer> findByIdAndCustomerId(Long id, Long customerId);
+
+    Page<ScheduledTransfer> findByCustomerIdAndStatus(Long customerId, ScheduledTransfer.Status status, Pageable pageable);
+
+    Page<ScheduledTransfer> findByCustomerIdAndSenderAccountIdAndStatus(Long customerId, Long senderAccountId,
+                                                                        ScheduledTransfer.Status status, Pageable pageable);
+
+    /**
+     * Pending transfers firing inside [from, to] that have not been pre-flight checked since {@code checkedBefore}.
+     */
+    @Query("SELECT s FROM ScheduledTransfer s WHERE s.status = :pending AND s.nextFireTime BETWEEN :from AND :to " +
+            "AND (s.preflightCheckedAt IS NULL OR s.preflightCheckedAt < :checkedBefore) ORDER BY s.nextFireTime")
+    List<ScheduledTransfer> findDueForPreflight(@Param("pending") ScheduledTransfer.Status pending,
+                                                @Param("from") Instant from,
+                                                @Param("to") Instant to,
+                                                @Param("checkedBefore") Instant checkedBefore,
+                                                Pageable pageable);
+
+    /**
+     * Pending transfers of the given engine whose next fire time passed before {@code cutoff}, oldest first.
+     */
+    @Query("SELECT s FROM ScheduledTransfer s WHERE s.engine = :engine AND s.status = :pending AND s.nextFireTime < :cutoff " +
+            "ORDER BY s.nextFireTime")
+    List<ScheduledTransfer> findOverdue(@Param("engine") ScheduledTransfer.Engine engine,
+                                        @Param("pending") ScheduledTransfer.Status pending,
+                                        @Param("cutoff") Instant cutoff,
+                                        Pageable pageable);
+
+    /**
+     * Moves a pending transfer past an occurrence handed to the recovery queue, unless it ran or was changed meanwhile.
+     */
+    @Modifying
+    @Query("UPDATE ScheduledTransfer s SET s.nextFireTime = :nextFireTime " +
+            "WHERE s.id = :id AND s.status = :pending AND s.nextFireTime = :missedFireTime")
+    int skipOccurrence(@Param("id") Long id,
+                       @Param("pending") ScheduledTransfer.Status pending,
+                       @Param("missedFireTime") Instant missedFireTime,
+                       @Param("nextFireTime") Instant nextFireTime);
+
+    /**
+     * Writes only the pre-flight columns, so a row executed meanwhile keeps its new status.
+     */
+    @Modifying
+    @Query("UPDATE ScheduledTransfer s SET s.preflightStatus = :result, s.preflightCheckedAt = :checkedAt WHERE s.id IN :ids")
+    int recordPreflight(@Param("ids") List<Long> ids,
+                        @Param("result") ScheduledTransfer.PreflightStatus result,
+                        @Param("checkedAt") Instant checkedAt);
+
+    /**
+     * Cancels the transfer only if it is still waiting to run (pending, or waiting for a retry), so a row the
+     * Quartz job, the sweeper or the recovery worker has already claimed is left alone.
+     */
+    @Modifying
+    @Query("UPDATE ScheduledTransfer s SET s.status = :cancelled, s.nextFireTime = null, s.completedAt = :now " +
+            "WHERE s.id = :id AND s.status IN :waiting")
+    int cancelIfWaiting(@Param("id") Long id,
+                        @Param("waiting") Collection<ScheduledTransfer.Status> waiting,
+                        @Param("cancelled") ScheduledTransfer.Status cancelled,
+                        @Param("now") Instant now);
+
+    /**
+     * Claims a transfer waiting to run, so it can no longer be cancelled while it executes.
+     */
+    @Modifying
+    @Query("UPDATE ScheduledTransfer s SET s.status = :claimed, s.claimedAt = :now WHERE s.id = :id AND s.status IN :waiting")
+    int claim(@Param("id") Long id,
+              @Param("waiting") Collection<ScheduledTransfer.Status> waiting,
+              @Param("claimed") ScheduledTransfer.Status claimed,
+              @Param("now") Instant now);
+
+    /**
+     * Hands a claimed recurring series back for its next occurrence.
+     */
+    @Modifying
+    @Query("UPDATE ScheduledTransfer s SET s.status = :pending WHERE s.id = :id AND s.status = :claimed")
+    int releaseClaim(@Param("id") Long id,
+                     @Param("claimed") ScheduledTransfer.Status claimed,
+                     @Param("pending") ScheduledTransfer.Status pending);
+
+    /**
+     * Records the next occurrence of a recurring series, or its completion, unless it was cancelled or
+     * finished meanwhile; a cancelled series is never brought back.
+     */
+    @Modifying
+    @Query("UPDATE ScheduledTransfer s SET s.status = :status, s.nextFireTime = :nextFireTime, s.completedAt = :completedAt " +
+            "WHERE s.id = :id AND s.status IN :active")
+    int advance(@Param("id") Long id,
+                @Param("active") Collection<ScheduledTransfer.Status> active,
+                @Param("status") ScheduledTransfer.Status status,
+                @Param("nextFireTime") Instant nextFireTime,
+                @Param("completedAt") Instant completedAt);
+
+    /**
+     * Moves transfers claimed before {@code cutoff} to {@code expired}. A one-time transfer whose run does
+     * finish afterwards still records its real outcome.
+     */
+    @Modifying
+    @Query("UPDATE ScheduledTransfer s SET s.status = :expired, s.lastError = :error, s.completedAt = :now " +
+            "WHERE s.status = :claimed AND s.claimedAt < :cutoff")
+    int expireClaims(@Param("claimed") ScheduledTransfer.Status claimed,
+                     @Param("expired") ScheduledTransfer.Status expired,
+                     @Param("error") String error,
+                     @Param("cutoff") Instant cutoff,
+                     @Param("now") Instant now);
+}
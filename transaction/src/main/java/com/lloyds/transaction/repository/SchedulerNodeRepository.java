@@ -0,0 +1,17 @@
+package com.lloyds.transaction.repository;
+
+import com.lloyds.transaction.entity.SchedulerNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+
+@Repository
+public interface SchedulerNodeRepository extends JpaRepository<SchedulerNode, String> {
+
+    List<SchedulerNode> findByHeartbeatAtAfter(Instant cutoff);
+
+    void deleteByHeartbeatAtBefore(Instant cutoff);
+}
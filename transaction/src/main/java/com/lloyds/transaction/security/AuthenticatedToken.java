@@ -0,0 +1,45 @@
+package com.lloyds.transaction.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The claims of a JWT that {@link JwtRequestFilter} has verified, kept as the principal of the request's
+ * authentication so the token is only parsed once per request.
+ *
+ * @param expiresAt null if the token has no expiry
+ * @param ownedAccountIds the signed account-ownership claim, or null if the token has none or the claim is
+ *                        not trusted (jwt.account-claim.enabled)
+ */
+public record AuthenticatedToken(String customerId, String jti, Instant expiresAt, Set<Long> ownedAccountIds)
+        implements Principal {
+
+    public AuthenticatedToken(String customerId, String jti, Instant expiresAt) {
+        this(customerId, jti, expiresAt, null);
+    }
+
+    @Override
+    public String getName() {
+        return customerId;
+    }
+
+    /**
+     * The accounts the current request's token says the given customer owns, if the request carries a
+     * verified token for that customer with a trusted ownership claim. Empty outside a request, e.g. when a
+     * scheduled transfer executes, in which case ownership has to be checked with the account service.
+     */
+    public static Optional<Set<Long>> currentOwnedAccountIds(Long customerId) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (customerId != null && authentication != null
+                && authentication.getPrincipal() instanceof AuthenticatedToken authenticated
+                && customerId.toString().equals(authenticated.customerId())) {
+            return Optional.ofNullable(authenticated.ownedAccountIds());
+        }
+        return Optional.empty();
+    }
+}
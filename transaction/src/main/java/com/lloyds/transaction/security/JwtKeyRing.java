@@ -0,0 +1,57 @@
+package com.lloyds.transaction.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Verification keys by key ID (the "kid" header), decoded once. The primary key verifies tokens that carry
+ * no kid or one the ring does not know. Retired keys stay in the ring while tokens signed with them can still be valid, so the issuer
+ * can rotate to a new key without logging everyone out.
+ */
+public class JwtKeyRing extends SigningKeyResolverAdapter {
+
+    private final String primaryKeyId;
+    private final Map<String, SecretKey> keys;
+
+    /**
+     * @param retiredKeys comma-separated {@code kid:base64-secret} pairs, may be empty
+     */
+    public JwtKeyRing(String primaryKeyId, String primarySecret, String retiredKeys) {
+        Map<String, SecretKey> ring = new LinkedHashMap<>();
+        ring.put(primaryKeyId, decode(primarySecret));
+        for (String entry : retiredKeys.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Retired JWT keys must be given as kid:secret");
+            }
+            ring.putIfAbsent(entry.substring(0, separator).trim(), decode(entry.substring(separator + 1).trim()));
+        }
+        this.primaryKeyId = primaryKeyId;
+        this.keys = Map.copyOf(ring);
+    }
+
+    public SecretKey primaryKey() {
+        return keys.get(primaryKeyId);
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String keyId = header.getKeyId();
+        return keyId != null ? keys.getOrDefault(keyId, primaryKey()) : primaryKey();
+    }
+
+    private static SecretKey decode(String secret) {
+        return Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret));
+    }
+}
@@ -1,5 +1,6 @@
 package com.lloyds.transaction.security;
 
+import com.lloyds.transaction.exception.TokenBlacklistUnavailableException;
 import com.lloyds.transaction.service.redis.RedisService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -38,9 +39,22 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             log.warn("Authorization header is missing or does not start with 'Bearer '.");
         }
 
-        String jti = jwtUtil.extractJti(jwt);
+        // Verified once here; controllers and services read the claims from the authentication
+        AuthenticatedToken authenticatedToken = jwt != null ? jwtUtil.verify(jwt) : null;
 
-        if (redisService.isTokenBlacklisted(jti)) {
+        boolean blacklisted;
+        try {
+            blacklisted = authenticatedToken != null
+                    && redisService.isTokenBlacklisted(authenticatedToken.jti(), authenticatedToken.expiresAt());
+        } catch (TokenBlacklistUnavailableException e) {
+            log.warn("Token blacklist unavailable, refusing request: {}", e.getMessage());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\": \"Token blacklist is unavailable\"}");
+            return;
+        }
+
+        if (blacklisted) {
             response.setStatus(HttpServletResponse.SC_FORBIDDEN);
             response.setContentType("application/json");
             response.getWriter().write("{\"error\": \"Token is blacklisted\"}");
@@ -49,12 +63,11 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
 
         if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.isTokenValid(jwt)) {
+            if (authenticatedToken != null) {
                 log.info("JWT is valid.");
-                String customerId = jwtUtil.extractId(jwt);
 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        customerId, null, null
+                        authenticatedToken, jwt, null
                 );
 
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -1,46 +1,132 @@
 package com.lloyds.transaction.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import javax.crypto.SecretKey;
-import java.util.Base64;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 
+/**
+ * Verifies JWTs with keys decoded once at startup and a single parser, which is immutable and shared by all
+ * request threads. JWT_SECRET is the current key; keys being rotated out are listed in jwt.retired-keys.
+ * <p>
+ * With jwt.account-claim.enabled the IDs of the accounts the customer owns are read from a signed claim
+ * (a JSON array of IDs or a comma-separated string), so ownership checks need no call to the account service.
+ * Tokens without the claim fall back to that call.
+ */
 @Component
 @Slf4j
 public class JwtUtil {
 
-    @Value("${JWT_SECRET}")
-    private String secret;
+    private final JwtParser parser;
+    private final boolean accountClaimEnabled;
+    private final String accountClaimName;
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Base64.getDecoder().decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtUtil(@Value("${JWT_SECRET}") String secret,
+                   @Value("${jwt.key-id:primary}") String keyId,
+                   @Value("${jwt.retired-keys:}") String retiredKeys,
+                   @Value("${jwt.account-claim.enabled:false}") boolean accountClaimEnabled,
+                   @Value("${jwt.account-claim.name:accounts}") String accountClaimName) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new JwtKeyRing(keyId, secret, retiredKeys))
+                .build();
+        this.accountClaimEnabled = accountClaimEnabled;
+        this.accountClaimName = accountClaimName;
     }
 
+    /**
+     * Reads the customer ID from the claims the request filter already verified for this token, and only
+     * parses the token if it has not been verified in this request.
+     */
     public String extractId(String token) {
-        return extractAllClaims(token).getSubject();
+        AuthenticatedToken authenticated = authenticatedToken(token);
+        return authenticated != null ? authenticated.customerId() : extractAllClaims(token).getSubject();
     }
 
     public String extractJti(String token) {
-        String jti = extractAllClaims(token).getId();
+        AuthenticatedToken authenticated = authenticatedToken(token);
+        String jti = authenticated != null ? authenticated.jti() : extractAllClaims(token).getId();
         log.debug("Extracted JTI from token: {}", jti);
         return jti;
     }
 
+    /**
+     * The account IDs the token's signed ownership claim lists, or empty if the claim is not trusted or the
+     * token has none, in which case the caller has to ask the account service.
+     */
+    public Optional<Set<Long>> extractOwnedAccountIds(String token) {
+        if (!accountClaimEnabled) {
+            return Optional.empty();
+        }
+        AuthenticatedToken authenticated = authenticatedToken(token);
+        if (authenticated == null) {
+            authenticated = verify(token);
+        }
+        return authenticated != null ? Optional.ofNullable(authenticated.ownedAccountIds()) : Optional.empty();
+    }
+
+    /**
+     * Verifies the token and returns its claims, or null if it is invalid or expired.
+     */
+    public AuthenticatedToken verify(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            return new AuthenticatedToken(claims.getSubject(), claims.getId(),
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                    accountClaimEnabled ? ownedAccountIds(claims) : null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private Set<Long> ownedAccountIds(Claims claims) {
+        Object claim = claims.get(accountClaimName);
+        if (claim == null) {
+            return null;
+        }
+        Collection<?> values = claim instanceof Collection<?> list ? list : Arrays.asList(claim.toString().split(","));
+        try {
+            Set<Long> accountIds = new HashSet<>();
+            for (Object value : values) {
+                accountIds.add(Long.parseLong(value.toString().trim()));
+            }
+            return Collections.unmodifiableSet(accountIds);
+        } catch (NumberFormatException e) {
+            // Signed but malformed: ignore the claim and let ownership be checked remotely
+            log.warn("Ignoring malformed {} claim in token {}: {}", accountClaimName, claims.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    // The filter keeps the verified claims as principal and the token as credentials
+    private AuthenticatedToken authenticatedToken(String token) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedToken authenticated
+                && token != null && Objects.equals(token, authentication.getCredentials())) {
+            return authenticated;
+        }
+        return null;
+    }
+
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public boolean isTokenValid(String token) {
+        if (authenticatedToken(token) != null) {
+            return true;
+        }
         try {
             extractAllClaims(token);
             return true;
@@ -0,0 +1,173 @@
+package com.lloyds.transaction.service;
+
+import com.lloyds.transaction.dto.request.TransferRequestDTO;
+import com.lloyds.transaction.dto.response.TransferResponseDTO;
+import com.lloyds.transaction.entity.ScheduledTransfer;
+import com.lloyds.transaction.exception.JobExecutionException;
+import com.lloyds.transaction.repository.ScheduledTransferRepository;
+import com.lloyds.transaction.service.coalescing.SenderTransferCoalescer;
+import com.lloyds.transaction.service.lanes.ExecutionLanes;
+import com.lloyds.transaction.service.lanes.Lane;
+import com.lloyds.transaction.service.recovery.TransferRetryQueue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Runs one occurrence of a stored scheduled transfer, whichever engine or recovery path triggered it.
+ * A row is claimed while it runs, so it cannot be cancelled mid-execution. One-time transfers are finished
+ * by their only execution, so the outcome is recorded on the row; recurring rows go back to PENDING for
+ * their next occurrence. Transfers run in the {@link Lane#SCHEDULED} lane.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScheduledTransferExecutor {
+
+    private static final Set<ScheduledTransfer.Status> WAITING_STATUSES =
+            EnumSet.of(ScheduledTransfer.Status.PENDING, ScheduledTransfer.Status.RETRYING);
+    private static final Set<ScheduledTransfer.Status> ACTIVE_STATUSES =
+            EnumSet.of(ScheduledTransfer.Status.PENDING, ScheduledTransfer.Status.CLAIMED);
+
+    private final ScheduledTransferRepository scheduledTransferRepository;
+    private final TransactionService transactionService;
+    private final SenderTransferCoalescer senderTransferCoalescer;
+    private final TransferRetryQueue transferRetryQueue;
+    private final ExecutionLanes executionLanes;
+
+    public ScheduledTransfer load(Long scheduledTransferId) {
+        return scheduledTransferRepository.findById(scheduledTransferId)
+                .orElseThrow(() -> new JobExecutionException("Scheduled transfer not found: " + scheduledTransferId));
+    }
+
+    public TransferResponseDTO execute(ScheduledTransfer scheduledTransfer) {
+        return execute(scheduledTransfer, failure -> false);
+    }
+
+    /**
+     * Regular execution of the occurrence due at {@code scheduledFireTime}; a transient failure queues a retry.
+     */
+    public TransferResponseDTO executeWithRetry(ScheduledTransfer scheduledTransfer, Instant scheduledFireTime) {
+        return execute(scheduledTransfer, failure -> transferRetryQueue.offer(scheduledTransfer, scheduledFireTime, failure));
+    }
+
+    /**
+     * @param retryScheduled told about a failure; returns true if the occurrence will be retried, in which
+     *                       case a one-time transfer is left RETRYING instead of FAILED
+     */
+    public TransferResponseDTO execute(ScheduledTransfer scheduledTransfer, Predicate<RuntimeException> retryScheduled) {
+        try {
+            TransferRequestDTO transferRequest = toTransferRequest(scheduledTransfer);
+            TransferResponseDTO transferResponse = executionLanes.run(Lane.SCHEDULED, () -> senderTransferCoalescer.isEnabled()
+                    ? senderTransferCoalescer.transfer(transferRequest, scheduledTransfer.getCustomerId())
+                    : transactionService.transferFunds(transferRequest, scheduledTransfer.getCustomerId()));
+            if (isOneTime(scheduledTransfer)) {
+                scheduledTransfer.setStatus(ScheduledTransfer.Status.COMPLETED);
+                scheduledTransfer.setTransactionId(transferResponse.getTransactionId());
+                scheduledTransfer.setNextFireTime(null);
+                scheduledTransfer.setCompletedAt(Instant.now());
+                scheduledTransferRepository.save(scheduledTransfer);
+            }
+            return transferResponse;
+        } catch (RuntimeException e) {
+            boolean retrying = isRetryScheduled(retryScheduled, scheduledTransfer, e);
+            if (isOneTime(scheduledTransfer)) {
+                scheduledTransfer.setStatus(retrying ? ScheduledTransfer.Status.RETRYING : ScheduledTransfer.Status.FAILED);
+                scheduledTransfer.setLastError(e.getMessage());
+                scheduledTransfer.setNextFireTime(null);
+                scheduledTransfer.setCompletedAt(retrying ? null : Instant.now());
+                scheduledTransferRepository.save(scheduledTransfer);
+            }
+            throw e;
+        }
+    }
+
+    private static TransferRequestDTO toTransferRequest(ScheduledTransfer scheduledTransfer) {
+        TransferRequestDTO transferRequest = new TransferRequestDTO();
+        transferRequest.setSenderAccountId(scheduledTransfer.getSenderAccountId());
+        transferRequest.setReceiverAccountId(scheduledTransfer.getReceiverAccountId());
+        transferRequest.setReceiverName(scheduledTransfer.getReceiverName());
+        transferRequest.setNote(scheduledTransfer.getNote());
+        transferRequest.setTransactionType(scheduledTransfer.getTransactionType());
+        transferRequest.setAmount(scheduledTransfer.getAmount());
+        transferRequest.setRecurrencePattern(scheduledTransfer.getRecurrencePattern());
+        return transferRequest;
+    }
+
+    private boolean isRetryScheduled(Predicate<RuntimeException> retryScheduled, ScheduledTransfer scheduledTransfer,
+                                     RuntimeException failure) {
+        try {
+            return retryScheduled.test(failure);
+        } catch (RuntimeException e) {
+            log.error("Failed to queue a retry of scheduled transfer {}: {}", scheduledTransfer.getId(), e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Claims a row waiting to run (pending, or waiting for a retry), so it can no longer be cancelled while it
+     * executes. A recurring series already claimed by another run of it, such as a recovered occurrence, still
+     * runs, under that run's claim.
+     * @return false if the transfer was cancelled, finished or is already running since it was loaded
+     */
+    @Transactional
+    public boolean claim(ScheduledTransfer scheduledTransfer) {
+        Instant now = Instant.now();
+        if (scheduledTransferRepository.claim(scheduledTransfer.getId(), WAITING_STATUSES, ScheduledTransfer.Status.CLAIMED, now) > 0) {
+            scheduledTransfer.setStatus(ScheduledTransfer.Status.CLAIMED);
+            scheduledTransfer.setClaimedAt(now);
+            return true;
+        }
+        ScheduledTransfer.Status current = load(scheduledTransfer.getId()).getStatus();
+        if (current != ScheduledTransfer.Status.CLAIMED) {
+            scheduledTransfer.setStatus(current);
+        }
+        return !isOneTime(scheduledTransfer) && current == ScheduledTransfer.Status.CLAIMED;
+    }
+
+    /**
+     * Hands a recurring series claimed by {@link #claim} back without advancing it.
+     */
+    @Transactional
+    public void release(ScheduledTransfer scheduledTransfer) {
+        if (isOneTime(scheduledTransfer) || scheduledTransfer.getStatus() != ScheduledTransfer.Status.CLAIMED) {
+            return;
+        }
+        scheduledTransferRepository.releaseClaim(scheduledTransfer.getId(), ScheduledTransfer.Status.CLAIMED,
+                ScheduledTransfer.Status.PENDING);
+        scheduledTransfer.setStatus(ScheduledTransfer.Status.PENDING);
+    }
+
+    /**
+     * Records the next occurrence of a recurring transfer after one has run and releases its claim. A null
+     * fire time means the trigger has ended, so the series is complete. A series cancelled meanwhile is left
+     * cancelled.
+     */
+    @Transactional
+    public void advance(ScheduledTransfer scheduledTransfer, Date nextFireTime) {
+        if (isOneTime(scheduledTransfer)) {
+            return;
+        }
+        Instant next = nextFireTime != null ? nextFireTime.toInstant() : null;
+        ScheduledTransfer.Status status = next != null ? ScheduledTransfer.Status.PENDING : ScheduledTransfer.Status.COMPLETED;
+        Instant completedAt = next != null ? null : Instant.now();
+        if (scheduledTransferRepository.advance(scheduledTransfer.getId(), ACTIVE_STATUSES, status, next, completedAt) == 0) {
+            log.info("Scheduled transfer {} was cancelled or finished while running; not advancing it", scheduledTransfer.getId());
+            return;
+        }
+        scheduledTransfer.setNextFireTime(next);
+        scheduledTransfer.setStatus(status);
+        scheduledTransfer.setCompletedAt(completedAt);
+    }
+
+    private boolean isOneTime(ScheduledTransfer scheduledTransfer) {
+        return scheduledTransfer.getRecurrencePattern() == null;
+    }
+}
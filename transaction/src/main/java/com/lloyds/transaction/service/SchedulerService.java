@@ -1,9 +1,22 @@
 package com.lloyds.transaction.service;
 
 import com.lloyds.transaction.dto.request.TransferRequestDTO;
+import com.lloyds.transaction.dto.response.BulkSchedulerResponseDTO;
+import com.lloyds.transaction.dto.response.ScheduledTransferDTO;
 import com.lloyds.transaction.dto.response.SchedulerResponseDTO;
 import com.lloyds.transaction.exception.SchedulerException;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
 
 public interface SchedulerService {
     SchedulerResponseDTO scheduleTransfer(String authHeader, TransferRequestDTO transferRequest) throws SchedulerException;
+
+    BulkSchedulerResponseDTO scheduleTransfers(String authHeader, List<TransferRequestDTO> transferRequests) throws SchedulerException;
+
+    Page<ScheduledTransferDTO> getScheduledTransfers(String authHeader, Long accountId, String status, int page, int size);
+
+    ScheduledTransferDTO getScheduledTransfer(String authHeader, Long scheduledTransferId);
+
+    ScheduledTransferDTO cancelScheduledTransfer(String authHeader, Long scheduledTransferId) throws SchedulerException;
 }
@@ -2,19 +2,35 @@ package com.lloyds.transaction.service;
 
 import com.lloyds.transaction.dto.request.TransferRequestDTO;
 import com.lloyds.transaction.dto.response.AccountDTO;
+import com.lloyds.transaction.dto.response.BulkSchedulerResponseDTO;
+import com.lloyds.transaction.dto.response.ScheduledTransferDTO;
 import com.lloyds.transaction.dto.response.SchedulerResponseDTO;
+import com.lloyds.transaction.entity.ScheduledTransfer;
 import com.lloyds.transaction.exception.AccountNotFoundException;
+import com.lloyds.transaction.exception.ScheduledTransferNotFoundException;
 import com.lloyds.transaction.exception.SchedulerException;
 import com.lloyds.transaction.exception.TransferSchedulingException;
 import com.lloyds.transaction.feign.AccountInterface;
+import com.lloyds.transaction.repository.ScheduledTransferRepository;
 import com.lloyds.transaction.security.JwtUtil;
+import com.lloyds.transaction.service.partition.TransferPartitions;
 import com.lloyds.transaction.service.quartz.TransferFundsJob;
+import com.lloyds.transaction.service.quartz.TransferSweeperJob;
 import lombok.extern.slf4j.Slf4j;
 import org.quartz.*;
+import org.quartz.spi.OperableTrigger;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.ZonedDateTime;
 import java.util.*;
 
@@ -22,67 +38,79 @@ import java.util.*;
 @Slf4j
 public class SchedulerServiceImpl implements SchedulerService {
 
+    private static final Set<String> RECURRENCE_PATTERNS = Set.of("DAILY", "WEEKLY", "MONTHLY");
+    private static final Set<ScheduledTransfer.Status> CANCELLABLE_STATUSES =
+            EnumSet.of(ScheduledTransfer.Status.PENDING, ScheduledTransfer.Status.RETRYING);
+    // Larger page requests are cut down to this many transfers
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final Scheduler scheduler;
     private final AccountInterface accountFeignClient;
     private final JwtUtil jwtUtil;
+    private final ScheduledTransferRepository scheduledTransferRepository;
 
     @Value("${service.api.key}")
     private String apiKey;
 
-    public SchedulerServiceImpl(AccountInterface accountFeignClient, Scheduler scheduler, JwtUtil jwtUtil) {
+    @Value("${transfer.scheduler.engine:quartz}")
+    private String schedulerEngine;
+
+    @Value("${transfer.scheduler.partition.count:64}")
+    private int partitionCount;
+
+    @Value("${transfer.scheduler.bulk.max-items:500}")
+    private int bulkMaxItems;
+
+    @Value("${transfer.scheduler.misfire.mode:fire-now}")
+    private String misfireMode;
+
+    @Value("${transfer.scheduler.recurring.spread.enabled:false}")
+    private boolean spreadRecurring;
+
+    @Value("${transfer.scheduler.recurring.spread.window-start:00:00}")
+    private String spreadWindowStart;
+
+    @Value("${transfer.scheduler.recurring.spread.window-end:06:00}")
+    private String spreadWindowEnd;
+
+    public SchedulerServiceImpl(AccountInterface accountFeignClient, Scheduler scheduler, JwtUtil jwtUtil,
+                                ScheduledTransferRepository scheduledTransferRepository) {
         this.scheduler = scheduler;
         this.accountFeignClient = accountFeignClient;
         this.jwtUtil = jwtUtil;
+        this.scheduledTransferRepository = scheduledTransferRepository;
     }
 
     @Override
+    @Transactional
     public SchedulerResponseDTO scheduleTransfer(String authHeader, TransferRequestDTO transferRequest) throws SchedulerException {
         try {
-            String jwtToken = authHeader.replace("Bearer ", "");
-            String customerIdFromToken = jwtUtil.extractId(jwtToken);
-            Long customerIdFromTokenAsLong = Long.parseLong(customerIdFromToken);
-
-            log.info("Fetching accounts for customer ID: {}", customerIdFromTokenAsLong);
-            ResponseEntity<List<AccountDTO>> response = accountFeignClient.getAccountsByCustomerId("Jwttoken", apiKey, customerIdFromTokenAsLong);
-            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
-                log.error("Failed to fetch sender's accounts, status: {}", response.getStatusCode());
-                throw new AccountNotFoundException("Failed to fetch accounts, status: " + response.getStatusCode());
+            Long customerIdFromTokenAsLong = extractCustomerId(authHeader);
+
+            if (!ownedAccountIds(authHeader, customerIdFromTokenAsLong).contains(transferRequest.getSenderAccountId())) {
+                log.error("Sender account not found: {}", transferRequest.getSenderAccountId());
+                throw new AccountNotFoundException("Sender account not found");
             }
+            log.info("Sender account found: {}", transferRequest.getSenderAccountId());
 
-            response.getBody()
-                    .stream()
-                    .filter(account -> account.getId().equals(transferRequest.getSenderAccountId()))
-                    .findFirst()
-                    .ifPresentOrElse(
-                            account -> log.info("Sender account found: {}", account.getId()),
-                            () -> {
-                                log.error("Sender account not found: {}", transferRequest.getSenderAccountId());
-                                throw new AccountNotFoundException("Sender account not found");
-                            }
-                    );
-
-
-            JobDetail jobDetail = buildJobDetail(transferRequest, customerIdFromTokenAsLong);
-            Trigger trigger;
-            if (transferRequest.getRecurrencePattern() != null && !transferRequest.getRecurrencePattern().isEmpty()) {
-                // Recurring transaction
-                trigger = buildRecurringTrigger(jobDetail, transferRequest);
-            } else {
-                // One-time transaction
-                ZonedDateTime dateTime = ZonedDateTime.of(transferRequest.getScheduledTime(), transferRequest.getTimeZone());
-                trigger = buildJobTrigger(jobDetail, dateTime);
+            ScheduledTransfer scheduledTransfer = toScheduledTransfer(transferRequest, customerIdFromTokenAsLong);
+            if (isOneTime(transferRequest) && usesSweeper()) {
+                return storeForSweeper(scheduledTransfer);
             }
 
-            log.info("Scheduling transfer job for sender account: {}", transferRequest.getSenderAccountId());
-            scheduler.scheduleJob(jobDetail, trigger);
+            // The payload is kept in scheduled_transfer; the Quartz job only carries the row ID
+            scheduledTransfer.setEngine(ScheduledTransfer.Engine.QUARTZ);
+            scheduledTransfer.setJobName(UUID.randomUUID().toString());
+            ScheduledTransfer savedTransfer = scheduledTransferRepository.save(scheduledTransfer);
 
-            SchedulerResponseDTO schedulerResponse = new SchedulerResponseDTO();
-            schedulerResponse.setStatus("SUCCESS");
-            schedulerResponse.setMessage("Transfer scheduled successfully!");
-            schedulerResponse.setJobId(jobDetail.getKey().getName());
-            schedulerResponse.setTriggerId(trigger.getKey().getName());
+            JobDetail jobDetail = buildJobDetail(savedTransfer);
+            Set<Trigger> triggers = buildTriggers(jobDetail, transferRequest);
+            savedTransfer.setNextFireTime(firstFireTime(triggers));
 
-            return schedulerResponse;
+            log.info("Scheduling transfer job for sender account: {}", transferRequest.getSenderAccountId());
+            scheduler.scheduleJob(jobDetail, triggers, false);
+
+            return successResponse(jobDetail.getKey().getName(), triggers.iterator().next().getKey().getName());
         } catch (org.quartz.SchedulerException e) {
             log.error("SchedulerException occurred while scheduling transfer: {}", e.getMessage(), e);
             throw new SchedulerException("Failed to schedule transfer: " + e.getMessage());
@@ -95,18 +123,302 @@ public class SchedulerServiceImpl implements SchedulerService {
         }
     }
 
-    public JobDetail buildJobDetail(TransferRequestDTO transferRequest, Long customerID) {
+    /**
+     * Schedules a batch of transfers for one customer. Sender ownership is checked against a single account
+     * lookup, and all Quartz jobs are stored with one {@link Scheduler#scheduleJobs} call. Invalid items are
+     * reported in their position in the results without failing the rest of the batch.
+     */
+    @Override
+    @Transactional
+    public BulkSchedulerResponseDTO scheduleTransfers(String authHeader, List<TransferRequestDTO> transferRequests) throws SchedulerException {
+        if (transferRequests == null || transferRequests.isEmpty()) {
+            throw new IllegalArgumentException("At least one transfer is required");
+        }
+        if (transferRequests.size() > bulkMaxItems) {
+            throw new IllegalArgumentException("A bulk request may contain at most " + bulkMaxItems + " transfers");
+        }
+
+        try {
+            Long customerId = extractCustomerId(authHeader);
+            Set<Long> ownedAccountIds = ownedAccountIds(authHeader, customerId);
+
+            List<SchedulerResponseDTO> results = new ArrayList<>(transferRequests.size());
+            Map<JobDetail, Set<? extends Trigger>> jobs = new LinkedHashMap<>();
+            for (TransferRequestDTO transferRequest : transferRequests) {
+                String validationError = validateBulkItem(transferRequest, ownedAccountIds);
+                if (validationError != null) {
+                    results.add(failedResponse(validationError));
+                    continue;
+                }
+
+                ScheduledTransfer scheduledTransfer = toScheduledTransfer(transferRequest, customerId);
+                if (isOneTime(transferRequest) && usesSweeper()) {
+                    results.add(storeForSweeper(scheduledTransfer));
+                    continue;
+                }
+
+                scheduledTransfer.setEngine(ScheduledTransfer.Engine.QUARTZ);
+                scheduledTransfer.setJobName(UUID.randomUUID().toString());
+                ScheduledTransfer savedTransfer = scheduledTransferRepository.save(scheduledTransfer);
+                JobDetail jobDetail = buildJobDetail(savedTransfer);
+                Set<Trigger> triggers = buildTriggers(jobDetail, transferRequest);
+                savedTransfer.setNextFireTime(firstFireTime(triggers));
+                jobs.put(jobDetail, triggers);
+                results.add(successResponse(jobDetail.getKey().getName(), triggers.iterator().next().getKey().getName()));
+            }
+
+            if (!jobs.isEmpty()) {
+                log.info("Scheduling {} transfer jobs for customer ID: {}", jobs.size(), customerId);
+                scheduler.scheduleJobs(jobs, false);
+            }
+
+            int scheduled = (int) results.stream().filter(result -> "SUCCESS".equals(result.getStatus())).count();
+            return new BulkSchedulerResponseDTO(transferRequests.size(), scheduled, transferRequests.size() - scheduled, results);
+        } catch (org.quartz.SchedulerException e) {
+            log.error("SchedulerException occurred while scheduling transfers: {}", e.getMessage(), e);
+            throw new SchedulerException("Failed to schedule transfers: " + e.getMessage());
+        } catch (AccountNotFoundException e) {
+            log.error("AccountNotFoundException occurred: {}", e.getMessage(), e);
+            throw new AccountNotFoundException(e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error occurred while scheduling transfers: {}", e.getMessage(), e);
+            throw new TransferSchedulingException("An unexpected error occurred while scheduling transfers");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ScheduledTransferDTO> getScheduledTransfers(String authHeader, Long accountId, String status, int page, int size) {
+        if (page < 1) {
+            throw new IllegalArgumentException("Page index must be 1 or greater.");
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be 1 or greater.");
+        }
+        ScheduledTransfer.Status transferStatus = parseStatus(status);
+        Long customerId = extractCustomerId(authHeader);
+        PageRequest pageRequest = PageRequest.of(page - 1, Math.min(size, MAX_PAGE_SIZE), Sort.by("nextFireTime", "id"));
+
+        Page<ScheduledTransfer> scheduledTransfers = accountId == null
+                ? scheduledTransferRepository.findByCustomerIdAndStatus(customerId, transferStatus, pageRequest)
+                : scheduledTransferRepository.findByCustomerIdAndSenderAccountIdAndStatus(customerId, accountId, transferStatus, pageRequest);
+        return scheduledTransfers.map(ScheduledTransferDTO::new);
+    }
+
+    private static ScheduledTransfer.Status parseStatus(String status) {
+        try {
+            return ScheduledTransfer.Status.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown status: " + status + ". Expected one of "
+                    + Arrays.toString(ScheduledTransfer.Status.values()) + ".");
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ScheduledTransferDTO getScheduledTransfer(String authHeader, Long scheduledTransferId) {
+        return new ScheduledTransferDTO(findOwnedTransfer(authHeader, scheduledTransferId));
+    }
+
+    /**
+     * Cancels a transfer that is pending or waiting for a retry. Quartz rows also lose their job and trigger;
+     * the row itself is kept as CANCELLED, and a queued retry of it is skipped when drained.
+     */
+    @Override
+    @Transactional
+    public ScheduledTransferDTO cancelScheduledTransfer(String authHeader, Long scheduledTransferId) throws SchedulerException {
+        ScheduledTransfer scheduledTransfer = findOwnedTransfer(authHeader, scheduledTransferId);
+        Instant now = Instant.now();
+        if (scheduledTransferRepository.cancelIfWaiting(scheduledTransferId, CANCELLABLE_STATUSES,
+                ScheduledTransfer.Status.CANCELLED, now) == 0) {
+            throw new IllegalArgumentException("Scheduled transfer is " + scheduledTransfer.getStatus() + " and can no longer be cancelled");
+        }
+
+        try {
+            if (scheduledTransfer.getEngine() == ScheduledTransfer.Engine.QUARTZ) {
+                scheduler.deleteJob(new JobKey(scheduledTransfer.getJobName(), TransferFundsJob.JOB_GROUP));
+            }
+        } catch (org.quartz.SchedulerException e) {
+            log.error("SchedulerException occurred while cancelling transfer {}: {}", scheduledTransferId, e.getMessage(), e);
+            throw new SchedulerException("Failed to cancel transfer: " + e.getMessage());
+        }
+
+        log.info("Cancelled scheduled transfer {}", scheduledTransferId);
+        // Keep the loaded entity in line with the conditional update so a later flush does not undo it
+        scheduledTransfer.setStatus(ScheduledTransfer.Status.CANCELLED);
+        scheduledTransfer.setNextFireTime(null);
+        scheduledTransfer.setCompletedAt(now);
+        return new ScheduledTransferDTO(scheduledTransfer);
+    }
+
+    private ScheduledTransfer findOwnedTransfer(String authHeader, Long scheduledTransferId) {
+        return scheduledTransferRepository.findByIdAndCustomerId(scheduledTransferId, extractCustomerId(authHeader))
+                .orElseThrow(() -> new ScheduledTransferNotFoundException("Scheduled transfer not found: " + scheduledTransferId));
+    }
+
+    /**
+     * Checks what the single-transfer path would otherwise fail on part-way, so a bad item is rejected
+     * before anything is stored for it.
+     * @return the reason the item cannot be scheduled, or null if it is valid
+     */
+    private String validateBulkItem(TransferRequestDTO transferRequest, Set<Long> ownedAccountIds) {
+        if (transferRequest.getSenderAccountId() == null || !ownedAccountIds.contains(transferRequest.getSenderAccountId())) {
+            return "Sender account not found";
+        }
+        if (transferRequest.getReceiverAccountId() == null) {
+            return "Receiver account is required";
+        }
+        if (transferRequest.getTimeZone() == null) {
+            return "Time zone is required";
+        }
+        if (isOneTime(transferRequest)) {
+            return transferRequest.getScheduledTime() == null ? "Scheduled time is required" : null;
+        }
+        if (!RECURRENCE_PATTERNS.contains(transferRequest.getRecurrencePattern().toUpperCase())) {
+            return "Invalid recurrence pattern: " + transferRequest.getRecurrencePattern();
+        }
+        if (transferRequest.getStartDate() == null || transferRequest.getEndDate() == null) {
+            return "Start and end dates are required for recurring transfers";
+        }
+        return null;
+    }
+
+    private Long extractCustomerId(String authHeader) {
+        String jwtToken = authHeader.replace("Bearer ", "");
+        return Long.parseLong(jwtUtil.extractId(jwtToken));
+    }
+
+    /**
+     * The caller's account IDs, from the token's signed ownership claim when it is trusted and present, and
+     * from the account service otherwise.
+     */
+    private Set<Long> ownedAccountIds(String authHeader, Long customerId) {
+        Optional<Set<Long>> claimed = jwtUtil.extractOwnedAccountIds(authHeader.replace("Bearer ", ""));
+        if (claimed.isPresent()) {
+            return claimed.get();
+        }
+        Set<Long> ownedAccountIds = new HashSet<>();
+        fetchAccounts(customerId).forEach(account -> ownedAccountIds.add(account.getId()));
+        return ownedAccountIds;
+    }
+
+    private List<AccountDTO> fetchAccounts(Long customerId) {
+        log.info("Fetching accounts for customer ID: {}", customerId);
+        // Ownership only, no balances, so the accounts may come from a snapshot
+        ResponseEntity<List<AccountDTO>> response = accountFeignClient.getAccountDetailsByCustomerId("Jwttoken", apiKey, customerId);
+        if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+            log.error("Failed to fetch sender's accounts, status: {}", response.getStatusCode());
+            throw new AccountNotFoundException("Failed to fetch accounts, status: " + response.getStatusCode());
+        }
+        return response.getBody();
+    }
+
+    private Set<Trigger> buildTriggers(JobDetail jobDetail, TransferRequestDTO transferRequest) {
+        if (!isOneTime(transferRequest)) {
+            // Recurring transaction
+            Trigger recurringTrigger = buildRecurringTrigger(jobDetail, transferRequest);
+            ZonedDateTime startAt = ZonedDateTime.of(transferRequest.getStartDate(), transferRequest.getTimeZone());
+            if (recurringTrigger.getStartTime().toInstant().isAfter(startAt.toInstant())) {
+                // The spread slot had already passed on the start day, so that day's occurrence runs at the requested time
+                return new LinkedHashSet<>(List.of(buildJobTrigger(jobDetail, startAt), recurringTrigger));
+            }
+            return Set.of(recurringTrigger);
+        }
+        // One-time transaction
+        ZonedDateTime dateTime = ZonedDateTime.of(transferRequest.getScheduledTime(), transferRequest.getTimeZone());
+        return Set.of(buildJobTrigger(jobDetail, dateTime));
+    }
+
+    private Instant firstFireTime(Set<Trigger> triggers) {
+        // computeFireTimes works on a clone, so the triggers handed to Quartz are left untouched
+        return triggers.stream()
+                .flatMap(trigger -> TriggerUtils.computeFireTimes((OperableTrigger) trigger, null, 1).stream())
+                .map(Date::toInstant)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    private SchedulerResponseDTO successResponse(String jobId, String triggerId) {
+        return new SchedulerResponseDTO("SUCCESS", "Transfer scheduled successfully!", jobId, triggerId);
+    }
+
+    private SchedulerResponseDTO failedResponse(String message) {
+        return new SchedulerResponseDTO("FAILED", message, null, null);
+    }
+
+    /**
+     * Both the single sweeper and the partitioned engine execute one-time transfers from scheduled_transfer.
+     */
+    private boolean usesSweeper() {
+        return "sweeper".equalsIgnoreCase(schedulerEngine) || "partitioned".equalsIgnoreCase(schedulerEngine);
+    }
+
+    private boolean isOneTime(TransferRequestDTO transferRequest) {
+        return transferRequest.getRecurrencePattern() == null || transferRequest.getRecurrencePattern().isEmpty();
+    }
+
+    private ScheduledTransfer toScheduledTransfer(TransferRequestDTO transferRequest, Long customerID) {
+        LocalDateTime firstFireTime = isOneTime(transferRequest) ? transferRequest.getScheduledTime() : transferRequest.getStartDate();
+
+        ScheduledTransfer scheduledTransfer = new ScheduledTransfer();
+        scheduledTransfer.setCustomerId(customerID);
+        scheduledTransfer.setSenderAccountId(transferRequest.getSenderAccountId());
+        if (partitionCount > 0) {
+            scheduledTransfer.setPartitionId(TransferPartitions.partitionOf(transferRequest.getSenderAccountId(), partitionCount));
+        }
+        scheduledTransfer.setReceiverAccountId(transferRequest.getReceiverAccountId());
+        scheduledTransfer.setReceiverName(transferRequest.getReceiverName());
+        scheduledTransfer.setNote(transferRequest.getNote());
+        scheduledTransfer.setTransactionType(transferRequest.getTransactionType());
+        scheduledTransfer.setAmount(transferRequest.getAmount());
+        scheduledTransfer.setRecurrencePattern(isOneTime(transferRequest) ? null : transferRequest.getRecurrencePattern().toUpperCase());
+        scheduledTransfer.setDueAt(ZonedDateTime.of(firstFireTime, transferRequest.getTimeZone()).toInstant());
+        scheduledTransfer.setNextFireTime(scheduledTransfer.getDueAt());
+        scheduledTransfer.setCreatedAt(Instant.now());
+        return scheduledTransfer;
+    }
+
+    /**
+     * Sweeper engine: the transfer becomes a row in scheduled_transfer instead of its own Quartz job and trigger.
+     */
+    private SchedulerResponseDTO storeForSweeper(ScheduledTransfer scheduledTransfer) {
+        scheduledTransfer.setEngine(ScheduledTransfer.Engine.SWEEPER);
+
+        log.info("Storing one-time transfer for sweeper execution, sender account: {}", scheduledTransfer.getSenderAccountId());
+        ScheduledTransfer saved = scheduledTransferRepository.save(scheduledTransfer);
+
+        return successResponse(String.valueOf(saved.getId()), TransferSweeperJob.JOB_NAME);
+    }
+
+    /**
+     * In queue mode a misfired trigger skips its missed fire time and the occurrence is handed to
+     * {@link com.lloyds.transaction.service.recovery.MisfireRecoveryService} instead of firing at once.
+     * The instruction is stored with the trigger, so it still applies after switching back to fire-now.
+     */
+    private boolean queueMisfires() {
+        return "queue".equalsIgnoreCase(misfireMode);
+    }
+
+    /**
+     * Maps the job key onto a second inside the spreading window. The slot depends only on the key,
+     * so it is the same on every node and across restarts.
+     */
+    public LocalTime spreadFireTime(JobKey jobKey) {
+        LocalTime windowStart = LocalTime.parse(spreadWindowStart);
+        long windowSeconds = Duration.between(windowStart, LocalTime.parse(spreadWindowEnd)).getSeconds();
+        if (windowSeconds <= 0) {
+            throw new IllegalStateException("Recurring spread window must end after it starts");
+        }
+        return windowStart.plusSeconds(Math.floorMod(jobKey.toString().hashCode(), windowSeconds));
+    }
+
+    public JobDetail buildJobDetail(ScheduledTransfer scheduledTransfer) {
         JobDataMap jobDataMap = new JobDataMap();
-        jobDataMap.put("senderAccountId", transferRequest.getSenderAccountId());
-        jobDataMap.put("receiverAccountId", transferRequest.getReceiverAccountId());
-        jobDataMap.put("receiverName", transferRequest.getReceiverName());
-        jobDataMap.put("note", transferRequest.getNote());
-        jobDataMap.put("transactionType", transferRequest.getTransactionType());
-        jobDataMap.put("amount", transferRequest.getAmount());
-        jobDataMap.put("customerID", customerID);
+        // Stored as a string so the map stays compatible with org.quartz.jobStore.useProperties=true
+        jobDataMap.put(TransferFundsJob.SCHEDULED_TRANSFER_ID, String.valueOf(scheduledTransfer.getId()));
 
         return JobBuilder.newJob(TransferFundsJob.class)
-                .withIdentity(UUID.randomUUID().toString(), "transfer-jobs")
+                .withIdentity(scheduledTransfer.getJobName(), TransferFundsJob.JOB_GROUP)
                 .withDescription("Fund Transfer Job")
                 .usingJobData(jobDataMap)
                 .storeDurably()
@@ -119,29 +431,43 @@ public class SchedulerServiceImpl implements SchedulerService {
                 .withIdentity(jobDetail.getKey().getName(), "transfer-triggers")
                 .withDescription("Fund Transfer Trigger")
                 .startAt(Date.from(startAt.toInstant()))
-                .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                .withSchedule(queueMisfires()
+                        ? SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionNextWithRemainingCount()
+                        : SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
                 .build();
     }
 
     public Trigger buildRecurringTrigger(JobDetail jobDetail, TransferRequestDTO transferRequest) {
         String recurrencePattern = transferRequest.getRecurrencePattern();
         log.info("1st log Trigger request timezone for sender account: {}", transferRequest.getTimeZone());
-        ZonedDateTime triggerStartAt = ZonedDateTime.of(transferRequest.getStartDate(), transferRequest.getTimeZone());
+        ZonedDateTime requestedStartAt = ZonedDateTime.of(transferRequest.getStartDate(), transferRequest.getTimeZone());
         ZonedDateTime triggerEndAt = ZonedDateTime.of(transferRequest.getEndDate(), transferRequest.getTimeZone());
         log.info("2nd log Trigger request timezone for sender account: {}", transferRequest.getTimeZone());
 
+        // With spreading on, the transfer keeps its day but fires at a stable slot inside the window. A slot
+        // already past on the start day moves the start to the next day; the start day's own occurrence then
+        // needs a one-off trigger at the requested time (see buildTriggers).
+        LocalTime fireTime = spreadRecurring
+                ? spreadFireTime(jobDetail.getKey())
+                : LocalTime.of(requestedStartAt.getHour(), requestedStartAt.getMinute());
+        ZonedDateTime triggerStartAt = requestedStartAt;
+        if (spreadRecurring && requestedStartAt.toLocalTime().isAfter(fireTime)) {
+            triggerStartAt = requestedStartAt.plusDays(1).with(fireTime);
+        }
+        String timeFields = fireTime.getSecond() + " " + fireTime.getMinute() + " " + fireTime.getHour();
+
         CronScheduleBuilder cronSchedule = switch (recurrencePattern.toUpperCase()) {
-            case "DAILY" -> CronScheduleBuilder.dailyAtHourAndMinute(
-                    triggerStartAt.getHour(), triggerStartAt.getMinute());
+            case "DAILY" -> CronScheduleBuilder.cronSchedule(timeFields + " ? * *");
             case "WEEKLY" -> {
-                int dayOfWeek = triggerStartAt.getDayOfWeek().getValue() + 1; // Quartz uses 1-7 for Sunday-Saturday
-                yield CronScheduleBuilder.weeklyOnDayAndHourAndMinute(
-                        dayOfWeek, triggerStartAt.getHour(), triggerStartAt.getMinute());
+                int dayOfWeek = requestedStartAt.getDayOfWeek().getValue() % 7 + 1; // Quartz uses 1-7 for Sunday-Saturday
+                yield CronScheduleBuilder.cronSchedule(timeFields + " ? * " + dayOfWeek);
             }
-            case "MONTHLY" -> CronScheduleBuilder.monthlyOnDayAndHourAndMinute(
-                    triggerStartAt.getDayOfMonth(), triggerStartAt.getHour(), triggerStartAt.getMinute());
+            case "MONTHLY" -> CronScheduleBuilder.cronSchedule(timeFields + " " + requestedStartAt.getDayOfMonth() + " * ?");
             default -> throw new IllegalArgumentException("Invalid recurrence pattern: " + recurrencePattern);
         };
+        if (queueMisfires()) {
+            cronSchedule = cronSchedule.withMisfireHandlingInstructionDoNothing();
+        }
 
         return TriggerBuilder.newTrigger()
                 .forJob(jobDetail)
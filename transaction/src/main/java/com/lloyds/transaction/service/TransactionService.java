@@ -5,11 +5,15 @@ import com.lloyds.transaction.dto.response.TransferResponseDTO;
 import com.lloyds.transaction.dto.response.TransactionDTO;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 
 public interface TransactionService {
 
     TransferResponseDTO transferFunds(TransferRequestDTO transferRequest, Long customerID);
 
+    List<TransferOutcome> transferFundsFromSender(List<TransferRequestDTO> transferRequests, Long customerID);
+
     Page<TransactionDTO> getTransactionsByAccountId(
             Long accountId, int page, int size, String sortOrder, String sortBy);
 
@@ -10,11 +10,15 @@ import com.lloyds.transaction.dto.response.TransactionDTO;
 import com.lloyds.transaction.dto.response.TransferResponseDTO;
 import com.lloyds.transaction.entity.Transaction;
 import com.lloyds.transaction.exception.AccountNotFoundException;
+import com.lloyds.transaction.exception.AccountServiceUnavailableException;
+import com.lloyds.transaction.exception.BalanceUpdateIncompleteException;
 import com.lloyds.transaction.exception.DataAccessException;
 import com.lloyds.transaction.exception.InsufficientFundsException;
 import com.lloyds.transaction.feign.AccountInterface;
 import com.lloyds.transaction.feign.CustomerInterface;
 import com.lloyds.transaction.repository.TransactionRepository;
+import com.lloyds.transaction.security.AuthenticatedToken;
+import feign.FeignException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -23,12 +27,20 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
@@ -59,29 +71,39 @@ public class TransactionServiceImpl implements TransactionService {
         log.info("Initiating fund transfer. Sender Account ID: {}, Receiver Account ID: {}, Amount: {}",
                 transferRequest.getSenderAccountId(), transferRequest.getReceiverAccountId(), transferRequest.getAmount());
 
-        log.info("Fetch accounts for the customer using Feign client");
-        ResponseEntity<List<AccountDTO>> response = accountFiegnClient.getAccountsByCustomerId(JWT_TOKEN,apiKey, customerID);
-        if (response.getStatusCode() != HttpStatus.OK) {
-            log.error("Failed to fetch sender's accounts, status: {}", response.getStatusCode());
-            throw new AccountNotFoundException("Failed to fetch accounts, status: " + response.getStatusCode());
+        Optional<Set<Long>> ownedAccountIds = AuthenticatedToken.currentOwnedAccountIds(customerID);
+        ResponseEntity<List<AccountDTO>> response = null;
+        if (ownedAccountIds.isPresent()) {
+            requireClaimedSender(ownedAccountIds.get(), transferRequest.getSenderAccountId());
+        } else {
+            log.info("Fetch accounts for the customer using Feign client");
+            response = lookup(() -> accountFiegnClient.getAccountsByCustomerId(JWT_TOKEN,apiKey, customerID), "accounts");
+            if (response.getStatusCode() != HttpStatus.OK) {
+                log.error("Failed to fetch sender's accounts, status: {}", response.getStatusCode());
+                throw lookupFailure("Failed to fetch accounts, status: " + response.getStatusCode(), response.getStatusCode());
+            }
         }
 
         log.info("Fetch receiver account");
-        ResponseEntity<AccountDTO> receiverResponse = accountFiegnClient.getAccountById(transferRequest.getReceiverAccountId(), JWT_TOKEN, apiKey);
+        ResponseEntity<AccountDTO> receiverResponse = lookup(() -> accountFiegnClient.getAccountById(transferRequest.getReceiverAccountId(), JWT_TOKEN, apiKey), "receiver account");
         if (receiverResponse.getStatusCode() != HttpStatus.OK || receiverResponse.getBody() == null) {
             log.error("Failed to fetch receiver account, status: {}", receiverResponse.getStatusCode());
-            throw new AccountNotFoundException("Failed to fetch receiver account, status: " + receiverResponse.getStatusCode());
+            throw lookupFailure("Failed to fetch receiver account, status: " + receiverResponse.getStatusCode(), receiverResponse.getStatusCode());
         }
 
         AccountDTO senderAccount = null;
         AccountDTO receiverAccount = null;
-        List<AccountDTO> accounts = response.getBody();
         receiverAccount = receiverResponse.getBody();
 
-        log.info("Find sender account in the fetched accounts list");
-        for (AccountDTO account : accounts) {
-            if (account.getId().equals(transferRequest.getSenderAccountId())) {
-                senderAccount = account;
+        if (response == null) {
+            senderAccount = fetchClaimedSender(transferRequest.getSenderAccountId(), customerID);
+        } else {
+            List<AccountDTO> accounts = response.getBody();
+            log.info("Find sender account in the fetched accounts list");
+            for (AccountDTO account : accounts) {
+                if (account.getId().equals(transferRequest.getSenderAccountId())) {
+                    senderAccount = account;
+                }
             }
         }
 
@@ -104,25 +126,19 @@ public class TransactionServiceImpl implements TransactionService {
         log.info("Update account balances using Feign Client");
         log.info("Updating balances for sender account: {} and receiver account: {}", senderAccount.getId(), receiverAccount.getId());
         accountFiegnClient.updateAccountBalance(senderAccount.getId(), BigDecimal.valueOf(senderNewBalance), JWT_TOKEN, apiKey);
-        accountFiegnClient.updateAccountBalance(receiverAccount.getId(), BigDecimal.valueOf(receiverNewBalance), JWT_TOKEN, apiKey);
+        try {
+            accountFiegnClient.updateAccountBalance(receiverAccount.getId(), BigDecimal.valueOf(receiverNewBalance), JWT_TOKEN, apiKey);
+        } catch (RuntimeException e) {
+            throw balanceUpdateIncomplete(senderAccount.getId(), e);
+        }
 
         log.info("Generate a unique transaction ID");
-        String transactionId = "LLB" + UUID.randomUUID().toString().replace("-", "").substring(0, 15);
+        String transactionId = generateTransactionId();
         log.info("Generated unique transaction ID: {}", transactionId);
 
         log.info("Create and save the transaction record");
-        Transaction transaction = new Transaction();
-        transaction.setTransactionId(transactionId);
-        transaction.setSenderAccountId(senderAccount.getId());
-        transaction.setReceiverAccountId(receiverAccount.getId());
-        transaction.setAmount(transferRequest.getAmount());
-        transaction.setTransactionStatus("Success");
-        transaction.setTransactionTimestamp(LocalDateTime.now());
-        transaction.setTransactionNote(transferRequest.getNote());
-        transaction.setTransactionType(transferRequest.getTransactionType());
-        transaction.setSenderBalance(senderNewBalance);
-        transaction.setReceiverBalance(receiverNewBalance);
-        transaction.setRecipientName(transferRequest.getReceiverName());
+        Transaction transaction = toTransaction(transferRequest, transactionId, senderAccount.getId(), receiverAccount.getId(),
+                senderNewBalance, receiverNewBalance);
         transactionRepository.save(transaction);
 
         TransferResponseDTO responseDTO = new TransferResponseDTO();
@@ -136,6 +152,204 @@ public class TransactionServiceImpl implements TransactionService {
     }
 
 
+    /**
+     * Executes several transfers from one sender account in the given order. The sender's accounts and each
+     * receiver are read once, every debit is checked against the running balance, and each balance is
+     * written once at the end. Every transfer still gets its own Transaction row. A transfer that cannot be
+     * made comes back failed with the exception {@link #transferFunds} would have thrown for it, and does not
+     * stop the ones after it.
+     */
+    @Override
+    @Transactional
+    public List<TransferOutcome> transferFundsFromSender(List<TransferRequestDTO> transferRequests, Long customerID) {
+        Long senderAccountId = transferRequests.get(0).getSenderAccountId();
+        if (transferRequests.stream().anyMatch(request -> !senderAccountId.equals(request.getSenderAccountId()))) {
+            throw new IllegalArgumentException("Coalesced transfers must share one sender account");
+        }
+        log.info("Initiating {} coalesced transfers from sender account ID: {}", transferRequests.size(), senderAccountId);
+
+        AccountDTO senderAccount;
+        Optional<Set<Long>> ownedAccountIds = AuthenticatedToken.currentOwnedAccountIds(customerID);
+        if (ownedAccountIds.isPresent()) {
+            requireClaimedSender(ownedAccountIds.get(), senderAccountId);
+            senderAccount = fetchClaimedSender(senderAccountId, customerID);
+        } else {
+            ResponseEntity<List<AccountDTO>> response = lookup(() -> accountFiegnClient.getAccountsByCustomerId(JWT_TOKEN, apiKey, customerID), "accounts");
+            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                log.error("Failed to fetch sender's accounts, status: {}", response.getStatusCode());
+                throw lookupFailure("Failed to fetch accounts, status: " + response.getStatusCode(), response.getStatusCode());
+            }
+            senderAccount = response.getBody().stream()
+                    .filter(account -> account.getId().equals(senderAccountId))
+                    .findFirst()
+                    .orElseThrow(() -> {
+                        log.error("Sender account not found: {}", senderAccountId);
+                        return new AccountNotFoundException("Sender account not found");
+                    });
+        }
+
+        double senderBalance = senderAccount.getBalance();
+        Map<Long, ReceiverLookup> receivers = new HashMap<>();
+        Map<Long, Double> receiverBalances = new LinkedHashMap<>();
+        List<TransferOutcome> outcomes = new ArrayList<>(transferRequests.size());
+        List<Transaction> transactions = new ArrayList<>();
+        List<TransferRequestDTO> completedRequests = new ArrayList<>();
+
+        for (TransferRequestDTO transferRequest : transferRequests) {
+            ReceiverLookup receiver = receivers.computeIfAbsent(transferRequest.getReceiverAccountId(), this::lookupReceiver);
+            if (receiver.failure() != null) {
+                outcomes.add(TransferOutcome.failed(receiver.failure()));
+                continue;
+            }
+            if (senderBalance < transferRequest.getAmount()) {
+                log.warn("Insufficient funds in sender account: {}. Requested amount: {}, Available balance: {}",
+                        senderAccountId, transferRequest.getAmount(), senderBalance);
+                outcomes.add(TransferOutcome.failed(new InsufficientFundsException("Insufficient funds in the sender account")));
+                continue;
+            }
+
+            AccountDTO receiverAccount = receiver.account();
+            Long receiverAccountId = receiverAccount.getId();
+            senderBalance -= transferRequest.getAmount();
+            double receiverBalance = receiverBalances.getOrDefault(receiverAccountId, receiverAccount.getBalance())
+                    + transferRequest.getAmount();
+            receiverBalances.put(receiverAccountId, receiverBalance);
+
+            Transaction transaction = toTransaction(transferRequest, generateTransactionId(), senderAccountId,
+                    receiverAccountId, senderBalance, receiverBalance);
+            transactions.add(transaction);
+            completedRequests.add(transferRequest);
+            outcomes.add(TransferOutcome.succeeded(new TransferResponseDTO(transaction.getTransactionId(),
+                    "Transfer successful", senderBalance, receiverBalance, transaction.getTransactionStatus())));
+        }
+
+        if (!transactions.isEmpty()) {
+            log.info("Updating balances for sender account: {} and {} receiver accounts", senderAccountId, receiverBalances.size());
+            accountFiegnClient.updateAccountBalance(senderAccountId, BigDecimal.valueOf(senderBalance), JWT_TOKEN, apiKey);
+            try {
+                receiverBalances.forEach((receiverAccountId, balance) ->
+                        accountFiegnClient.updateAccountBalance(receiverAccountId, BigDecimal.valueOf(balance), JWT_TOKEN, apiKey));
+            } catch (RuntimeException e) {
+                throw balanceUpdateIncomplete(senderAccountId, e);
+            }
+            transactionRepository.saveAll(transactions);
+        }
+
+        // The balances are already written, so a failed notification must not fail the transfers
+        int completed = 0;
+        for (TransferOutcome outcome : outcomes) {
+            if (outcome.isFailed()) {
+                continue;
+            }
+            try {
+                publishTransactionCompletionEvent(outcome.response(), completedRequests.get(completed++), customerID);
+            } catch (RuntimeException e) {
+                log.error("Failed to publish completion event for transaction {}: {}", outcome.response().getTransactionId(), e.getMessage());
+            }
+        }
+        return outcomes;
+    }
+
+    private static void requireClaimedSender(Set<Long> ownedAccountIds, Long senderAccountId) {
+        if (!ownedAccountIds.contains(senderAccountId)) {
+            log.error("Sender account not found in the token's account claim: {}", senderAccountId);
+            throw new AccountNotFoundException("Sender account not found");
+        }
+    }
+
+    /**
+     * Reads the sender account that the token's ownership claim vouches for. Only that one account is
+     * fetched, for its balance, instead of all of the customer's accounts.
+     */
+    private AccountDTO fetchClaimedSender(Long senderAccountId, Long customerID) {
+        ResponseEntity<AccountDTO> senderResponse = lookup(() -> accountFiegnClient.getAccountById(senderAccountId, JWT_TOKEN, apiKey), "sender account");
+        if (senderResponse.getStatusCode() != HttpStatus.OK || senderResponse.getBody() == null) {
+            log.error("Failed to fetch sender account, status: {}", senderResponse.getStatusCode());
+            throw lookupFailure("Failed to fetch sender account, status: " + senderResponse.getStatusCode(), senderResponse.getStatusCode());
+        }
+        AccountDTO senderAccount = senderResponse.getBody();
+        // The claim was issued with the token; an account moved since then is no longer the caller's
+        if (!Objects.equals(senderAccount.getCustomerId(), customerID)) {
+            log.error("Sender account {} no longer belongs to customer {}", senderAccountId, customerID);
+            throw new AccountNotFoundException("Sender account not found");
+        }
+        return senderAccount;
+    }
+
+    // A receiver looked up for a batch; a failed lookup fails every transfer to that receiver the same way
+    private record ReceiverLookup(AccountDTO account, RuntimeException failure) {
+    }
+
+    private ReceiverLookup lookupReceiver(Long receiverAccountId) {
+        try {
+            return new ReceiverLookup(fetchReceiver(receiverAccountId), null);
+        } catch (RuntimeException e) {
+            return new ReceiverLookup(null, e);
+        }
+    }
+
+    private AccountDTO fetchReceiver(Long receiverAccountId) {
+        ResponseEntity<AccountDTO> receiverResponse = lookup(() -> accountFiegnClient.getAccountById(receiverAccountId, JWT_TOKEN, apiKey), "receiver account");
+        if (receiverResponse.getStatusCode() != HttpStatus.OK || receiverResponse.getBody() == null) {
+            log.error("Failed to fetch receiver account {}, status: {}", receiverAccountId, receiverResponse.getStatusCode());
+            throw lookupFailure("Failed to fetch receiver account, status: " + receiverResponse.getStatusCode(), receiverResponse.getStatusCode());
+        }
+        return receiverResponse.getBody();
+    }
+
+    /**
+     * Account lookups happen before any balance is written, so a lookup the account service could not
+     * answer is reported as {@link AccountServiceUnavailableException} and may be retried.
+     */
+    private <T> ResponseEntity<T> lookup(Supplier<ResponseEntity<T>> call, String what) {
+        try {
+            return call.get();
+        } catch (FeignException e) {
+            if (isTransient(e.status())) {
+                throw new AccountServiceUnavailableException("Failed to fetch " + what + ": " + e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    private static AccountNotFoundException lookupFailure(String message, HttpStatusCode status) {
+        return isTransient(status.value()) ? new AccountServiceUnavailableException(message) : new AccountNotFoundException(message);
+    }
+
+    // The sender has already been debited, so the transfer must not be run again
+    private static BalanceUpdateIncompleteException balanceUpdateIncomplete(Long senderAccountId, RuntimeException cause) {
+        log.error("Balance update incomplete after debiting sender account {}: {}", senderAccountId, cause.getMessage());
+        return new BalanceUpdateIncompleteException("Sender account " + senderAccountId
+                + " was debited but a receiver balance update failed", cause);
+    }
+
+    // No response at all, throttled, or a server-side error
+    private static boolean isTransient(int status) {
+        return status < 0 || status == HttpStatus.TOO_MANY_REQUESTS.value() || status >= 500;
+    }
+
+    private String generateTransactionId() {
+        return "LLB" + UUID.randomUUID().toString().replace("-", "").substring(0, 15);
+    }
+
+    private Transaction toTransaction(TransferRequestDTO transferRequest, String transactionId, Long senderAccountId,
+                                      Long receiverAccountId, double senderBalance, double receiverBalance) {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionId(transactionId);
+        transaction.setSenderAccountId(senderAccountId);
+        transaction.setReceiverAccountId(receiverAccountId);
+        transaction.setAmount(transferRequest.getAmount());
+        transaction.setTransactionStatus("Success");
+        transaction.setTransactionTimestamp(LocalDateTime.now());
+        transaction.setTransactionNote(transferRequest.getNote());
+        transaction.setTransactionType(transferRequest.getTransactionType());
+        transaction.setSenderBalance(senderBalance);
+        transaction.setReceiverBalance(receiverBalance);
+        transaction.setRecipientName(transferRequest.getReceiverName());
+        return transaction;
+    }
+
+
     public Page<TransactionDTO> getTransactionsByAccountId(
             Long accountId, int page, int size, String sortOrder, String sortBy) {
         log.info("Fetching transactions for account ID: {}, status: {}, startDate: {}, endDate: {}, page: {}, size: {}, sortBy: {}, sortOrder: {}",
@@ -206,7 +420,8 @@ public class TransactionServiceImpl implements TransactionService {
                     return new NullPointerException("Customer not found");
                 });
 
-        ResponseEntity<AccountDTO> senderResponse = accountFiegnClient.getAccountById(transferRequest.getReceiverAccountId(), JWT_TOKEN, apiKey);
+        // Only the account number is needed, so a snapshot from the transfer's own lookup will do
+        ResponseEntity<AccountDTO> senderResponse = accountFiegnClient.getAccountDetailsById(transferRequest.getReceiverAccountId(), JWT_TOKEN, apiKey);
         AccountDTO account = Optional.ofNullable(senderResponse.getBody())
                 .orElseThrow(() -> {
                     log.error("Account not found for ID: {}", transferRequest.getReceiverAccountId());
@@ -0,0 +1,22 @@
+package com.lloyds.transaction.service;
+
+import com.lloyds.transaction.dto.response.TransferResponseDTO;
+
+/**
+ * Result of one transfer executed as part of a batch: its response if it went through, otherwise the
+ * exception it would have thrown had it been executed on its own.
+ */
+public record TransferOutcome(TransferResponseDTO response, RuntimeException failure) {
+
+    public static TransferOutcome succeeded(TransferResponseDTO response) {
+        return new TransferOutcome(response, null);
+    }
+
+    public static TransferOutcome failed(RuntimeException failure) {
+        return new TransferOutcome(null, failure);
+    }
+
+    public boolean isFailed() {
+        return failure != null;
+    }
+}
@@ -0,0 +1,152 @@
+package com.lloyds.transaction.service.account;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * In-process accountId to customerId cache, so paging through an account's history asks the account service
+ * who owns the account once rather than on every page. Ownership almost never changes, so entries live for a
+ * long TTL; the least recently used entry is evicted once the cache is full. An account whose ownership
+ * changes is dropped through {@link #invalidate}, or by publishing its ID (or "*" for everything) on the
+ * invalidation channel.
+ */
+@Slf4j
+@Component
+public class AccountOwnershipCache implements MessageListener {
+
+    private static final String ALL = "*";
+
+    private final boolean enabled;
+    private final long ttlMs;
+    private final Map<Long, Owner> owners;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter invalidations;
+
+    private record Owner(Long customerId, long expiresAt) {
+    }
+
+    public AccountOwnershipCache(MeterRegistry meterRegistry,
+                                 @Value("${account.ownership-cache.enabled:false}") boolean enabled,
+                                 @Value("${account.ownership-cache.ttl-ms:21600000}") long ttlMs,
+                                 @Value("${account.ownership-cache.max-entries:50000}") int maxEntries) {
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.evictions = Counter.builder("account.ownership-cache.evictions")
+                .description("Entries evicted because the cache was full")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("account.ownership-cache.invalidations")
+                .description("Entries dropped because the account's ownership changed")
+                .register(meterRegistry);
+        this.owners = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Owner> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        Gauge.builder("account.ownership-cache.size", this, AccountOwnershipCache::size)
+                .description("Accounts whose owner is cached")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("account.ownership-cache.lookups")
+                .description("Ownership lookups answered by the cache (hit) or left to the account service (miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * The cached owner of the account, or null if it is not cached, has expired or the cache is disabled.
+     */
+    public Long ownerOf(Long accountId) {
+        if (!enabled || accountId == null) {
+            return null;
+        }
+        Owner owner;
+        synchronized (owners) {
+            owner = owners.get(accountId);
+            if (owner != null && owner.expiresAt() <= System.currentTimeMillis()) {
+                owners.remove(accountId);
+                owner = null;
+            }
+        }
+        if (owner == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return owner.customerId();
+    }
+
+    public void put(Long accountId, Long customerId) {
+        if (!enabled || accountId == null || customerId == null) {
+            return;
+        }
+        synchronized (owners) {
+            owners.put(accountId, new Owner(customerId, System.currentTimeMillis() + ttlMs));
+        }
+    }
+
+    public void invalidate(Long accountId) {
+        boolean removed;
+        synchronized (owners) {
+            removed = owners.remove(accountId) != null;
+        }
+        if (removed) {
+            invalidations.increment();
+            log.info("Account {} dropped from the ownership cache", accountId);
+        }
+    }
+
+    public void invalidateAll() {
+        int dropped;
+        synchronized (owners) {
+            dropped = owners.size();
+            owners.clear();
+        }
+        invalidations.increment(dropped);
+        log.info("Ownership cache cleared, {} accounts dropped", dropped);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8).trim();
+        if (ALL.equals(body)) {
+            invalidateAll();
+            return;
+        }
+        try {
+            invalidate(Long.parseLong(body));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring ownership invalidation for unrecognised account ID: {}", body);
+        }
+    }
+
+    private int size() {
+        synchronized (owners) {
+            return owners.size();
+        }
+    }
+}
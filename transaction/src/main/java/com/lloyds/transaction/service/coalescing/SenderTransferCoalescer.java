@@ -0,0 +1,173 @@
+package com.lloyds.transaction.service.coalescing;
+
+import com.lloyds.transaction.dto.request.TransferRequestDTO;
+import com.lloyds.transaction.dto.response.TransferResponseDTO;
+import com.lloyds.transaction.service.TransactionService;
+import com.lloyds.transaction.service.TransferOutcome;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups scheduled transfers from the same sender account that fire within a short window, so the group is
+ * executed with one {@link TransactionService#transferFundsFromSender} call: one account read and one
+ * balance write for the sender instead of one per transfer. The first transfer of a group waits out the
+ * window (or until the group is full) on its own thread and then executes the group; the others wait for
+ * their result. A transfer that fails in a group throws the same exception it would have thrown on its own,
+ * so retry decisions do not depend on whether it was grouped.
+ */
+@Slf4j
+@Service
+public class SenderTransferCoalescer {
+
+    private final TransactionService transactionService;
+    private final boolean enabled;
+    private final long windowMs;
+    private final int maxGroupSize;
+    private final DistributionSummary groupSizes;
+    private final Map<GroupKey, Group> openGroups = new ConcurrentHashMap<>();
+
+    public SenderTransferCoalescer(TransactionService transactionService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${transfer.scheduler.coalesce.enabled:false}") boolean enabled,
+                                   @Value("${transfer.scheduler.coalesce.window-ms:250}") long windowMs,
+                                   @Value("${transfer.scheduler.coalesce.max-group-size:50}") int maxGroupSize) {
+        this.transactionService = transactionService;
+        this.enabled = enabled;
+        this.windowMs = windowMs;
+        this.maxGroupSize = maxGroupSize;
+        this.groupSizes = DistributionSummary.builder("transfer.coalesce.group.size")
+                .description("Scheduled transfers executed together for one sender account")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Executes the transfer, together with any others from the same sender that arrive within the window.
+     * Blocks the calling thread until the transfer has been executed.
+     */
+    public TransferResponseDTO transfer(TransferRequestDTO transferRequest, Long customerId) {
+        GroupKey key = new GroupKey(customerId, transferRequest.getSenderAccountId());
+        Member member = new Member(transferRequest);
+        Group group;
+        while (true) {
+            group = openGroups.computeIfAbsent(key, k -> new Group());
+            if (group.add(member)) {
+                break;
+            }
+            // Full group still registered; make room for a new one
+            openGroups.remove(key, group);
+        }
+
+        if (group.isLeader(member)) {
+            group.awaitWindow();
+            openGroups.remove(key, group);
+            execute(customerId, group.close());
+        }
+        return await(member);
+    }
+
+    private void execute(Long customerId, List<Member> members) {
+        groupSizes.record(members.size());
+        if (members.size() == 1) {
+            Member member = members.get(0);
+            try {
+                member.result.complete(transactionService.transferFunds(member.transferRequest, customerId));
+            } catch (RuntimeException e) {
+                member.result.completeExceptionally(e);
+            }
+            return;
+        }
+
+        log.info("Executing {} coalesced transfers from sender account {}", members.size(),
+                members.get(0).transferRequest.getSenderAccountId());
+        try {
+            List<TransferOutcome> outcomes = transactionService.transferFundsFromSender(
+                    members.stream().map(member -> member.transferRequest).toList(), customerId);
+            for (int i = 0; i < members.size(); i++) {
+                TransferOutcome outcome = outcomes.get(i);
+                if (outcome.isFailed()) {
+                    members.get(i).result.completeExceptionally(outcome.failure());
+                } else {
+                    members.get(i).result.complete(outcome.response());
+                }
+            }
+        } catch (RuntimeException e) {
+            members.forEach(member -> member.result.completeExceptionally(e));
+        }
+    }
+
+    private static TransferResponseDTO await(Member member) {
+        try {
+            return member.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record GroupKey(Long customerId, Long senderAccountId) {
+    }
+
+    private static final class Member {
+
+        private final TransferRequestDTO transferRequest;
+        private final CompletableFuture<TransferResponseDTO> result = new CompletableFuture<>();
+
+        private Member(TransferRequestDTO transferRequest) {
+            this.transferRequest = transferRequest;
+        }
+    }
+
+    private final class Group {
+
+        private final List<Member> members = new ArrayList<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+        private boolean closed;
+
+        synchronized boolean add(Member member) {
+            if (closed || members.size() >= maxGroupSize) {
+                return false;
+            }
+            members.add(member);
+            if (members.size() >= maxGroupSize) {
+                full.countDown();
+            }
+            return true;
+        }
+
+        synchronized boolean isLeader(Member member) {
+            return members.get(0) == member;
+        }
+
+        synchronized List<Member> close() {
+            closed = true;
+            return List.copyOf(members);
+        }
+
+        void awaitWindow() {
+            try {
+                full.await(windowMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                // Execute what has been gathered so far; the others are waiting on it
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.lloyds.transaction.service.coalescing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical reads share one in-flight call: the first caller for a key makes the call and
+ * every caller that arrives for the same key before it returns gets the same result, or the same exception.
+ * A caller that joins may get a result read before it arrived, at most one call's duration old; nothing is
+ * kept once the call returns, so no caller sees a result from an earlier call. Callers that must not see
+ * anything older than a write use {@link #forget} after it.
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaders;
+    private final Counter joiners;
+
+    public SingleFlight(String operation, MeterRegistry meterRegistry) {
+        this.leaders = callCounter(meterRegistry, operation, "leader");
+        this.joiners = callCounter(meterRegistry, operation, "joiner");
+        Gauge.builder("single-flight.coalescing-ratio", this, SingleFlight::coalescingRatio)
+                .description("Share of calls that joined another caller's in-flight call")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String operation, String role) {
+        return Counter.builder("single-flight.calls")
+                .description("Calls made downstream (leader) or served by joining one in flight (joiner)")
+                .tag("operation", operation)
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            joiners.increment();
+            return join(existing);
+        }
+        leaders.increment();
+        try {
+            V result = call.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Stops later callers joining calls already in flight for the matching keys, e.g. after a write that those
+     * calls may not reflect.
+     */
+    public void forget(Predicate<K> keys) {
+        inFlight.keySet().removeIf(keys);
+    }
+
+    private V join(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private double coalescingRatio() {
+        double total = leaders.count() + joiners.count();
+        return total == 0 ? 0 : joiners.count() / total;
+    }
+}
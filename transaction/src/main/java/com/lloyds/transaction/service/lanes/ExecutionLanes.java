@@ -0,0 +1,190 @@
+package com.lloyds.transaction.service.lanes;
+
+import com.lloyds.transaction.exception.LaneCapacityExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Keeps interactive transfers and scheduled executions apart. Each {@link Lane} has its own limit on transfers
+ * in flight and its own budget of concurrent downstream (Feign) calls, so a burst of scheduled transfers cannot
+ * use up the capacity customer requests need. Both lanes still share the DB pool and the account service, so
+ * on top of that the scheduled lane waits whenever interactive work is queueing for either limit.
+ * <p>
+ * A lane whose permits stay taken for longer than its acquire timeout rejects the work with a
+ * {@link LaneCapacityExceededException}. Only reads made before the transfer's first write count against the
+ * downstream budget: once a balance has been written the transfer must be able to finish, so its remaining
+ * calls are never held back or rejected.
+ */
+@Slf4j
+@Component
+public class ExecutionLanes {
+
+    // How long a scheduled thread waits before checking again whether interactive work is still queueing
+    private static final long YIELD_MS = 5;
+
+    private final Map<Lane, LaneState> lanes = new EnumMap<>(Lane.class);
+    private final ThreadLocal<Lane> currentLane = new ThreadLocal<>();
+    private final ThreadLocal<Boolean> writeStarted = new ThreadLocal<>();
+
+    public ExecutionLanes(MeterRegistry meterRegistry,
+                          @Value("${transfer.lanes.interactive.max-concurrent:40}") int interactiveMaxConcurrent,
+                          @Value("${transfer.lanes.interactive.downstream-budget:40}") int interactiveDownstreamBudget,
+                          @Value("${transfer.lanes.interactive.acquire-timeout-ms:2000}") long interactiveAcquireTimeoutMs,
+                          @Value("${transfer.lanes.scheduled.max-concurrent:20}") int scheduledMaxConcurrent,
+                          @Value("${transfer.lanes.scheduled.downstream-budget:20}") int scheduledDownstreamBudget,
+                          @Value("${transfer.lanes.scheduled.acquire-timeout-ms:60000}") long scheduledAcquireTimeoutMs) {
+        lanes.put(Lane.INTERACTIVE, new LaneState(Lane.INTERACTIVE, interactiveMaxConcurrent,
+                interactiveDownstreamBudget, interactiveAcquireTimeoutMs, meterRegistry));
+        lanes.put(Lane.SCHEDULED, new LaneState(Lane.SCHEDULED, scheduledMaxConcurrent,
+                scheduledDownstreamBudget, scheduledAcquireTimeoutMs, meterRegistry));
+    }
+
+    /**
+     * Runs a transfer in the given lane once the lane has room for it. Work started from inside a lane stays
+     * in that lane without taking a second permit.
+     */
+    public <T> T run(Lane lane, Supplier<T> work) {
+        if (currentLane.get() != null) {
+            return work.get();
+        }
+        LaneState state = lanes.get(lane);
+        acquire(state, state.transfers, "transfers");
+        currentLane.set(lane);
+        try {
+            return work.get();
+        } finally {
+            currentLane.remove();
+            writeStarted.remove();
+            state.transfers.release();
+        }
+    }
+
+    /**
+     * Makes a downstream read against the budget of the lane the current thread runs in. Calls made outside
+     * any lane (scheduling, preflight checks, reads), and reads after the transfer's first write, are not
+     * limited.
+     */
+    public <T> T callDownstream(DownstreamCall<T> call) throws IOException {
+        Lane lane = currentLane.get();
+        if (lane == null || Boolean.TRUE.equals(writeStarted.get())) {
+            return call.execute();
+        }
+        LaneState state = lanes.get(lane);
+        acquire(state, state.downstreamCalls, "downstream calls");
+        try {
+            return call.execute();
+        } finally {
+            state.downstreamCalls.release();
+        }
+    }
+
+    /**
+     * The lane whose downstream budget a read made now from this thread would count against, or null if the
+     * read would not be limited.
+     */
+    public Lane budgetedLane() {
+        return Boolean.TRUE.equals(writeStarted.get()) ? null : currentLane.get();
+    }
+
+    /**
+     * Makes a downstream write. It is never limited, and from then on neither is anything else the transfer
+     * calls, so a lane can no longer reject a transfer that has started moving money.
+     */
+    public <T> T callDownstreamWrite(DownstreamCall<T> call) throws IOException {
+        if (currentLane.get() != null) {
+            writeStarted.set(Boolean.TRUE);
+        }
+        return call.execute();
+    }
+
+    private void acquire(LaneState state, Semaphore permits, String what) {
+        long start = System.nanoTime();
+        long deadline = start + state.acquireTimeoutNanos;
+        state.waiting.incrementAndGet();
+        try {
+            if (state.lane == Lane.SCHEDULED) {
+                while (lanes.get(Lane.INTERACTIVE).waiting.get() > 0) {
+                    if (System.nanoTime() - deadline >= 0) {
+                        throw rejected(state, what);
+                    }
+                    Thread.sleep(YIELD_MS);
+                }
+            }
+            if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw rejected(state, what);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw rejected(state, what);
+        } finally {
+            state.waiting.decrementAndGet();
+            state.waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private LaneCapacityExceededException rejected(LaneState state, String what) {
+        state.rejected.increment();
+        log.warn("{} lane has no room for more {}", state.lane.tag(), what);
+        return new LaneCapacityExceededException("Too many " + state.lane.tag() + " " + what + " in progress, try again later");
+    }
+
+    @FunctionalInterface
+    public interface DownstreamCall<T> {
+        T execute() throws IOException;
+    }
+
+    private static final class LaneState {
+
+        private final Lane lane;
+        private final Semaphore transfers;
+        private final Semaphore downstreamCalls;
+        private final long acquireTimeoutNanos;
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final Timer waitTimer;
+        private final Counter rejected;
+
+        private LaneState(Lane lane, int maxConcurrent, int downstreamBudget, long acquireTimeoutMs,
+                          MeterRegistry meterRegistry) {
+            this.lane = lane;
+            this.transfers = new Semaphore(maxConcurrent, true);
+            this.downstreamCalls = new Semaphore(downstreamBudget, true);
+            this.acquireTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMs);
+            String tag = lane.tag();
+            Gauge.builder("transfer.lane.active", transfers, permits -> maxConcurrent - permits.availablePermits())
+                    .description("Transfers executing in the lane")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            Gauge.builder("transfer.lane.downstream.in-flight", downstreamCalls,
+                            permits -> downstreamBudget - permits.availablePermits())
+                    .description("Downstream calls in flight from the lane")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            Gauge.builder("transfer.lane.queued", waiting, AtomicInteger::get)
+                    .description("Threads waiting for room in the lane")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            this.waitTimer = Timer.builder("transfer.lane.wait")
+                    .description("Time spent waiting for room in the lane")
+                    .tag("lane", tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("transfer.lane.rejected")
+                    .description("Work rejected because the lane stayed full")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.lloyds.transaction.service.lanes;
+
+import java.util.Locale;
+
+/**
+ * Where a transfer execution comes from. Interactive transfers are customer requests waiting on a response;
+ * scheduled ones are fired by Quartz, the sweeper or the recovery worker.
+ */
+public enum Lane {
+    INTERACTIVE,
+    SCHEDULED;
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,27 @@
+package com.lloyds.transaction.service.lanes;
+
+import feign.Capability;
+import feign.Client;
+import feign.Request;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts Feign reads against the downstream budget of the lane the calling thread runs in; writes, such as
+ * balance updates, are never held back (see {@link ExecutionLanes#callDownstreamWrite}). Spring Cloud
+ * OpenFeign applies {@link Capability} beans to all clients, so the account and customer clients both go
+ * through it.
+ */
+@Component
+@RequiredArgsConstructor
+public class LaneBudgetCapability implements Capability {
+
+    private final ExecutionLanes executionLanes;
+
+    @Override
+    public Client enrich(Client client) {
+        return (request, options) -> request.httpMethod() == Request.HttpMethod.GET
+                ? executionLanes.callDownstream(() -> client.execute(request, options))
+                : executionLanes.callDownstreamWrite(() -> client.execute(request, options));
+    }
+}
@@ -0,0 +1,152 @@
+package com.lloyds.transaction.service.partition;
+
+import com.lloyds.transaction.entity.PartitionLease;
+import com.lloyds.transaction.entity.SchedulerNode;
+import com.lloyds.transaction.repository.PartitionLeaseRepository;
+import com.lloyds.transaction.repository.SchedulerNodeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns scheduling partitions to live nodes through the scheduler_partition_lease table. Each node
+ * heartbeats into scheduler_node and, under a lock on the lease rows, renews its own leases and takes or
+ * gives back partitions until it holds its fair share. Nodes that stop heartbeating lose their leases
+ * once they expire, and the survivors pick them up on their next rebalance.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "transfer.scheduler.engine", havingValue = "partitioned")
+public class PartitionLeaseManager {
+
+    // Nodes silent for this many lease periods are forgotten
+    private static final int STALE_NODE_LEASES = 10;
+
+    private final PartitionLeaseRepository partitionLeaseRepository;
+    private final SchedulerNodeRepository schedulerNodeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitions;
+    private final Duration leaseDuration;
+    private final String nodeId;
+
+    public PartitionLeaseManager(PartitionLeaseRepository partitionLeaseRepository,
+                                 SchedulerNodeRepository schedulerNodeRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${transfer.scheduler.partition.count:64}") int partitions,
+                                 @Value("${transfer.scheduler.partition.lease-ms:30000}") long leaseMs) {
+        this.partitionLeaseRepository = partitionLeaseRepository;
+        this.schedulerNodeRepository = schedulerNodeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitions = partitions;
+        this.leaseDuration = Duration.ofMillis(leaseMs);
+        this.nodeId = resolveNodeId();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Creates any missing lease rows. Safe to run concurrently on several nodes.
+     */
+    public void initialize() {
+        Set<Integer> existing = partitionLeaseRepository.findAll().stream()
+                .map(PartitionLease::getPartitionId)
+                .collect(Collectors.toSet());
+        for (int partition = 0; partition < partitions; partition++) {
+            if (existing.contains(partition)) {
+                continue;
+            }
+            try {
+                partitionLeaseRepository.save(new PartitionLease(partition));
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Lease row for partition {} was created by another node", partition);
+            }
+        }
+    }
+
+    /**
+     * Heartbeats, renews this node's leases and moves it towards its fair share of partitions.
+     * @return the partitions this node owns until the next rebalance
+     */
+    public Set<Integer> rebalance() {
+        Set<Integer> owned = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            schedulerNodeRepository.save(new SchedulerNode(nodeId, now));
+            schedulerNodeRepository.deleteByHeartbeatAtBefore(now.minus(leaseDuration.multipliedBy(STALE_NODE_LEASES)));
+            int liveNodes = Math.max(1, schedulerNodeRepository.findByHeartbeatAtAfter(now.minus(leaseDuration)).size());
+            int fairShare = (partitions + liveNodes - 1) / liveNodes;
+
+            List<PartitionLease> leases = partitionLeaseRepository.lockAll();
+            Set<Integer> mine = new TreeSet<>();
+            for (PartitionLease lease : leases) {
+                if (nodeId.equals(lease.getOwnerNode()) && lease.getLeaseExpiresAt().isAfter(now)) {
+                    mine.add(lease.getPartitionId());
+                }
+            }
+            for (PartitionLease lease : leases) {
+                boolean ownedByMe = mine.contains(lease.getPartitionId());
+                if (ownedByMe && mine.size() > fairShare) {
+                    // Give back the excess so nodes that joined can take it
+                    mine.remove(lease.getPartitionId());
+                    lease.setOwnerNode(null);
+                    lease.setLeaseExpiresAt(now);
+                } else if (ownedByMe || (isFree(lease, now) && mine.size() < fairShare)) {
+                    mine.add(lease.getPartitionId());
+                    lease.setOwnerNode(nodeId);
+                    lease.setLeaseExpiresAt(now.plus(leaseDuration));
+                }
+            }
+            partitionLeaseRepository.saveAll(leases);
+            return mine;
+        });
+        log.debug("Node {} owns partitions {}", nodeId, owned);
+        return owned != null ? owned : Collections.emptySet();
+    }
+
+    /**
+     * Gives up every lease held by this node, for a clean shutdown.
+     */
+    public void releaseAll() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Instant now = Instant.now();
+            List<PartitionLease> leases = partitionLeaseRepository.lockAll();
+            leases.stream()
+                    .filter(lease -> nodeId.equals(lease.getOwnerNode()))
+                    .forEach(lease -> {
+                        lease.setOwnerNode(null);
+                        lease.setLeaseExpiresAt(now);
+                    });
+            partitionLeaseRepository.saveAll(leases);
+            schedulerNodeRepository.deleteById(nodeId);
+        });
+    }
+
+    private static boolean isFree(PartitionLease lease, Instant now) {
+        return lease.getOwnerNode() == null || lease.getLeaseExpiresAt() == null || !lease.getLeaseExpiresAt().isAfter(now);
+    }
+
+    private static String resolveNodeId() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + suffix;
+        } catch (UnknownHostException e) {
+            return "node-" + suffix;
+        }
+    }
+}
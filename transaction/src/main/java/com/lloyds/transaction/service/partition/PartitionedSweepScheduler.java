@@ -0,0 +1,64 @@
+package com.lloyds.transaction.service.partition;
+
+import com.lloyds.transaction.service.sweeper.TransferSweeper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the partitioned engine on every node. Unlike the Quartz-triggered sweeper, which runs on one
+ * node at a time, each node sweeps on its own timer but only within the partitions it currently leases,
+ * so adding nodes adds sweep capacity without contending on QRTZ_LOCKS.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "transfer.scheduler.engine", havingValue = "partitioned")
+public class PartitionedSweepScheduler {
+
+    private final PartitionLeaseManager partitionLeaseManager;
+    private final TransferSweeper transferSweeper;
+    private final long intervalMs;
+    private final ScheduledExecutorService timer =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("partitioned-sweep-"));
+
+    public PartitionedSweepScheduler(PartitionLeaseManager partitionLeaseManager,
+                                     TransferSweeper transferSweeper,
+                                     @Value("${transfer.scheduler.sweeper.interval-ms:5000}") long intervalMs) {
+        this.partitionLeaseManager = partitionLeaseManager;
+        this.transferSweeper = transferSweeper;
+        this.intervalMs = intervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        partitionLeaseManager.initialize();
+        timer.scheduleWithFixedDelay(this::sweepOwnedPartitions, 0, intervalMs, TimeUnit.MILLISECONDS);
+        log.info("Partitioned sweeper started on node {}", partitionLeaseManager.getNodeId());
+    }
+
+    void sweepOwnedPartitions() {
+        try {
+            Set<Integer> owned = partitionLeaseManager.rebalance();
+            transferSweeper.sweepPartitions(owned);
+        } catch (Exception e) {
+            // Keep the timer alive; leases not renewed in time simply move to other nodes
+            log.error("Partitioned sweep failed on node {}: {}", partitionLeaseManager.getNodeId(), e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        timer.shutdown();
+        timer.awaitTermination(intervalMs, TimeUnit.MILLISECONDS);
+        partitionLeaseManager.releaseAll();
+    }
+}
@@ -0,0 +1,15 @@
+package com.lloyds.transaction.service.partition;
+
+/**
+ * Maps a sender account onto one of a fixed number of scheduling partitions. The mapping must stay the
+ * same for the lifetime of the stored rows, so the partition count can only change with a data migration.
+ */
+public final class TransferPartitions {
+
+    private TransferPartitions() {
+    }
+
+    public static int partitionOf(Long senderAccountId, int partitions) {
+        return Math.floorMod(Long.hashCode(senderAccountId), partitions);
+    }
+}
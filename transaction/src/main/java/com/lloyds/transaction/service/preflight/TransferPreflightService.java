@@ -0,0 +1,207 @@
+package com.lloyds.transaction.service.preflight;
+
+import com.lloyds.transaction.dto.response.AccountDTO;
+import com.lloyds.transaction.entity.ScheduledTransfer;
+import com.lloyds.transaction.feign.AccountInterface;
+import com.lloyds.transaction.repository.ScheduledTransferRepository;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Checks transfers that are about to fire while there is still time to act on the result. Accounts are
+ * loaded in parallel, once per customer and receiver, and every transfer in the look-ahead window is
+ * flagged with the outcome it would have if it fired now. Funds are checked cumulatively per sender
+ * account in fire order, but only across the transfers checked in the same run: transfers that passed
+ * in an earlier run and are not yet due for a recheck are not counted against the balance.
+ */
+@Slf4j
+@Service
+public class TransferPreflightService {
+
+    private static final String JWT_TOKEN = "Jwttoken";
+
+    private final ScheduledTransferRepository scheduledTransferRepository;
+    private final AccountInterface accountFeignClient;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final String apiKey;
+    private final Duration lookahead;
+    private final Duration recheckInterval;
+    private final int maxTransfers;
+    private final Map<ScheduledTransfer.PreflightStatus, Counter> resultCounters = new EnumMap<>(ScheduledTransfer.PreflightStatus.class);
+
+    public TransferPreflightService(ScheduledTransferRepository scheduledTransferRepository,
+                                    AccountInterface accountFeignClient,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${service.api.key}") String apiKey,
+                                    @Value("${transfer.scheduler.preflight.lookahead-ms:1800000}") long lookaheadMs,
+                                    @Value("${transfer.scheduler.preflight.recheck-interval-ms:600000}") long recheckIntervalMs,
+                                    @Value("${transfer.scheduler.preflight.max-transfers:5000}") int maxTransfers,
+                                    @Value("${transfer.scheduler.preflight.parallelism:8}") int parallelism) {
+        this.scheduledTransferRepository = scheduledTransferRepository;
+        this.accountFeignClient = accountFeignClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("transfer-preflight-"));
+        this.apiKey = apiKey;
+        this.lookahead = Duration.ofMillis(lookaheadMs);
+        this.recheckInterval = Duration.ofMillis(recheckIntervalMs);
+        this.maxTransfers = maxTransfers;
+        for (ScheduledTransfer.PreflightStatus status : ScheduledTransfer.PreflightStatus.values()) {
+            resultCounters.put(status, Counter.builder("transfer.preflight.checked")
+                    .description("Upcoming scheduled transfers checked ahead of their fire time")
+                    .tag("result", status.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Checks the pending transfers firing within the look-ahead window.
+     * @return the number of transfers flagged as going to fail
+     */
+    public int preflight() {
+        Instant now = Instant.now();
+        List<ScheduledTransfer> upcoming = scheduledTransferRepository.findDueForPreflight(ScheduledTransfer.Status.PENDING,
+                now, now.plus(lookahead), now.minus(recheckInterval), PageRequest.of(0, maxTransfers));
+        if (upcoming.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, CompletableFuture<AccountLookup<Map<Long, AccountDTO>>>> senderAccounts = loadInParallel(upcoming,
+                ScheduledTransfer::getCustomerId, this::loadCustomerAccounts);
+        Map<Long, CompletableFuture<AccountLookup<AccountDTO>>> receiverAccounts = loadInParallel(upcoming,
+                ScheduledTransfer::getReceiverAccountId, this::loadAccount);
+
+        Map<ScheduledTransfer.PreflightStatus, List<Long>> results = new EnumMap<>(ScheduledTransfer.PreflightStatus.class);
+        Map<Long, Double> committedBySender = new HashMap<>();
+        int unchecked = 0;
+        for (ScheduledTransfer transfer : upcoming) {
+            AccountLookup<Map<Long, AccountDTO>> customerAccounts = senderAccounts.get(transfer.getCustomerId()).join();
+            AccountLookup<AccountDTO> receiver = receiverAccounts.get(transfer.getReceiverAccountId()).join();
+            if (!customerAccounts.available() || !receiver.available()) {
+                // Account service unreachable; the transfer is picked up again on the next run
+                unchecked++;
+                continue;
+            }
+            ScheduledTransfer.PreflightStatus result = check(transfer, customerAccounts.value(), receiver.value(), committedBySender);
+            results.computeIfAbsent(result, status -> new ArrayList<>()).add(transfer.getId());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> results.forEach((result, ids) ->
+                scheduledTransferRepository.recordPreflight(ids, result, now)));
+        results.forEach((result, ids) -> resultCounters.get(result).increment(ids.size()));
+
+        int flagged = upcoming.size() - unchecked - results.getOrDefault(ScheduledTransfer.PreflightStatus.PASSED, List.of()).size();
+        if (flagged > 0) {
+            log.warn("Pre-flight flagged {} of {} upcoming scheduled transfers: {}", flagged, upcoming.size(), results.keySet());
+        }
+        if (unchecked > 0) {
+            log.warn("Pre-flight could not check {} upcoming scheduled transfers; account service unavailable", unchecked);
+        }
+        return flagged;
+    }
+
+    private ScheduledTransfer.PreflightStatus check(ScheduledTransfer transfer, Map<Long, AccountDTO> customerAccounts,
+                                                    AccountDTO receiver, Map<Long, Double> committedBySender) {
+        AccountDTO sender = customerAccounts.get(transfer.getSenderAccountId());
+        if (sender == null) {
+            return ScheduledTransfer.PreflightStatus.SENDER_NOT_FOUND;
+        }
+        if (receiver == null) {
+            return ScheduledTransfer.PreflightStatus.RECEIVER_NOT_FOUND;
+        }
+        double committed = committedBySender.getOrDefault(sender.getId(), 0.0);
+        if (committed + transfer.getAmount() > sender.getBalance()) {
+            return ScheduledTransfer.PreflightStatus.INSUFFICIENT_FUNDS;
+        }
+        committedBySender.put(sender.getId(), committed + transfer.getAmount());
+        return ScheduledTransfer.PreflightStatus.PASSED;
+    }
+
+    private <T> Map<Long, CompletableFuture<T>> loadInParallel(List<ScheduledTransfer> transfers,
+                                                               Function<ScheduledTransfer, Long> key,
+                                                               Function<Long, T> loader) {
+        return transfers.stream()
+                .map(key)
+                .distinct()
+                .collect(Collectors.toMap(Function.identity(),
+                        id -> CompletableFuture.supplyAsync(() -> loader.apply(id), executor)));
+    }
+
+    private AccountLookup<Map<Long, AccountDTO>> loadCustomerAccounts(Long customerId) {
+        try {
+            ResponseEntity<List<AccountDTO>> response = accountFeignClient.getAccountsByCustomerId(JWT_TOKEN, apiKey, customerId);
+            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                log.warn("Pre-flight failed to fetch accounts for customer {}, status: {}", customerId, response.getStatusCode());
+                return AccountLookup.unavailable();
+            }
+            return AccountLookup.of(response.getBody().stream()
+                    .collect(Collectors.toMap(AccountDTO::getId, Function.identity(), (first, second) -> first)));
+        } catch (Exception e) {
+            log.warn("Pre-flight failed to fetch accounts for customer {}: {}", customerId, e.getMessage());
+            return AccountLookup.unavailable();
+        }
+    }
+
+    private AccountLookup<AccountDTO> loadAccount(Long accountId) {
+        try {
+            ResponseEntity<AccountDTO> response = accountFeignClient.getAccountById(accountId, JWT_TOKEN, apiKey);
+            if (response.getStatusCode() == HttpStatus.NOT_FOUND) {
+                return AccountLookup.of(null);
+            }
+            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                log.warn("Pre-flight failed to fetch account {}, status: {}", accountId, response.getStatusCode());
+                return AccountLookup.unavailable();
+            }
+            return AccountLookup.of(response.getBody());
+        } catch (FeignException.NotFound e) {
+            return AccountLookup.of(null);
+        } catch (Exception e) {
+            log.warn("Pre-flight failed to fetch account {}: {}", accountId, e.getMessage());
+            return AccountLookup.unavailable();
+        }
+    }
+
+    /**
+     * Result of an account lookup; {@code available} is false when the account service could not answer.
+     */
+    private record AccountLookup<T>(boolean available, T value) {
+
+        static <T> AccountLookup<T> of(T value) {
+            return new AccountLookup<>(true, value);
+        }
+
+        static <T> AccountLookup<T> unavailable() {
+            return new AccountLookup<>(false, null);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,54 @@
+package com.lloyds.transaction.service.quartz;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import java.util.List;
+
+/**
+ * Deletes the maintenance jobs of features that are turned off. They are stored durably in the clustered
+ * job store and registering jobs only adds or overwrites them, so a job left behind would keep firing.
+ * Runs after the enabled jobs are registered and just before the scheduler starts.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DisabledJobCleaner implements SmartLifecycle {
+
+    private final Scheduler scheduler;
+    private final List<JobKey> disabledJobs;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        for (JobKey jobKey : disabledJobs) {
+            try {
+                if (scheduler.deleteJob(jobKey)) {
+                    log.info("Deleted job {} of a disabled feature", jobKey);
+                }
+            } catch (SchedulerException e) {
+                log.error("Failed to delete job {} of a disabled feature: {}", jobKey, e.getMessage(), e);
+            }
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SchedulerFactoryBean.DEFAULT_PHASE - 1;
+    }
+}
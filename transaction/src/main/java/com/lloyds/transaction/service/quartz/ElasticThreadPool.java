@@ -0,0 +1,137 @@
+package com.lloyds.transaction.service.quartz;
+
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.SchedulerConfigException;
+import org.quartz.spi.ThreadPool;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quartz {@link ThreadPool} for I/O-bound jobs. Unlike {@code SimpleThreadPool} it does not keep
+ * {@code threadCount} threads alive: workers are created on demand up to the concurrency cap and
+ * retire after {@code keepAliveSeconds} idle, so the cap can be sized for Feign latency rather than CPU.
+ * Configured through {@code org.quartz.threadPool.*} like any Quartz pool.
+ */
+@Slf4j
+public class ElasticThreadPool implements ThreadPool {
+
+    private int threadCount = 10;
+    private long keepAliveSeconds = 60;
+    private String threadNamePrefix;
+    private String instanceName = "QuartzScheduler";
+
+    private Semaphore permits;
+    private ThreadPoolExecutor executor;
+
+    /**
+     * Maximum number of jobs executing at once; also what Quartz sees as the pool size.
+     */
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    public void setKeepAliveSeconds(long keepAliveSeconds) {
+        this.keepAliveSeconds = keepAliveSeconds;
+    }
+
+    public void setThreadNamePrefix(String threadNamePrefix) {
+        this.threadNamePrefix = threadNamePrefix;
+    }
+
+    @Override
+    public void initialize() throws SchedulerConfigException {
+        if (threadCount <= 0) {
+            throw new SchedulerConfigException("Thread count must be > 0");
+        }
+        if (keepAliveSeconds <= 0) {
+            throw new SchedulerConfigException("Keep-alive must be > 0 seconds");
+        }
+        String prefix = threadNamePrefix != null ? threadNamePrefix : instanceName + "_Worker-";
+        permits = new Semaphore(threadCount);
+        // core == max with core timeout: threads start lazily, idle ones retire, and a task is never
+        // rejected because the permits already bound how many can be queued
+        executor = new ThreadPoolExecutor(threadCount, threadCount, keepAliveSeconds, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory(prefix));
+        executor.allowCoreThreadTimeOut(true);
+        log.info("Elastic Quartz thread pool initialised with a concurrency cap of {}", threadCount);
+    }
+
+    @Override
+    public boolean runInThread(Runnable runnable) {
+        if (runnable == null || executor.isShutdown()) {
+            return false;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    runnable.run();
+                } finally {
+                    permits.release();
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            permits.release();
+            log.error("Failed to hand job to the elastic thread pool: {}", e.getMessage(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public int blockForAvailableThreads() {
+        try {
+            // Wait for one slot, then hand it straight back: Quartz only wants to know how many it may acquire
+            permits.acquire();
+            permits.release();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return Math.max(1, permits.availablePermits());
+    }
+
+    @Override
+    public void shutdown(boolean waitForJobsToComplete) {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        if (waitForJobsToComplete) {
+            try {
+                while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    log.debug("Waiting for {} Quartz jobs to complete", executor.getActiveCount());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public int getPoolSize() {
+        return threadCount;
+    }
+
+    public int getActiveCount() {
+        return executor == null ? 0 : executor.getActiveCount();
+    }
+
+    @Override
+    public void setInstanceId(String schedInstId) {
+        // not used for thread naming
+    }
+
+    @Override
+    public void setInstanceName(String schedName) {
+        this.instanceName = schedName;
+    }
+}
@@ -0,0 +1,34 @@
+package com.lloyds.transaction.service.quartz;
+
+import com.lloyds.transaction.service.recovery.MisfireRecoveryService;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.quartz.SchedulerException;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+/**
+ * Periodically queues the occurrences skipped on misfire and drains the misfire recovery queue. Concurrent execution is disallowed so one node
+ * drains at a time and the configured rate holds cluster-wide.
+ */
+@Slf4j
+@DisallowConcurrentExecution
+public class MisfireRecoveryJob extends QuartzJobBean {
+
+    public static final String JOB_NAME = "misfire-recovery";
+    public static final String JOB_GROUP = "recovery-jobs";
+
+    @Override
+    public void executeInternal(JobExecutionContext context) {
+        MisfireRecoveryService misfireRecoveryService;
+
+        try {
+            misfireRecoveryService = (MisfireRecoveryService) context.getScheduler().getContext().get("misfireRecoveryService");
+        } catch (SchedulerException e) {
+            throw new com.lloyds.transaction.exception.SchedulerException("Failed to load misfire recovery service: " + e.getMessage());
+        }
+
+        misfireRecoveryService.queueSkippedOccurrences(context.getScheduler());
+        misfireRecoveryService.drain();
+    }
+}
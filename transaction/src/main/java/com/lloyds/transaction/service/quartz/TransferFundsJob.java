@@ -1,30 +1,71 @@
 package com.lloyds.transaction.service.quartz;
 
 import com.lloyds.transaction.dto.request.TransferRequestDTO;
+import com.lloyds.transaction.entity.ScheduledTransfer;
 import com.lloyds.transaction.exception.JobExecutionException;
+import com.lloyds.transaction.service.ScheduledTransferExecutor;
 import com.lloyds.transaction.service.TransactionService;
 import lombok.extern.slf4j.Slf4j;
 import org.quartz.JobExecutionContext;
 import org.quartz.JobDataMap;
+import org.quartz.SchedulerContext;
 import org.quartz.SchedulerException;
+import org.quartz.Trigger;
 import org.springframework.scheduling.quartz.QuartzJobBean;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.util.Date;
+
 @Slf4j
 @Component
 public class TransferFundsJob extends QuartzJobBean {
 
+    /**
+     * JobDataMap key holding the scheduled_transfer row ID, the only data the job stores in Quartz.
+     */
+    public static final String SCHEDULED_TRANSFER_ID = "scheduledTransferId";
+
+    public static final String JOB_GROUP = "transfer-jobs";
+
     @Override
     public void executeInternal(JobExecutionContext context) throws JobExecutionException {
         TransactionService transactionService;
+        ScheduledTransferExecutor scheduledTransferExecutor;
 
         try {
-            transactionService = (TransactionService) context.getScheduler().getContext().get("transactionService");
+            SchedulerContext schedulerContext = context.getScheduler().getContext();
+            transactionService = (TransactionService) schedulerContext.get("transactionService");
+            scheduledTransferExecutor = (ScheduledTransferExecutor) schedulerContext.get("scheduledTransferExecutor");
         } catch (SchedulerException e) {
             throw new com.lloyds.transaction.exception.SchedulerException("Failed to schedule transfer: " + e.getMessage());
         }
 
         JobDataMap jobDataMap = context.getMergedJobDataMap();
+
+        if (jobDataMap.containsKey(SCHEDULED_TRANSFER_ID)) {
+            ScheduledTransfer scheduledTransfer = scheduledTransferExecutor.load(Long.valueOf(jobDataMap.getString(SCHEDULED_TRANSFER_ID)));
+            if (!scheduledTransferExecutor.claim(scheduledTransfer)) {
+                // Cancelled or finished after this trigger was already acquired
+                log.info("Skipping scheduled transfer {}, it is {}", scheduledTransfer.getId(), scheduledTransfer.getStatus());
+                return;
+            }
+            try {
+                log.info("Executing transfer job for sender account: {}", scheduledTransfer.getSenderAccountId());
+                Instant scheduledFireTime = context.getScheduledFireTime() != null
+                        ? context.getScheduledFireTime().toInstant()
+                        : scheduledTransfer.getDueAt();
+                scheduledTransferExecutor.executeWithRetry(scheduledTransfer, scheduledFireTime);
+            } catch (Exception e) {
+                log.error("Unexpected error occurred while executing transfer job: {}", e.getMessage(), e);
+                throw new JobExecutionException("An unexpected error occurred while executing transfer job");
+            } finally {
+                scheduledTransferExecutor.advance(scheduledTransfer, nextFireTime(context, scheduledTransfer));
+            }
+            return;
+        }
+
+        // Jobs scheduled before payloads moved to scheduled_transfer still carry them in the JobDataMap
         TransferRequestDTO transferRequest = new TransferRequestDTO();
         transferRequest.setSenderAccountId((Long) jobDataMap.get("senderAccountId"));
         transferRequest.setReceiverAccountId((Long) jobDataMap.get("receiverAccountId"));
@@ -41,4 +82,27 @@ public class TransferFundsJob extends QuartzJobBean {
             throw new JobExecutionException("An unexpected error occurred while executing transfer job");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The job's next occurrence over all its triggers: a recurring transfer whose spread slot had passed on its
+     * start day has a one-off trigger for that day next to its cron trigger.
+     */
+    private static Date nextFireTime(JobExecutionContext context, ScheduledTransfer scheduledTransfer) {
+        Date nextFireTime = context.getNextFireTime();
+        if (nextFireTime != null || scheduledTransfer.getRecurrencePattern() == null) {
+            return nextFireTime;
+        }
+        try {
+            for (Trigger trigger : context.getScheduler().getTriggersOfJob(context.getJobDetail().getKey())) {
+                Date next = trigger.getNextFireTime();
+                if (!trigger.getKey().equals(context.getTrigger().getKey()) && next != null
+                        && (nextFireTime == null || next.before(nextFireTime))) {
+                    nextFireTime = next;
+                }
+            }
+            return nextFireTime;
+        } catch (SchedulerException e) {
+            throw new JobExecutionException("Failed to read the next fire time of transfer job: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.lloyds.transaction.service.quartz;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import jdk.jfr.Timestamp;
+
+/**
+ * JFR event covering one TransferFundsJob execution; the event's own duration is the execution time.
+ */
+@Name("com.lloyds.transaction.TransferJobExecution")
+@Label("Transfer Job Execution")
+@Category({"Lloyds", "Scheduler"})
+@Description("A scheduled transfer executed by Quartz")
+@StackTrace(false)
+class TransferJobExecutionEvent extends Event {
+
+    @Label("Job Name")
+    String jobName;
+
+    @Label("Trigger Group")
+    String triggerGroup;
+
+    @Label("Scheduled Fire Time")
+    @Timestamp(Timestamp.MILLISECONDS_SINCE_EPOCH)
+    long scheduledFireTime;
+
+    @Label("Fire Lag")
+    @Description("Time between the scheduled fire time and the start of execution")
+    @Timespan(Timespan.MILLISECONDS)
+    long lag;
+
+    @Label("Outcome")
+    String outcome;
+}
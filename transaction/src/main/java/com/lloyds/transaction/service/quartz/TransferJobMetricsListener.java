@@ -0,0 +1,116 @@
+package com.lloyds.transaction.service.quartz;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.JobListener;
+import org.quartz.Trigger;
+import org.quartz.TriggerListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Records fire lag, execution time, outcome and misfires for every TransferFundsJob as Micrometer meters
+ * tagged by trigger group, and emits a {@link TransferJobExecutionEvent} per execution.
+ */
+@Component
+public class TransferJobMetricsListener implements JobListener, TriggerListener {
+
+    public static final String NAME = "transfer-job-metrics-listener";
+
+    private static final String EVENT_KEY = TransferJobExecutionEvent.class.getName();
+
+    private final MeterRegistry meterRegistry;
+
+    public TransferJobMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void jobToBeExecuted(JobExecutionContext context) {
+        if (!isTransferJob(context)) {
+            return;
+        }
+        TransferJobExecutionEvent event = new TransferJobExecutionEvent();
+        event.begin();
+        context.put(EVENT_KEY, event);
+    }
+
+    @Override
+    public void jobWasExecuted(JobExecutionContext context, JobExecutionException jobException) {
+        if (!isTransferJob(context)) {
+            return;
+        }
+        String triggerGroup = context.getTrigger().getKey().getGroup();
+        String outcome = jobException == null ? "success" : "failure";
+        long lagMillis = Math.max(0, context.getFireTime().getTime() - context.getScheduledFireTime().getTime());
+
+        Timer.builder("transfer.job.lag")
+                .description("Delay between a transfer's scheduled fire time and the start of its execution")
+                .tag("group", triggerGroup)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofMillis(lagMillis));
+        Timer.builder("transfer.job.duration")
+                .description("Execution time of scheduled transfer jobs")
+                .tag("group", triggerGroup)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(Duration.ofMillis(context.getJobRunTime()));
+
+        Object stored = context.get(EVENT_KEY);
+        if (stored instanceof TransferJobExecutionEvent event) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.jobName = context.getJobDetail().getKey().getName();
+                event.triggerGroup = triggerGroup;
+                event.scheduledFireTime = context.getScheduledFireTime().getTime();
+                event.lag = lagMillis;
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    @Override
+    public void jobExecutionVetoed(JobExecutionContext context) {
+    }
+
+    @Override
+    public void triggerMisfired(Trigger trigger) {
+        if (!TransferFundsJob.JOB_GROUP.equals(trigger.getJobKey().getGroup())) {
+            return;
+        }
+        Counter.builder("transfer.job.misfires")
+                .description("Scheduled transfer triggers that missed their fire time")
+                .tag("group", trigger.getKey().getGroup())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @Override
+    public void triggerFired(Trigger trigger, JobExecutionContext context) {
+    }
+
+    @Override
+    public boolean vetoJobExecution(Trigger trigger, JobExecutionContext context) {
+        return false;
+    }
+
+    @Override
+    public void triggerComplete(Trigger trigger, JobExecutionContext context, Trigger.CompletedExecutionInstruction triggerInstructionCode) {
+    }
+
+    private boolean isTransferJob(JobExecutionContext context) {
+        return TransferFundsJob.JOB_GROUP.equals(context.getJobDetail().getKey().getGroup());
+    }
+}
@@ -0,0 +1,32 @@
+package com.lloyds.transaction.service.quartz;
+
+import com.lloyds.transaction.service.preflight.TransferPreflightService;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.quartz.SchedulerException;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+/**
+ * Periodically pre-flight checks the transfers about to fire. One node runs it at a time.
+ */
+@Slf4j
+@DisallowConcurrentExecution
+public class TransferPreflightJob extends QuartzJobBean {
+
+    public static final String JOB_NAME = "transfer-preflight";
+    public static final String JOB_GROUP = "preflight-jobs";
+
+    @Override
+    public void executeInternal(JobExecutionContext context) {
+        TransferPreflightService transferPreflightService;
+
+        try {
+            transferPreflightService = (TransferPreflightService) context.getScheduler().getContext().get("transferPreflightService");
+        } catch (SchedulerException e) {
+            throw new com.lloyds.transaction.exception.SchedulerException("Failed to load transfer pre-flight service: " + e.getMessage());
+        }
+
+        transferPreflightService.preflight();
+    }
+}
@@ -0,0 +1,33 @@
+package com.lloyds.transaction.service.quartz;
+
+import com.lloyds.transaction.service.sweeper.TransferSweeper;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.quartz.SchedulerException;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+/**
+ * The one recurring trigger behind the sweeper engine. Concurrent execution is disallowed so that,
+ * in a cluster, only one node sweeps at a time; SKIP LOCKED keeps overlapping sweeps safe regardless.
+ */
+@Slf4j
+@DisallowConcurrentExecution
+public class TransferSweeperJob extends QuartzJobBean {
+
+    public static final String JOB_NAME = "transfer-sweeper";
+    public static final String JOB_GROUP = "sweeper-jobs";
+
+    @Override
+    public void executeInternal(JobExecutionContext context) {
+        TransferSweeper transferSweeper;
+
+        try {
+            transferSweeper = (TransferSweeper) context.getScheduler().getContext().get("transferSweeper");
+        } catch (SchedulerException e) {
+            throw new com.lloyds.transaction.exception.SchedulerException("Failed to load transfer sweeper: " + e.getMessage());
+        }
+
+        transferSweeper.sweep();
+    }
+}
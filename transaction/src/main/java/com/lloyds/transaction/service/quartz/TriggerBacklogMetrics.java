@@ -0,0 +1,72 @@
+package com.lloyds.transaction.service.quartz;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Gauges the number of transfer triggers that are due but have not fired yet, per trigger group.
+ * Counts come straight from the job store and are cached briefly so frequent scrapes cost one query
+ * per group per refresh interval.
+ */
+@Slf4j
+@Component
+public class TriggerBacklogMetrics {
+
+    static final List<String> TRIGGER_GROUPS = List.of("transfer-triggers", "recurring-transfer-triggers");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String countSql;
+    private final String schedulerName;
+    private final long refreshIntervalMs;
+    private final ConcurrentMap<String, Sample> samples = new ConcurrentHashMap<>();
+
+    public TriggerBacklogMetrics(JdbcTemplate jdbcTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${spring.quartz.properties.org.quartz.jobStore.tablePrefix}") String tablePrefix,
+                                 @Value("${spring.quartz.properties.org.quartz.scheduler.instanceName}") String schedulerName,
+                                 @Value("${transfer.scheduler.metrics.backlog-refresh-ms:15000}") long refreshIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.countSql = "SELECT COUNT(*) FROM " + tablePrefix + "TRIGGERS WHERE SCHED_NAME = ? AND TRIGGER_GROUP = ? " +
+                "AND TRIGGER_STATE = 'WAITING' AND NEXT_FIRE_TIME <= ?";
+        this.schedulerName = schedulerName;
+        this.refreshIntervalMs = refreshIntervalMs;
+
+        for (String group : TRIGGER_GROUPS) {
+            Gauge.builder("transfer.trigger.backlog", this, metrics -> metrics.backlog(group))
+                    .description("Transfer triggers past their fire time that have not been acquired yet")
+                    .tag("group", group)
+                    .register(meterRegistry);
+        }
+    }
+
+    double backlog(String group) {
+        long now = System.currentTimeMillis();
+        Sample sample = samples.get(group);
+        if (sample == null || now - sample.takenAt() >= refreshIntervalMs) {
+            sample = new Sample(now, count(group, now));
+            samples.put(group, sample);
+        }
+        return sample.value();
+    }
+
+    private double count(String group, long now) {
+        try {
+            Long count = jdbcTemplate.queryForObject(countSql, Long.class, schedulerName, group, now);
+            return count != null ? count : 0;
+        } catch (Exception e) {
+            log.warn("Failed to count trigger backlog for group {}: {}", group, e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    private record Sample(long takenAt, double value) {
+    }
+}
@@ -0,0 +1,330 @@
+package com.lloyds.transaction.service.recovery;
+
+import com.lloyds.transaction.entity.RecoveryQueueEntry;
+import com.lloyds.transaction.entity.ScheduledTransfer;
+import com.lloyds.transaction.repository.RecoveryQueueRepository;
+import com.lloyds.transaction.repository.ScheduledTransferRepository;
+import com.lloyds.transaction.service.ScheduledTransferExecutor;
+import com.lloyds.transaction.service.quartz.TransferFundsJob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.Trigger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catch-up path for misfired scheduled transfers. Instead of letting every overdue trigger fire at once
+ * after an outage, missed occurrences are queued in transfer_recovery_queue and drained oldest first
+ * under a fixed rate and a bounded number of concurrent executions. The same worker drains the retries
+ * queued by {@link TransferRetryQueue}, so a recovering account service is never hit by a retry storm.
+ * <p>
+ * A trigger that skips its missed fire time leaves its scheduled_transfer row pending with that fire time
+ * in the past, so the rows themselves are the durable record of a misfire: each drain first queues the
+ * occurrences of such rows that no trigger will fire any more.
+ */
+@Slf4j
+@Service
+public class MisfireRecoveryService {
+
+    private final RecoveryQueueRepository recoveryQueueRepository;
+    private final ScheduledTransferRepository scheduledTransferRepository;
+    private final ScheduledTransferExecutor scheduledTransferExecutor;
+    private final TransferRetryQueue transferRetryQueue;
+    private final TransactionTemplate transactionTemplate;
+    private final RateLimiter rateLimiter;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maxBatchesPerDrain;
+    private final Duration claimTimeout;
+    private final Duration reconcileGrace;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter queuedCounter;
+    private final Counter succeededCounter;
+    private final Counter failedCounter;
+    private final Counter retriedCounter;
+
+    public MisfireRecoveryService(RecoveryQueueRepository recoveryQueueRepository,
+                                  ScheduledTransferRepository scheduledTransferRepository,
+                                  ScheduledTransferExecutor scheduledTransferExecutor,
+                                  TransferRetryQueue transferRetryQueue,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${transfer.scheduler.misfire.rate-per-second:10}") double ratePerSecond,
+                                  @Value("${transfer.scheduler.misfire.concurrency:4}") int concurrency,
+                                  @Value("${transfer.scheduler.misfire.batch-size:50}") int batchSize,
+                                  @Value("${transfer.scheduler.misfire.max-batches-per-drain:20}") int maxBatchesPerDrain,
+                                  @Value("${transfer.scheduler.misfire.claim-timeout-ms:600000}") long claimTimeoutMs,
+                                  @Value("${transfer.scheduler.misfire.reconcile-grace-ms:120000}") long reconcileGraceMs) {
+        this.recoveryQueueRepository = recoveryQueueRepository;
+        this.scheduledTransferRepository = scheduledTransferRepository;
+        this.scheduledTransferExecutor = scheduledTransferExecutor;
+        this.transferRetryQueue = transferRetryQueue;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rateLimiter = new RateLimiter(ratePerSecond);
+        this.executor = Executors.newFixedThreadPool(concurrency, new CustomizableThreadFactory("misfire-recovery-"));
+        this.batchSize = batchSize;
+        this.maxBatchesPerDrain = maxBatchesPerDrain;
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMs);
+        this.reconcileGrace = Duration.ofMillis(reconcileGraceMs);
+
+        Gauge.builder("transfer.misfire.recovery.backlog", backlog, AtomicLong::get)
+                .description("Misfired transfer occurrences waiting to be drained")
+                .register(meterRegistry);
+        this.queuedCounter = Counter.builder("transfer.misfire.recovery.queued")
+                .description("Misfired transfer occurrences added to the recovery queue")
+                .register(meterRegistry);
+        this.succeededCounter = drainedCounter(meterRegistry, "success");
+        this.failedCounter = drainedCounter(meterRegistry, "failure");
+        this.retriedCounter = drainedCounter(meterRegistry, "retry");
+    }
+
+    private static Counter drainedCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("transfer.misfire.recovery.drained")
+                .description("Misfired transfer occurrences executed from the recovery queue")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the occurrences Quartz skipped on misfire. A pending Quartz-engine row whose next fire time passed
+     * more than the grace period ago, while no trigger of its job is still due at or before that time, missed
+     * that occurrence; the row is then moved on to the job's next fire time. The grace period outlasts the
+     * Quartz misfire threshold, so an occurrence that fired late and is about to claim its row is left alone.
+     * @return the number of occurrences queued
+     */
+    public int queueSkippedOccurrences(Scheduler scheduler) {
+        List<ScheduledTransfer> overdue = scheduledTransferRepository.findOverdue(ScheduledTransfer.Engine.QUARTZ,
+                ScheduledTransfer.Status.PENDING, Instant.now().minus(reconcileGrace), PageRequest.of(0, batchSize));
+        int queued = 0;
+        for (ScheduledTransfer scheduledTransfer : overdue) {
+            Instant missedFireTime = scheduledTransfer.getNextFireTime();
+            Date nextFireTime = nextFireTime(scheduler, scheduledTransfer.getJobName());
+            if (nextFireTime != null && !nextFireTime.toInstant().isAfter(missedFireTime)) {
+                // Still due; Quartz has not got to it yet
+                continue;
+            }
+            if (enqueue(scheduledTransfer, Date.from(missedFireTime))) {
+                queued++;
+            }
+            transactionTemplate.execute(status -> scheduledTransferRepository.skipOccurrence(scheduledTransfer.getId(),
+                    ScheduledTransfer.Status.PENDING, missedFireTime, nextFireTime != null ? nextFireTime.toInstant() : null));
+        }
+        return queued;
+    }
+
+    private static Date nextFireTime(Scheduler scheduler, String jobName) {
+        try {
+            Date nextFireTime = null;
+            for (Trigger trigger : scheduler.getTriggersOfJob(JobKey.jobKey(jobName, TransferFundsJob.JOB_GROUP))) {
+                Date next = trigger.getNextFireTime();
+                if (next != null && (nextFireTime == null || next.before(nextFireTime))) {
+                    nextFireTime = next;
+                }
+            }
+            return nextFireTime;
+        } catch (SchedulerException e) {
+            throw new com.lloyds.transaction.exception.SchedulerException("Failed to read the triggers of job " + jobName + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Queues the occurrence of a Quartz transfer job that was due at {@code missedFireTime}.
+     * Queuing the same occurrence twice is a no-op.
+     * @return whether the occurrence was newly queued
+     */
+    boolean enqueue(ScheduledTransfer scheduledTransfer, Date missedFireTime) {
+        Instant now = Instant.now();
+        RecoveryQueueEntry entry = new RecoveryQueueEntry();
+        entry.setScheduledTransferId(scheduledTransfer.getId());
+        entry.setReason(RecoveryQueueEntry.Reason.MISFIRE);
+        entry.setScheduledFireTime(missedFireTime != null ? missedFireTime.toInstant() : now);
+        entry.setNotBefore(now);
+        entry.setCreatedAt(now);
+
+        try {
+            recoveryQueueRepository.save(entry);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Misfired occurrence of job {} at {} is already queued", scheduledTransfer.getJobName(), entry.getScheduledFireTime());
+            return false;
+        }
+        queuedCounter.increment();
+        backlog.incrementAndGet();
+        log.info("Queued misfired transfer {} due at {} for recovery", entry.getScheduledTransferId(), entry.getScheduledFireTime());
+        return true;
+    }
+
+    /**
+     * Claims and executes queued occurrences until the queue is empty or the per-drain batch limit is reached.
+     * @return the number of occurrences executed
+     */
+    public int drain() {
+        expireClaims();
+
+        int drained = 0;
+        for (int i = 0; i < maxBatchesPerDrain; i++) {
+            List<RecoveryQueueEntry> batch = claimBatch();
+            if (batch.isEmpty()) {
+                break;
+            }
+            if (!executeBatch(batch)) {
+                break;
+            }
+            drained += batch.size();
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        refreshBacklog();
+        if (drained > 0) {
+            log.info("Drained {} misfired or retried transfers from the recovery queue", drained);
+        }
+        return drained;
+    }
+
+    List<RecoveryQueueEntry> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<RecoveryQueueEntry> ready = recoveryQueueRepository.lockReadyEntries(now, batchSize);
+            for (RecoveryQueueEntry entry : ready) {
+                entry.setStatus(RecoveryQueueEntry.Status.IN_PROGRESS);
+                entry.setClaimedAt(now);
+                entry.setAttempts(entry.getAttempts() + 1);
+            }
+            return recoveryQueueRepository.saveAll(ready);
+        });
+    }
+
+    /**
+     * Submits the batch in order, one permit per entry, and waits for it to finish.
+     * @return false if the drain was interrupted
+     */
+    private boolean executeBatch(List<RecoveryQueueEntry> batch) {
+        List<Future<?>> futures = new ArrayList<>(batch.size());
+        try {
+            for (RecoveryQueueEntry entry : batch) {
+                rateLimiter.acquire();
+                futures.add(executor.submit(() -> execute(entry)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Misfire recovery interrupted; unstarted entries will be failed once their claim expires");
+            return false;
+        } catch (ExecutionException e) {
+            log.error("Misfire recovery task failed: {}", e.getCause().getMessage(), e.getCause());
+            return true;
+        }
+    }
+
+    void execute(RecoveryQueueEntry entry) {
+        try {
+            ScheduledTransfer scheduledTransfer = scheduledTransferExecutor.load(entry.getScheduledTransferId());
+            if (!isRunnable(entry, scheduledTransfer)) {
+                // Finished or cancelled through another path since the occurrence was queued
+                entry.setLastError("Scheduled transfer is " + scheduledTransfer.getStatus());
+            } else if (!claimIfWaiting(scheduledTransfer)) {
+                entry.setLastError("Scheduled transfer was cancelled or started elsewhere before this run");
+            } else {
+                log.info("Recovering {} transfer {} due at {}, attempt {}", entry.getReason(), scheduledTransfer.getId(),
+                        entry.getScheduledFireTime(), entry.getAttempts());
+                try {
+                    scheduledTransferExecutor.execute(scheduledTransfer, failure -> transferRetryQueue.requeue(entry, failure));
+                } finally {
+                    scheduledTransferExecutor.release(scheduledTransfer);
+                }
+            }
+            entry.setStatus(RecoveryQueueEntry.Status.DONE);
+            succeededCounter.increment();
+        } catch (Exception e) {
+            if (entry.getStatus() == RecoveryQueueEntry.Status.QUEUED) {
+                // Put back on the queue with a longer backoff
+                retriedCounter.increment();
+            } else {
+                log.error("Recovery of scheduled transfer {} failed: {}", entry.getScheduledTransferId(), e.getMessage(), e);
+                entry.setStatus(RecoveryQueueEntry.Status.FAILED);
+                entry.setLastError(e.getMessage());
+                failedCounter.increment();
+            }
+        }
+        if (entry.getStatus() != RecoveryQueueEntry.Status.QUEUED) {
+            entry.setCompletedAt(Instant.now());
+        }
+        recoveryQueueRepository.save(entry);
+    }
+
+    /**
+     * A one-time transfer still runs while pending or waiting for a retry. A recurring series may have ended
+     * while the retry of its last occurrence was queued; that retry still runs unless the series was cancelled.
+     */
+    private boolean isRunnable(RecoveryQueueEntry entry, ScheduledTransfer scheduledTransfer) {
+        ScheduledTransfer.Status status = scheduledTransfer.getStatus();
+        if (status == ScheduledTransfer.Status.PENDING || status == ScheduledTransfer.Status.RETRYING) {
+            return true;
+        }
+        return entry.getReason() == RecoveryQueueEntry.Reason.RETRY
+                && scheduledTransfer.getRecurrencePattern() != null
+                && status == ScheduledTransfer.Status.COMPLETED;
+    }
+
+    /**
+     * A transfer waiting to run is claimed first, so a cancellation that lands after it was loaded either wins,
+     * and the run is skipped, or is refused because the run has started. A recurring series whose last
+     * occurrence is being retried has nothing left to cancel and runs unclaimed.
+     */
+    private boolean claimIfWaiting(ScheduledTransfer scheduledTransfer) {
+        ScheduledTransfer.Status status = scheduledTransfer.getStatus();
+        if (status != ScheduledTransfer.Status.PENDING && status != ScheduledTransfer.Status.RETRYING) {
+            return true;
+        }
+        return scheduledTransferExecutor.claim(scheduledTransfer);
+    }
+
+    /**
+     * Same policy as the sweeper: a stale claim may or may not have executed, so it is marked unreconciled,
+     * not failed or retried.
+     */
+    private void expireClaims() {
+        Instant now = Instant.now();
+        Integer expired = transactionTemplate.execute(status -> recoveryQueueRepository.expireClaims(
+                RecoveryQueueEntry.Status.IN_PROGRESS, RecoveryQueueEntry.Status.UNRECONCILED,
+                "Claim expired before completion", now.minus(claimTimeout), now));
+        if (expired != null && expired > 0) {
+            log.warn("Marked {} recovery entries with expired claims as unreconciled", expired);
+        }
+    }
+
+    private void refreshBacklog() {
+        backlog.set(recoveryQueueRepository.countByStatus(RecoveryQueueEntry.Status.QUEUED));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,40 @@
+package com.lloyds.transaction.service.recovery;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces permits evenly at a fixed rate. Each caller reserves the next free slot and sleeps until it
+ * arrives, so bursts are never granted after an idle period. A rate of zero or less means unlimited.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private long nextPermitNanos;
+
+    public RateLimiter(double permitsPerSecond) {
+        this.intervalNanos = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0L;
+        this.nextPermitNanos = System.nanoTime();
+    }
+
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve(System.nanoTime());
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Reserves the next permit and returns how long the caller must wait for it, in nanoseconds.
+     */
+    synchronized long reserve(long nowNanos) {
+        if (intervalNanos == 0) {
+            return 0L;
+        }
+        if (nowNanos - nextPermitNanos > 0) {
+            nextPermitNanos = nowNanos;
+        }
+        long waitNanos = nextPermitNanos - nowNanos;
+        nextPermitNanos += intervalNanos;
+        return waitNanos;
+    }
+}
@@ -0,0 +1,62 @@
+package com.lloyds.transaction.service.recovery;
+
+import com.lloyds.transaction.exception.AccountServiceUnavailableException;
+import com.lloyds.transaction.exception.LaneCapacityExceededException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which failed transfer occurrences are retried and when. Only failures raised before any balance
+ * was written are retried; anything later could already have debited the sender. Delays grow exponentially
+ * up to a cap, with jitter so occurrences that failed together do not retry together.
+ */
+@Component
+public class TransferRetryPolicy {
+
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final double multiplier;
+    private final long maxBackoffMs;
+
+    public TransferRetryPolicy(@Value("${transfer.scheduler.retry.enabled:false}") boolean enabled,
+                               @Value("${transfer.scheduler.retry.max-attempts:5}") int maxAttempts,
+                               @Value("${transfer.scheduler.retry.initial-backoff-ms:30000}") long initialBackoffMs,
+                               @Value("${transfer.scheduler.retry.multiplier:2.0}") double multiplier,
+                               @Value("${transfer.scheduler.retry.max-backoff-ms:3600000}") long maxBackoffMs) {
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("Retry backoff multiplier must be at least 1");
+        }
+        this.enabled = enabled;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.multiplier = multiplier;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public boolean isRetryable(Throwable failure) {
+        return enabled && (failure instanceof AccountServiceUnavailableException
+                || failure instanceof LaneCapacityExceededException);
+    }
+
+    /**
+     * Delay before the next execution, after {@code attempts} executions have failed. Drawn uniformly
+     * from the upper half of the exponential delay.
+     */
+    public Duration backoff(int attempts) {
+        double exponential = initialBackoffMs * Math.pow(multiplier, Math.max(0, attempts - 1));
+        long capped = (long) Math.min(exponential, maxBackoffMs);
+        return Duration.ofMillis(capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1));
+    }
+}
@@ -0,0 +1,113 @@
+package com.lloyds.transaction.service.recovery;
+
+import com.lloyds.transaction.entity.DeadLetterTransfer;
+import com.lloyds.transaction.entity.RecoveryQueueEntry;
+import com.lloyds.transaction.entity.ScheduledTransfer;
+import com.lloyds.transaction.repository.DeadLetterTransferRepository;
+import com.lloyds.transaction.repository.RecoveryQueueRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+/**
+ * Puts transiently failed transfer occurrences on transfer_recovery_queue with reason RETRY, where
+ * {@link MisfireRecoveryService} drains them at its limited rate. Occurrences that use up
+ * {@link TransferRetryPolicy#getMaxAttempts()} are moved to transfer_dead_letter.
+ */
+@Slf4j
+@Service
+public class TransferRetryQueue {
+
+    private final RecoveryQueueRepository recoveryQueueRepository;
+    private final DeadLetterTransferRepository deadLetterTransferRepository;
+    private final TransferRetryPolicy retryPolicy;
+    private final Counter queuedCounter;
+    private final Counter deadLetteredCounter;
+
+    public TransferRetryQueue(RecoveryQueueRepository recoveryQueueRepository,
+                              DeadLetterTransferRepository deadLetterTransferRepository,
+                              TransferRetryPolicy retryPolicy,
+                              MeterRegistry meterRegistry) {
+        this.recoveryQueueRepository = recoveryQueueRepository;
+        this.deadLetterTransferRepository = deadLetterTransferRepository;
+        this.retryPolicy = retryPolicy;
+        this.queuedCounter = Counter.builder("transfer.retry.queued")
+                .description("Failed transfer occurrences queued for a retry")
+                .register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder("transfer.retry.dead-lettered")
+                .description("Transfer occurrences given up on after the maximum number of attempts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues the first retry of an occurrence that failed on its regular execution.
+     * @return true if a retry is queued, false if the failure is final
+     */
+    public boolean offer(ScheduledTransfer scheduledTransfer, Instant scheduledFireTime, RuntimeException failure) {
+        if (!retryPolicy.isRetryable(failure) || retryPolicy.getMaxAttempts() <= 1) {
+            return false;
+        }
+
+        Instant now = Instant.now();
+        RecoveryQueueEntry entry = new RecoveryQueueEntry();
+        entry.setScheduledTransferId(scheduledTransfer.getId());
+        entry.setReason(RecoveryQueueEntry.Reason.RETRY);
+        entry.setScheduledFireTime(scheduledFireTime != null ? scheduledFireTime : now);
+        // The regular execution counts as the first attempt
+        entry.setAttempts(1);
+        entry.setNotBefore(now.plus(retryPolicy.backoff(1)));
+        entry.setLastError(failure.getMessage());
+        entry.setCreatedAt(now);
+
+        try {
+            recoveryQueueRepository.save(entry);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Retry of scheduled transfer {} at {} is already queued", scheduledTransfer.getId(), entry.getScheduledFireTime());
+            return true;
+        }
+        queuedCounter.increment();
+        log.warn("Scheduled transfer {} failed transiently, retrying after {}: {}", scheduledTransfer.getId(),
+                entry.getNotBefore(), failure.getMessage());
+        return true;
+    }
+
+    /**
+     * Puts a claimed entry whose execution failed back on the queue with a longer backoff, or moves it to
+     * the dead-letter table once it has used all its attempts. The caller saves the entry.
+     * @return true if the entry is queued again, false if the failure is final
+     */
+    public boolean requeue(RecoveryQueueEntry entry, RuntimeException failure) {
+        if (!retryPolicy.isRetryable(failure)) {
+            return false;
+        }
+        if (entry.getAttempts() >= retryPolicy.getMaxAttempts()) {
+            deadLetter(entry, failure);
+            return false;
+        }
+
+        entry.setStatus(RecoveryQueueEntry.Status.QUEUED);
+        entry.setClaimedAt(null);
+        entry.setNotBefore(Instant.now().plus(retryPolicy.backoff(entry.getAttempts())));
+        entry.setLastError(failure.getMessage());
+        log.warn("Scheduled transfer {} failed transiently on attempt {}, retrying after {}: {}",
+                entry.getScheduledTransferId(), entry.getAttempts(), entry.getNotBefore(), failure.getMessage());
+        return true;
+    }
+
+    private void deadLetter(RecoveryQueueEntry entry, RuntimeException failure) {
+        DeadLetterTransfer deadLetter = new DeadLetterTransfer();
+        deadLetter.setScheduledTransferId(entry.getScheduledTransferId());
+        deadLetter.setScheduledFireTime(entry.getScheduledFireTime());
+        deadLetter.setAttempts(entry.getAttempts());
+        deadLetter.setLastError(failure.getMessage());
+        deadLetter.setCreatedAt(Instant.now());
+        deadLetterTransferRepository.save(deadLetter);
+        deadLetteredCounter.increment();
+        log.error("Scheduled transfer {} dead-lettered after {} attempts: {}", entry.getScheduledTransferId(),
+                entry.getAttempts(), failure.getMessage());
+    }
+}
@@ -0,0 +1,121 @@
+package com.lloyds.transaction.service.redis;
+
+import com.lloyds.transaction.exception.CircuitBreakerOpenException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisClientConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import redis.clients.jedis.JedisPoolConfig;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Redis client used only for the per-request blacklist check. It has its own small connection pool with
+ * millisecond timeouts, instead of the shared client and its long timeout, and sits behind a circuit breaker,
+ * so a slow or unreachable Redis costs a request at most a few milliseconds and, once the breaker is open,
+ * nothing at all. It connects with the same SSL setting and client name as the shared client.
+ */
+@Slf4j
+@Component
+public class BlacklistRedisClient implements InitializingBean, DisposableBean {
+
+    private final JedisConnectionFactory connectionFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final Counter successes;
+    private final Counter failures;
+    private final Counter rejections;
+
+    public BlacklistRedisClient(RedisProperties redisProperties,
+                                MeterRegistry meterRegistry,
+                                @Value("${token.blacklist.redis.connect-timeout-ms:50}") long connectTimeoutMs,
+                                @Value("${token.blacklist.redis.read-timeout-ms:50}") long readTimeoutMs,
+                                @Value("${token.blacklist.redis.pool.max-total:32}") int poolMaxTotal,
+                                @Value("${token.blacklist.redis.pool.max-wait-ms:20}") long poolMaxWaitMs,
+                                @Value("${token.blacklist.redis.breaker.failure-threshold:5}") int failureThreshold,
+                                @Value("${token.blacklist.redis.breaker.open-ms:5000}") long openMs) {
+        RedisStandaloneConfiguration server = new RedisStandaloneConfiguration(redisProperties.getHost(), redisProperties.getPort());
+        server.setDatabase(redisProperties.getDatabase());
+        server.setUsername(redisProperties.getUsername());
+        server.setPassword(redisProperties.getPassword());
+
+        JedisPoolConfig pool = new JedisPoolConfig();
+        pool.setMaxTotal(poolMaxTotal);
+        pool.setMaxIdle(poolMaxTotal);
+        pool.setMaxWait(Duration.ofMillis(poolMaxWaitMs));
+
+        JedisClientConfiguration.JedisClientConfigurationBuilder client = JedisClientConfiguration.builder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .readTimeout(Duration.ofMillis(readTimeoutMs));
+        if (redisProperties.getSsl().isEnabled()) {
+            client.useSsl();
+        }
+        if (redisProperties.getClientName() != null) {
+            client.clientName(redisProperties.getClientName());
+        }
+        client.usePooling().poolConfig(pool);
+
+        this.connectionFactory = new JedisConnectionFactory(server, client.build());
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.circuitBreaker = new CircuitBreaker("token-blacklist-redis", failureThreshold, openMs, System::currentTimeMillis);
+
+        this.successes = callCounter(meterRegistry, "success");
+        this.failures = callCounter(meterRegistry, "failure");
+        this.rejections = callCounter(meterRegistry, "rejected");
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            Gauge.builder("token.blacklist.redis.breaker.state", circuitBreaker, breaker -> breaker.getState() == state ? 1 : 0)
+                    .description("1 for the state the blacklist Redis circuit breaker is in, 0 otherwise")
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("token.blacklist.redis.calls")
+                .description("Blacklist lookups against Redis, including those the open breaker rejected")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws CircuitBreakerOpenException if the breaker is open
+     * @throws org.springframework.dao.DataAccessException if Redis fails or times out
+     */
+    public boolean hasKey(String key) {
+        if (!circuitBreaker.tryAcquire()) {
+            rejections.increment();
+            throw new CircuitBreakerOpenException("Blacklist Redis circuit breaker is open");
+        }
+        try {
+            boolean present = Boolean.TRUE.equals(redisTemplate.hasKey(key));
+            circuitBreaker.onSuccess();
+            successes.increment();
+            return present;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            failures.increment();
+            throw e;
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @Override
+    public void destroy() {
+        connectionFactory.destroy();
+    }
+}
@@ -0,0 +1,101 @@
+package com.lloyds.transaction.service.redis;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter of strings, safe for concurrent adds and lookups. Sized up front for an expected
+ * number of entries and false-positive rate, so memory stays the same however many entries are added; past the
+ * expected count the false-positive rate climbs instead, which {@link #estimatedFalsePositiveRate()} reports.
+ */
+public class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLong entries = new AtomicLong();
+
+    public BloomFilter(long expectedEntries, double falsePositiveRate) {
+        if (expectedEntries <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Bloom filter needs expected entries > 0 and a false-positive rate in (0, 1)");
+        }
+        long bits = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (LN2 * LN2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedEntries * LN2));
+    }
+
+    public void put(String value) {
+        long h1 = hash(value);
+        long h2 = fmix64(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            changed |= setBit(Math.floorMod(h1 + i * h2, bitCount));
+        }
+        if (changed) {
+            entries.incrementAndGet();
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = fmix64(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Distinct entries added so far (approximate: an entry whose bits were all set already is not counted).
+     */
+    public long entries() {
+        return entries.get();
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public double estimatedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-(double) hashCount * entries.get() / bitCount), hashCount);
+    }
+
+    private boolean setBit(long bit) {
+        int index = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long word;
+        do {
+            word = words.get(index);
+            if ((word & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(index, word, word | mask));
+        return true;
+    }
+
+    // FNV-1a over the characters, finished with the MurmurHash3 mixer
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return fmix64(h);
+    }
+
+    private static long fmix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53e6f23L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
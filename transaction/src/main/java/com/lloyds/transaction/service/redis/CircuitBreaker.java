@@ -0,0 +1,91 @@
+package com.lloyds.transaction.service.redis;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker. Opens after {@code failureThreshold} failures in a row and rejects calls
+ * for {@code openMs}; then lets a single trial call through (half-open), which closes the breaker on success
+ * and reopens it on failure.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMs;
+    private final LongSupplier clock;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(String name, int failureThreshold, long openMs, LongSupplier clock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+        this.clock = clock;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Whether a call may go ahead. Every permitted call must be followed by {@link #onSuccess} or {@link #onFailure}.
+     */
+    public boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN && clock.getAsLong() - openedAt >= openMs) {
+                transition(State.HALF_OPEN);
+                trialInFlight = false;
+            }
+            if (state == State.HALF_OPEN && !trialInFlight) {
+                trialInFlight = true;
+                return true;
+            }
+            return state == State.CLOSED;
+        }
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state != State.CLOSED) {
+            synchronized (this) {
+                trialInFlight = false;
+                transition(State.CLOSED);
+            }
+        }
+    }
+
+    public void onFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= failureThreshold)) {
+            synchronized (this) {
+                if (state != State.OPEN) {
+                    openedAt = clock.getAsLong();
+                    trialInFlight = false;
+                    transition(State.OPEN);
+                }
+            }
+        }
+    }
+
+    private void transition(State next) {
+        if (state != next) {
+            if (next == State.OPEN) {
+                log.warn("Circuit breaker {} {} -> {}, rejecting calls for {} ms", name, state, next, openMs);
+            } else {
+                log.warn("Circuit breaker {} {} -> {}", name, state, next);
+            }
+            state = next;
+        }
+    }
+}
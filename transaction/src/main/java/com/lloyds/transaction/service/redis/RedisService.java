@@ -1,25 +1,83 @@
 package com.lloyds.transaction.service.redis;
 
-import lombok.RequiredArgsConstructor;
+import com.lloyds.transaction.exception.CircuitBreakerOpenException;
+import com.lloyds.transaction.exception.TokenBlacklistUnavailableException;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+
 
-@RequiredArgsConstructor
 @Slf4j
 @Service
 public class RedisService {
 
-    private final RedisTemplate<String, String> redisTemplate;
+    /**
+     * What to do when Redis has to be asked but cannot answer: let the token through (the local filter and
+     * near-cache have already answered whatever they could) or refuse the request.
+     */
+    public enum DegradedPolicy { FAIL_OPEN, FAIL_CLOSED }
+
+    private final BlacklistRedisClient blacklistRedisClient;
+
+    private final TokenBlacklistNearCache nearCache;
+
+    private final RevokedJtiFilter revokedJtiFilter;
+
+    private final DegradedPolicy degradedPolicy;
+
+    public RedisService(BlacklistRedisClient blacklistRedisClient,
+                        TokenBlacklistNearCache nearCache,
+                        RevokedJtiFilter revokedJtiFilter,
+                        @Value("${token.blacklist.redis.degraded-policy:FAIL_OPEN}") DegradedPolicy degradedPolicy) {
+        this.blacklistRedisClient = blacklistRedisClient;
+        this.nearCache = nearCache;
+        this.revokedJtiFilter = revokedJtiFilter;
+        this.degradedPolicy = degradedPolicy;
+    }
 
     public boolean isTokenBlacklisted(String jti) {
+        return isTokenBlacklisted(jti, null);
+    }
+
+    /**
+     * @param tokenExpiresAt caps how long a "not blacklisted" answer is kept in the near-cache; null if unknown
+     * @throws TokenBlacklistUnavailableException if Redis cannot answer and the policy is fail-closed
+     */
+    public boolean isTokenBlacklisted(String jti, Instant tokenExpiresAt) {
+        if (jti == null) {
+            return false;
+        }
+        boolean filtered = revokedJtiFilter.isEnabled();
+        if (filtered && !revokedJtiFilter.mightBeRevoked(jti)) {
+            return false;
+        }
+        if (nearCache.isEnabled() && nearCache.isKnownNotBlacklisted(jti)) {
+            return false;
+        }
+        long revocationMark = nearCache.revocationMark();
         try {
-            return Boolean.TRUE.equals(redisTemplate.hasKey(jti));
+            boolean blacklisted = blacklistRedisClient.hasKey(jti);
+            if (!blacklisted && filtered) {
+                revokedJtiFilter.recordFalsePositive();
+            }
+            if (!blacklisted && nearCache.isEnabled()) {
+                nearCache.putNotBlacklisted(jti, tokenExpiresAt, revocationMark);
+            }
+            return blacklisted;
         } catch (Exception e) {
-            log.error("Redis is unavailable, checking local cache: {}", e.getMessage());
+            if (degradedPolicy == DegradedPolicy.FAIL_CLOSED) {
+                throw new TokenBlacklistUnavailableException("Token blacklist is unavailable", e);
+            }
+            if (e instanceof CircuitBreakerOpenException) {
+                // The breaker logs once when it opens; this repeats on every request until it closes
+                log.debug("Blacklist Redis circuit breaker is open, letting the token through unchecked");
+            } else {
+                // At most a few in a row before the breaker opens
+                log.warn("Blacklist check against Redis failed, letting the token through unchecked: {}", e.getMessage());
+            }
             return false;
         }
     }
 }
-
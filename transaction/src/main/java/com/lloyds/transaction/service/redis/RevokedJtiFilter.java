@@ -0,0 +1,219 @@
+package com.lloyds.transaction.service.redis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Local Bloom filter of revoked JTIs, so the blacklist check only asks Redis when the filter says a token might
+ * be revoked. Built by scanning the blacklist keys in Redis at startup, extended from the revocation channels as
+ * JTIs are revoked, and rebuilt on a timer so keys that have expired in Redis drop out again.
+ * <p>
+ * A revocation message missed while the channel subscription was down would leave the filter wrongly saying
+ * "not revoked", so a negative answer is only trusted while the revocation listener is subscribed and the
+ * filter was built less than the max trusted age ago. Otherwise, and until the first build has finished, every
+ * JTI counts as possibly revoked and Redis is asked.
+ */
+@Slf4j
+@Component
+public class RevokedJtiFilter implements MessageListener {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final boolean enabled;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final long rebuildIntervalMs;
+    private final String keyPattern;
+    private final long maxTrustedAgeMs;
+    private final LongSupplier clock;
+    private final ScheduledExecutorService timer =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("revoked-jti-filter-"));
+
+    private volatile BloomFilter current;
+    // When the scan that built the current filter started
+    private volatile long builtAt;
+    // Replaced by the revocation listener container once it exists; until then negatives are not trusted
+    private volatile BooleanSupplier subscribed = () -> false;
+    // Set while a rebuild scans Redis, so revocations arriving meanwhile reach the new filter as well
+    private volatile BloomFilter rebuilding;
+
+    private final Counter negativeLookups;
+    private final Counter positiveLookups;
+    private final Counter untrustedLookups;
+    private final Counter falsePositives;
+    private final Timer rebuilds;
+
+    public RevokedJtiFilter(RedisTemplate<String, String> redisTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${token.blacklist.bloom.enabled:false}") boolean enabled,
+                            @Value("${token.blacklist.bloom.expected-revocations:5000000}") long expectedRevocations,
+                            @Value("${token.blacklist.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${token.blacklist.bloom.rebuild-interval-ms:240000}") long rebuildIntervalMs,
+                            @Value("${token.blacklist.bloom.key-pattern:*}") String keyPattern,
+                            @Value("${token.blacklist.bloom.max-trusted-age-ms:300000}") long maxTrustedAgeMs) {
+        this(redisTemplate, meterRegistry, enabled, expectedRevocations, falsePositiveRate, rebuildIntervalMs,
+                keyPattern, maxTrustedAgeMs, System::currentTimeMillis);
+    }
+
+    RevokedJtiFilter(RedisTemplate<String, String> redisTemplate, MeterRegistry meterRegistry, boolean enabled,
+                     long expectedRevocations, double falsePositiveRate, long rebuildIntervalMs, String keyPattern,
+                     long maxTrustedAgeMs, LongSupplier clock) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildIntervalMs = rebuildIntervalMs;
+        this.keyPattern = keyPattern;
+        this.maxTrustedAgeMs = maxTrustedAgeMs;
+        this.clock = clock;
+        this.negativeLookups = lookupCounter(meterRegistry, "negative");
+        this.positiveLookups = lookupCounter(meterRegistry, "positive");
+        this.untrustedLookups = lookupCounter(meterRegistry, "untrusted");
+        this.falsePositives = Counter.builder("token.blacklist.bloom.false-positives")
+                .description("Filter hits that Redis then reported as not blacklisted")
+                .register(meterRegistry);
+        this.rebuilds = Timer.builder("token.blacklist.bloom.rebuild")
+                .description("Time taken to rebuild the filter from Redis")
+                .register(meterRegistry);
+        Gauge.builder("token.blacklist.bloom.false-positive-rate.configured", () -> falsePositiveRate)
+                .description("False-positive rate the filter is sized for")
+                .register(meterRegistry);
+        Gauge.builder("token.blacklist.bloom.false-positive-rate.estimated", this,
+                        filter -> filter.current != null ? filter.current.estimatedFalsePositiveRate() : 1.0)
+                .description("False-positive rate expected at the filter's current fill")
+                .register(meterRegistry);
+        Gauge.builder("token.blacklist.bloom.entries", this,
+                        filter -> filter.current != null ? filter.current.entries() : 0)
+                .description("Revoked JTIs in the filter")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("token.blacklist.bloom.lookups")
+                .description("Blacklist checks the filter ruled out (negative), passed on (positive), or could not "
+                        + "rule out because the filter was not trusted (untrusted)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            timer.scheduleWithFixedDelay(this::rebuildSafely, 0, rebuildIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Tells the filter whether the revocation channels are currently subscribed.
+     */
+    public void trackSubscription(BooleanSupplier subscribed) {
+        this.subscribed = subscribed;
+    }
+
+    /**
+     * False only if the JTI is certainly not revoked.
+     */
+    public boolean mightBeRevoked(String jti) {
+        BloomFilter filter = current;
+        if (filter != null && !filter.mightContain(jti)) {
+            if (isTrusted()) {
+                negativeLookups.increment();
+                return false;
+            }
+            untrustedLookups.increment();
+            return true;
+        }
+        positiveLookups.increment();
+        return true;
+    }
+
+    private boolean isTrusted() {
+        return subscribed.getAsBoolean() && clock.getAsLong() - builtAt <= maxTrustedAgeMs;
+    }
+
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    public void add(String jti) {
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(jti);
+        }
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(jti);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        add(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void rebuildSafely() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // Keep the timer alive and the previous filter in use
+            log.error("Failed to rebuild the revoked JTI filter: {}", e.getMessage(), e);
+        }
+    }
+
+    void rebuild() {
+        BloomFilter next = new BloomFilter(expectedRevocations, falsePositiveRate);
+        rebuilding = next;
+        try {
+            long startedAt = clock.getAsLong();
+            long start = System.nanoTime();
+            ScanOptions options = ScanOptions.scanOptions().match(keyPattern).count(1000).build();
+            redisTemplate.execute((RedisCallback<Void>) connection -> {
+                try (Cursor<byte[]> keys = connection.keyCommands().scan(options)) {
+                    keys.forEachRemaining(key -> next.put(new String(key, StandardCharsets.UTF_8)));
+                }
+                return null;
+            });
+            // In this order a lookup racing with the swap can only judge the filter older than it is
+            current = next;
+            builtAt = startedAt;
+            rebuilds.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (next.entries() > expectedRevocations) {
+                log.warn("Revoked JTI filter holds {} entries, more than the {} it is sized for; false-positive rate is now {}",
+                        next.entries(), expectedRevocations, String.format("%.4f", next.estimatedFalsePositiveRate()));
+            } else {
+                log.info("Revoked JTI filter rebuilt with {} entries", next.entries());
+            }
+        } finally {
+            rebuilding = null;
+        }
+    }
+}
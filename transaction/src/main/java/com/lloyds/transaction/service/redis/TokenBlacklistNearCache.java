@@ -0,0 +1,158 @@
+package com.lloyds.transaction.service.redis;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * In-process cache of JTIs that Redis reported as not blacklisted, so repeat requests with the same token skip
+ * the Redis round trip. An entry lives for the negative TTL, never past the token's own expiry. Revocations
+ * arrive as Redis messages carrying the JTI (keyspace "set" events or a revocation channel) and drop the entry
+ * straight away; the TTL only bounds how stale the cache gets if such a message is missed. Since a missed message
+ * delays a revocation by up to the TTL, the cache is only used while the revocation listener is subscribed, and
+ * the TTL is kept short. The least recently used entry is evicted once the cache is full.
+ */
+@Slf4j
+@Component
+public class TokenBlacklistNearCache implements MessageListener {
+
+    private final boolean enabled;
+    private final long negativeTtlMs;
+    private final Map<String, Long> notBlacklistedUntil;
+    // Bumped on every revocation, so a Redis answer that raced with one is not cached
+    private final AtomicLong revocations = new AtomicLong();
+    // Replaced by the revocation listener container once it exists; until then nothing is cached
+    private volatile BooleanSupplier subscribed = () -> false;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter invalidations;
+
+    public TokenBlacklistNearCache(MeterRegistry meterRegistry,
+                                   @Value("${token.blacklist.near-cache.enabled:false}") boolean enabled,
+                                   @Value("${token.blacklist.near-cache.negative-ttl-ms:1000}") long negativeTtlMs,
+                                   @Value("${token.blacklist.near-cache.max-entries:100000}") int maxEntries) {
+        this.enabled = enabled;
+        this.negativeTtlMs = negativeTtlMs;
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.evictions = Counter.builder("token.blacklist.near-cache.evictions")
+                .description("Cached JTIs evicted because the cache was full")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("token.blacklist.near-cache.invalidations")
+                .description("Cached JTIs dropped because they were revoked")
+                .register(meterRegistry);
+        this.notBlacklistedUntil = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        Gauge.builder("token.blacklist.near-cache.size", this, TokenBlacklistNearCache::size)
+                .description("JTIs cached as not blacklisted")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("token.blacklist.near-cache.lookups")
+                .description("Blacklist checks answered by the near-cache (hit) or passed on to Redis (miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Tells the cache whether the revocation channels are currently subscribed.
+     */
+    public void trackSubscription(BooleanSupplier subscribed) {
+        this.subscribed = subscribed;
+    }
+
+    public boolean isKnownNotBlacklisted(String jti) {
+        if (!subscribed.getAsBoolean()) {
+            misses.increment();
+            return false;
+        }
+        boolean known;
+        synchronized (notBlacklistedUntil) {
+            Long until = notBlacklistedUntil.get(jti);
+            known = until != null && until > System.currentTimeMillis();
+            if (until != null && !known) {
+                notBlacklistedUntil.remove(jti);
+            }
+        }
+        if (known) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return known;
+    }
+
+    /**
+     * Taken before asking Redis and handed back to {@link #putNotBlacklisted}.
+     */
+    public long revocationMark() {
+        return revocations.get();
+    }
+
+    public void putNotBlacklisted(String jti, Instant tokenExpiresAt, long revocationMark) {
+        long now = System.currentTimeMillis();
+        long until = now + negativeTtlMs;
+        if (tokenExpiresAt != null) {
+            until = Math.min(until, tokenExpiresAt.toEpochMilli());
+        }
+        if (until <= now || !subscribed.getAsBoolean()) {
+            return;
+        }
+        synchronized (notBlacklistedUntil) {
+            // A revocation that landed while Redis was being asked may have been for this JTI; one landing
+            // after this check removes the entry again under the same lock
+            if (revocations.get() == revocationMark) {
+                notBlacklistedUntil.put(jti, until);
+            }
+        }
+    }
+
+    public void invalidate(String jti) {
+        revocations.incrementAndGet();
+        boolean removed;
+        synchronized (notBlacklistedUntil) {
+            removed = notBlacklistedUntil.remove(jti) != null;
+        }
+        if (removed) {
+            invalidations.increment();
+            log.info("Revoked token {} dropped from the blacklist near-cache", jti);
+        }
+    }
+
+    private int size() {
+        synchronized (notBlacklistedUntil) {
+            return notBlacklistedUntil.size();
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+}
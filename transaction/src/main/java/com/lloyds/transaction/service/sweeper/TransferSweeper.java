@@ -0,0 +1,171 @@
+package com.lloyds.transaction.service.sweeper;
+
+import com.lloyds.transaction.entity.ScheduledTransfer;
+import com.lloyds.transaction.repository.ScheduledTransferRepository;
+import com.lloyds.transaction.service.ScheduledTransferExecutor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Executes one-time transfers stored in the scheduled_transfer table. A single recurring Quartz job
+ * ({@link com.lloyds.transaction.service.quartz.TransferSweeperJob}) calls {@link #sweep()}, which claims
+ * due rows in batches with SKIP LOCKED and runs each batch in parallel.
+ */
+@Slf4j
+@Service
+public class TransferSweeper {
+
+    // Sweeps, besides its own rows, the rows stored before partitioning
+    private static final int UNASSIGNED_ROWS_PARTITION = 0;
+
+    private final ScheduledTransferRepository scheduledTransferRepository;
+    private final ScheduledTransferExecutor scheduledTransferExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maxBatchesPerSweep;
+    private final Duration claimTimeout;
+    private final String nodeId;
+
+    public TransferSweeper(ScheduledTransferRepository scheduledTransferRepository,
+                           ScheduledTransferExecutor scheduledTransferExecutor,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${transfer.scheduler.sweeper.batch-size:100}") int batchSize,
+                           @Value("${transfer.scheduler.sweeper.parallelism:16}") int parallelism,
+                           @Value("${transfer.scheduler.sweeper.max-batches-per-sweep:50}") int maxBatchesPerSweep,
+                           @Value("${transfer.scheduler.sweeper.claim-timeout-ms:600000}") long claimTimeoutMs) {
+        this.scheduledTransferRepository = scheduledTransferRepository;
+        this.scheduledTransferExecutor = scheduledTransferExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = Executors.newFixedThreadPool(parallelism, new CustomizableThreadFactory("transfer-sweeper-"));
+        this.batchSize = batchSize;
+        this.maxBatchesPerSweep = maxBatchesPerSweep;
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMs);
+        this.nodeId = resolveNodeId();
+    }
+
+    /**
+     * Claims and executes due transfers until none are left or the per-sweep batch limit is reached.
+     * @return the number of transfers executed
+     */
+    public int sweep() {
+        return sweep(now -> scheduledTransferRepository.lockDueTransfers(now, batchSize));
+    }
+
+    /**
+     * Partitioned mode: sweeps only the due transfers whose sender account hashes to one of {@code partitions}.
+     * The holder of partition 0 also sweeps rows stored before partitioning, which have no partition.
+     * @return the number of transfers executed
+     */
+    public int sweepPartitions(Collection<Integer> partitions) {
+        if (partitions.isEmpty()) {
+            return 0;
+        }
+        boolean includeUnassigned = partitions.contains(UNASSIGNED_ROWS_PARTITION);
+        return sweep(now -> scheduledTransferRepository.lockDueTransfersInPartitions(now, partitions, includeUnassigned, batchSize));
+    }
+
+    private int sweep(Function<Instant, List<ScheduledTransfer>> dueTransfers) {
+        expireClaims();
+
+        int executed = 0;
+        for (int i = 0; i < maxBatchesPerSweep; i++) {
+            List<ScheduledTransfer> batch = claimBatch(dueTransfers);
+            if (batch.isEmpty()) {
+                break;
+            }
+            executeBatch(batch);
+            executed += batch.size();
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        if (executed > 0) {
+            log.info("Sweep on node {} executed {} scheduled transfers", nodeId, executed);
+        }
+        return executed;
+    }
+
+    List<ScheduledTransfer> claimBatch(Function<Instant, List<ScheduledTransfer>> dueTransfers) {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<ScheduledTransfer> due = dueTransfers.apply(now);
+            for (ScheduledTransfer transfer : due) {
+                transfer.setStatus(ScheduledTransfer.Status.CLAIMED);
+                transfer.setClaimedBy(nodeId);
+                transfer.setClaimedAt(now);
+            }
+            return scheduledTransferRepository.saveAll(due);
+        });
+    }
+
+    private void executeBatch(List<ScheduledTransfer> batch) {
+        List<Callable<Void>> tasks = batch.stream()
+                .<Callable<Void>>map(transfer -> () -> {
+                    execute(transfer);
+                    return null;
+                })
+                .toList();
+        try {
+            executor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Sweep interrupted while executing a batch of {} transfers", batch.size());
+        }
+    }
+
+    void execute(ScheduledTransfer transfer) {
+        try {
+            log.info("Executing scheduled transfer {} for sender account: {}", transfer.getId(), transfer.getSenderAccountId());
+            scheduledTransferExecutor.executeWithRetry(transfer, transfer.getDueAt());
+        } catch (Exception e) {
+            // The executor has already recorded the failure on the row
+            log.error("Scheduled transfer {} failed: {}", transfer.getId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A claim older than the timeout belongs to a node that died mid-batch or to a run that is stuck. Whether
+     * money moved is unknown, so the transfer is marked unreconciled for a check against the transaction
+     * records rather than failed or re-executed and risking a double debit.
+     */
+    private void expireClaims() {
+        Instant now = Instant.now();
+        Integer expired = transactionTemplate.execute(status -> scheduledTransferRepository.expireClaims(
+                ScheduledTransfer.Status.CLAIMED, ScheduledTransfer.Status.UNRECONCILED,
+                "Claim expired before completion", now.minus(claimTimeout), now));
+        if (expired != null && expired > 0) {
+            log.warn("Marked {} scheduled transfers with expired claims as unreconciled", expired);
+        }
+    }
+
+    private static String resolveNodeId() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return UUID.randomUUID().toString();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
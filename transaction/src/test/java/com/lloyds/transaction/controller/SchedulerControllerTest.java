@@ -1,6 +1,8 @@
 package com.lloyds.transaction.controller;
 
 import com.lloyds.transaction.dto.request.TransferRequestDTO;
+import com.lloyds.transaction.dto.response.BulkSchedulerResponseDTO;
+import com.lloyds.transaction.dto.response.ScheduledTransferDTO;
 import com.lloyds.transaction.dto.response.SchedulerResponseDTO;
 import com.lloyds.transaction.exception.SchedulerException;
 import com.lloyds.transaction.exception.TransferSchedulingException;
@@ -12,6 +14,8 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -50,5 +54,33 @@ class SchedulerControllerTest {
         assertThat(responseEntity.getBody()).isEqualTo(expectedResponse);
     }
 
+    @Test
+    void scheduleTransfers_Success() {
+        // Arrange
+        String authHeader = "Bearer token";
+        List<TransferRequestDTO> transferRequests = List.of(new TransferRequestDTO(), new TransferRequestDTO());
+        BulkSchedulerResponseDTO expectedResponse = new BulkSchedulerResponseDTO(2, 2, 0, List.of());
+        when(schedulerService.scheduleTransfers(authHeader, transferRequests)).thenReturn(expectedResponse);
+
+        ResponseEntity<BulkSchedulerResponseDTO> responseEntity = schedulerController.scheduleTransfers(authHeader, transferRequests);
+
+        assertThat(responseEntity.getStatusCodeValue()).isEqualTo(200);
+        assertThat(responseEntity.getBody()).isEqualTo(expectedResponse);
+    }
+
+    @Test
+    void cancelScheduledTransfer_Success() {
+        // Arrange
+        String authHeader = "Bearer token";
+        ScheduledTransferDTO expectedResponse = new ScheduledTransferDTO();
+        expectedResponse.setStatus("CANCELLED");
+        when(schedulerService.cancelScheduledTransfer(authHeader, 7L)).thenReturn(expectedResponse);
+
+        ResponseEntity<ScheduledTransferDTO> responseEntity = schedulerController.cancelScheduledTransfer(authHeader, 7L);
+
+        assertThat(responseEntity.getStatusCodeValue()).isEqualTo(200);
+        assertThat(responseEntity.getBody()).isEqualTo(expectedResponse);
+    }
+
 
 }
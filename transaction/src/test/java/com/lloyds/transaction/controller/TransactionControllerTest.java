@@ -10,12 +10,17 @@ import com.lloyds.transaction.exception.InsufficientFundsException;
 import com.lloyds.transaction.feign.AccountInterface;
 import com.lloyds.transaction.security.JwtUtil;
 import com.lloyds.transaction.service.TransactionService;
+import com.lloyds.transaction.service.account.AccountOwnershipCache;
+import com.lloyds.transaction.service.lanes.ExecutionLanes;
 import com.lloyds.transaction.service.redis.RedisService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -24,6 +29,8 @@ import org.springframework.data.domain.PageImpl;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -44,12 +51,18 @@ class TransactionControllerTest {
     @Mock
     private TransactionService transactionService;
 
-    @Mock
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private AccountInterface accountInterface;
 
     @Mock
     private JwtUtil jwtUtil;
 
+    @Spy
+    private ExecutionLanes executionLanes = new ExecutionLanes(new SimpleMeterRegistry(), 4, 4, 1000, 2, 2, 1000);
+
+    @Spy
+    private AccountOwnershipCache accountOwnershipCache = new AccountOwnershipCache(new SimpleMeterRegistry(), true, 60000, 100);
+
     private Long customerId;
     private Long accountId;
     private AccountDTO accountDTO;
@@ -91,6 +104,65 @@ class TransactionControllerTest {
     }
 
 
+    @Test
+    void testGetTransactionsByAccountId_CachesOwnershipAcrossPages() {
+        when(jwtUtil.extractId(anyString())).thenReturn(customerId.toString());
+        when(accountInterface.getAccountById(eq(accountId), eq(VALID_AUTHORIZATION_HEADER), any()))
+                .thenReturn(ResponseEntity.ok(accountDTO));
+        when(transactionService.getTransactionsByAccountId(eq(accountId), anyInt(), anyInt(), any(), any()))
+                .thenReturn(transactions);
+
+        for (int page = 1; page <= 3; page++) {
+            ResponseEntity<?> response = transactionController.getTransactionsByAccountId(
+                    accountId, VALID_AUTHORIZATION_HEADER, page, 10, "desc", "timestamp");
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+        }
+
+        verify(accountInterface, times(1)).getAccountById(eq(accountId), anyString(), any());
+    }
+
+    @Test
+    void testGetTransactionsByAccountId_CachedOtherOwnerIsRechecked() {
+        accountOwnershipCache.put(accountId, 99L);
+        when(jwtUtil.extractId(anyString())).thenReturn(customerId.toString());
+        when(accountInterface.getAccountById(eq(accountId), eq(VALID_AUTHORIZATION_HEADER), any()))
+                .thenReturn(ResponseEntity.ok(accountDTO));
+        when(transactionService.getTransactionsByAccountId(any(), anyInt(), anyInt(), any(), any()))
+                .thenReturn(transactions);
+
+        ResponseEntity<?> response = transactionController.getTransactionsByAccountId(
+                accountId, VALID_AUTHORIZATION_HEADER, 1, 10, "desc", "timestamp");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(customerId, accountOwnershipCache.ownerOf(accountId));
+    }
+
+    @Test
+    void testGetTransactionsByAccountId_TrustedAccountClaim_SkipsAccountLookup() {
+        when(jwtUtil.extractId("validToken")).thenReturn(customerId.toString());
+        when(jwtUtil.extractOwnedAccountIds("validToken")).thenReturn(Optional.of(Set.of(accountId)));
+        when(transactionService.getTransactionsByAccountId(accountId, 1, 10, "desc", "timestamp"))
+                .thenReturn(transactions);
+
+        ResponseEntity<?> response = transactionController.getTransactionsByAccountId(
+                accountId, VALID_AUTHORIZATION_HEADER, 1, 10, "desc", "timestamp");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verifyNoInteractions(accountInterface);
+    }
+
+    @Test
+    void testGetTransactionsByAccountId_TrustedAccountClaim_Forbidden() {
+        when(jwtUtil.extractId("validToken")).thenReturn(customerId.toString());
+        when(jwtUtil.extractOwnedAccountIds("validToken")).thenReturn(Optional.of(Set.of(200L)));
+
+        ResponseEntity<?> response = transactionController.getTransactionsByAccountId(
+                accountId, VALID_AUTHORIZATION_HEADER, 1, 10, "desc", "timestamp");
+
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+        verifyNoInteractions(accountInterface, transactionService);
+    }
+
     @Test
     void testGetTransactionsByAccountId_AccountNotFound() {
 
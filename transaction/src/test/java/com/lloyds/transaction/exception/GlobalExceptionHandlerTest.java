@@ -91,6 +91,16 @@ import static org.assertj.core.api.Assertions.assertThat;
         assertThat(response.getBody()).isEqualTo("Account not found");
     }
 
+    @Test
+     void testHandleScheduledTransferNotFoundException() {
+        ScheduledTransferNotFoundException exception = new ScheduledTransferNotFoundException("Scheduled transfer not found");
+
+        ResponseEntity<String> response = globalExceptionHandler.handleScheduledTransferNotFound(exception);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody()).isEqualTo("Scheduled transfer not found");
+    }
+
     @Test
      void testHandleInsufficientFundsException() {
         InsufficientFundsException exception = new InsufficientFundsException("Insufficient funds");
@@ -0,0 +1,157 @@
+package com.lloyds.transaction.feign;
+
+import com.lloyds.transaction.dto.response.AccountDTO;
+import com.lloyds.transaction.service.lanes.ExecutionLanes;
+import com.lloyds.transaction.service.lanes.Lane;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAccountClientTest {
+
+    private static final String AUTH = "jwtToken";
+    private static final String API_KEY = "api-key";
+
+    @Mock
+    private AccountInterface delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ExecutionLanes executionLanes;
+
+    private CachingAccountClient client;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executionLanes = new ExecutionLanes(meterRegistry, 2, 2, 1000, 2, 2, 1000);
+        client = new CachingAccountClient(delegate, executionLanes, meterRegistry, true, 60000, 10, true);
+    }
+
+    @Test
+    void getAccountById_AlwaysAsksTheAccountService() {
+        when(delegate.getAccountById(1L, AUTH, API_KEY))
+                .thenReturn(ResponseEntity.ok(account(1L, 500.0)), ResponseEntity.ok(account(1L, 400.0)));
+
+        assertThat(client.getAccountById(1L, AUTH, API_KEY).getBody().getBalance()).isEqualTo(500.0);
+        assertThat(client.getAccountById(1L, AUTH, API_KEY).getBody().getBalance()).isEqualTo(400.0);
+        verify(delegate, times(2)).getAccountById(1L, AUTH, API_KEY);
+    }
+
+    @Test
+    void getAccountDetailsById_ServedFromSnapshot() {
+        when(delegate.getAccountById(1L, AUTH, API_KEY)).thenReturn(ResponseEntity.ok(account(1L, 500.0)));
+
+        client.getAccountById(1L, AUTH, API_KEY);
+        AccountDTO details = client.getAccountDetailsById(1L, AUTH, API_KEY).getBody();
+
+        assertThat(details.getAccountNumber()).isEqualTo("ACC1");
+        assertThat(details.getCustomerId()).isEqualTo(7L);
+        verify(delegate, times(1)).getAccountById(1L, AUTH, API_KEY);
+        assertThat(meterRegistry.get("account.snapshot-cache.lookups").tag("result", "hit").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void getAccountDetailsByCustomerId_ServedFromSnapshotUntilAnAccountIsDropped() {
+        when(delegate.getAccountsByCustomerId(AUTH, API_KEY, 7L))
+                .thenReturn(ResponseEntity.ok(List.of(account(1L, 500.0), account(2L, 100.0))));
+
+        client.getAccountDetailsByCustomerId(AUTH, API_KEY, 7L);
+        assertThat(client.getAccountDetailsByCustomerId(AUTH, API_KEY, 7L).getBody())
+                .extracting(AccountDTO::getId).containsExactly(1L, 2L);
+        verify(delegate, times(1)).getAccountsByCustomerId(AUTH, API_KEY, 7L);
+
+        client.invalidate(2L);
+        client.getAccountDetailsByCustomerId(AUTH, API_KEY, 7L);
+
+        verify(delegate, times(2)).getAccountsByCustomerId(AUTH, API_KEY, 7L);
+    }
+
+    @Test
+    void updateAccountBalance_WritesThroughOrDropsSnapshotOnFailure() {
+        when(delegate.getAccountById(1L, AUTH, API_KEY)).thenReturn(ResponseEntity.ok(account(1L, 500.0)));
+        client.getAccountById(1L, AUTH, API_KEY);
+
+        client.updateAccountBalance(1L, BigDecimal.valueOf(450.0), AUTH, API_KEY);
+        assertThat(client.getAccountDetailsById(1L, AUTH, API_KEY).getBody().getBalance()).isEqualTo(450.0);
+
+        doThrow(new IllegalStateException("timeout")).when(delegate).updateAccountBalance(any(), any(), any(), any());
+        assertThatThrownBy(() -> client.updateAccountBalance(1L, BigDecimal.valueOf(400.0), AUTH, API_KEY))
+                .isInstanceOf(IllegalStateException.class);
+        client.getAccountDetailsById(1L, AUTH, API_KEY);
+
+        verify(delegate, times(2)).getAccountById(1L, AUTH, API_KEY);
+    }
+
+    @Test
+    void snapshotsAreBounded() {
+        CachingAccountClient small = new CachingAccountClient(delegate, executionLanes, meterRegistry, true, 60000, 1, false);
+        when(delegate.getAccountById(any(), any(), any()))
+                .thenAnswer(invocation -> ResponseEntity.ok(account(invocation.getArgument(0), 1.0)));
+
+        small.getAccountById(1L, AUTH, API_KEY);
+        small.getAccountById(2L, AUTH, API_KEY);
+        small.getAccountDetailsById(1L, AUTH, API_KEY);
+
+        verify(delegate, times(2)).getAccountById(1L, AUTH, API_KEY);
+        assertThat(meterRegistry.get("account.snapshot-cache.evictions").counter().count()).isGreaterThanOrEqualTo(1.0);
+    }
+
+    @Test
+    void getAccountById_DoesNotShareCallsAcrossLanes() throws Exception {
+        // Arrange: a scheduled transfer's read is held up in the account service
+        CountDownLatch calling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getAccountById(1L, AUTH, API_KEY)).thenAnswer(invocation -> {
+            if (executionLanes.budgetedLane() == Lane.SCHEDULED) {
+                calling.countDown();
+                release.await();
+            }
+            return ResponseEntity.ok(account(1L, 500.0));
+        });
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> scheduled = executor.submit(
+                    () -> executionLanes.run(Lane.SCHEDULED, () -> client.getAccountById(1L, AUTH, API_KEY)));
+            assertThat(calling.await(1, TimeUnit.SECONDS)).isTrue();
+
+            // Act: an interactive read of the same account makes its own call instead of waiting on it
+            AccountDTO interactive = executionLanes.run(Lane.INTERACTIVE,
+                    () -> client.getAccountById(1L, AUTH, API_KEY)).getBody();
+
+            // Assert
+            assertThat(interactive.getBalance()).isEqualTo(500.0);
+            release.countDown();
+            scheduled.get(1, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+        verify(delegate, times(2)).getAccountById(1L, AUTH, API_KEY);
+    }
+
+    private static AccountDTO account(Long id, double balance) {
+        return new AccountDTO("ACC" + id, balance, "Savings", id, 7L);
+    }
+}
@@ -0,0 +1,145 @@
+package com.lloyds.transaction.feign;
+
+import com.lloyds.transaction.dto.response.CustomerDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingCustomerClientTest {
+
+    @Mock
+    private CustomerInterface delegate;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private CachingCustomerClient client;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        client = new CachingCustomerClient(delegate, meterRegistry, true, 10_000, 2_000, 2, now::get, new DirectExecutor());
+    }
+
+    @Test
+    void getCustomerById_ServesRepeatLookupsFromCache() {
+        when(delegate.getCustomerById(1L)).thenReturn(ResponseEntity.ok(customer(1L, "John")));
+
+        client.getCustomerById(1L);
+        ResponseEntity<CustomerDTO> cached = client.getCustomerById(1L);
+
+        assertThat(cached.getBody().getFirstName()).isEqualTo("John");
+        verify(delegate, times(1)).getCustomerById(1L);
+        assertThat(meterRegistry.get("customer.profile-cache.lookups").tag("result", "hit").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("customer.profile-cache.lookups").tag("result", "miss").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void getCustomerById_RefreshesAheadOfExpiry() {
+        when(delegate.getCustomerById(1L))
+                .thenReturn(ResponseEntity.ok(customer(1L, "John")), ResponseEntity.ok(customer(1L, "Johnny")));
+        client.getCustomerById(1L);
+
+        now.addAndGet(8_500);
+        assertThat(client.getCustomerById(1L).getBody().getFirstName()).isEqualTo("John");
+
+        now.addAndGet(5_000);
+        assertThat(client.getCustomerById(1L).getBody().getFirstName()).isEqualTo("Johnny");
+        verify(delegate, times(2)).getCustomerById(1L);
+        assertThat(meterRegistry.get("customer.profile-cache.lookups").tag("result", "miss").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("customer.profile-cache.refreshes").tag("outcome", "success").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void failedRefresh_KeepsCachedProfileUntilExpiry() {
+        when(delegate.getCustomerById(1L))
+                .thenReturn(ResponseEntity.ok(customer(1L, "John")), ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        client.getCustomerById(1L);
+
+        now.addAndGet(8_500);
+        client.getCustomerById(1L);
+
+        // Each lookup in the refresh-ahead window retries the reload
+        assertThat(client.getCustomerById(1L).getBody().getFirstName()).isEqualTo("John");
+        assertThat(meterRegistry.get("customer.profile-cache.refreshes").tag("outcome", "failure").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void errorResponsesAreNotCached() {
+        when(delegate.getCustomerById(1L)).thenReturn(ResponseEntity.notFound().build());
+
+        client.getCustomerById(1L);
+        client.getCustomerById(1L);
+
+        verify(delegate, times(2)).getCustomerById(1L);
+    }
+
+    @Test
+    void profilesAreBounded() {
+        when(delegate.getCustomerById(1L)).thenReturn(ResponseEntity.ok(customer(1L, "A")));
+        when(delegate.getCustomerById(2L)).thenReturn(ResponseEntity.ok(customer(2L, "B")));
+        when(delegate.getCustomerById(3L)).thenReturn(ResponseEntity.ok(customer(3L, "C")));
+
+        client.getCustomerById(1L);
+        client.getCustomerById(2L);
+        client.getCustomerById(3L);
+        client.getCustomerById(1L);
+
+        verify(delegate, times(2)).getCustomerById(1L);
+        assertThat(meterRegistry.get("customer.profile-cache.evictions").counter().count()).isGreaterThanOrEqualTo(1.0);
+    }
+
+    private static CustomerDTO customer(Long id, String firstName) {
+        return new CustomerDTO(id, firstName, null, "Doe", firstName.toLowerCase() + "@example.com");
+    }
+
+    // Runs refreshes on the calling thread so their effect is visible straight away
+    private static class DirectExecutor extends AbstractExecutorService {
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return List.of();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
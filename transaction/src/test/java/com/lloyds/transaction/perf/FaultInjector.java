@@ -0,0 +1,45 @@
+package com.lloyds.transaction.perf;
+
+import lombok.Getter;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Simulates the network behaviour of a downstream service for the perf stubs:
+ * a fixed latency plus random jitter, and a configurable share of failed calls.
+ */
+@Getter
+public class FaultInjector {
+
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+
+    public FaultInjector(long latencyMs, long jitterMs, double errorRate) {
+        if (latencyMs < 0 || jitterMs < 0) {
+            throw new IllegalArgumentException("Stub latency and jitter must not be negative");
+        }
+        if (errorRate < 0.0 || errorRate > 1.0) {
+            throw new IllegalArgumentException("Stub error rate must be between 0.0 and 1.0");
+        }
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.errorRate = errorRate;
+    }
+
+    public void pause() {
+        long delay = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        if (delay == 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean shouldFail() {
+        return errorRate > 0.0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+}
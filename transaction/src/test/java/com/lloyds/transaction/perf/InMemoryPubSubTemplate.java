@@ -0,0 +1,50 @@
+package com.lloyds.transaction.perf;
+
+import com.google.cloud.spring.pubsub.core.PubSubTemplate;
+import com.google.cloud.spring.pubsub.support.PublisherFactory;
+import com.google.cloud.spring.pubsub.support.SubscriberFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pub/Sub stand-in for the "perf" profile. Messages are counted per topic and dropped;
+ * nothing ever reaches GCP.
+ */
+@Slf4j
+public class InMemoryPubSubTemplate extends PubSubTemplate {
+
+    private final Map<String, AtomicLong> publishedCounts = new ConcurrentHashMap<>();
+    private final AtomicLong messageIds = new AtomicLong();
+
+    public InMemoryPubSubTemplate() {
+        super(unusedFactory(PublisherFactory.class), unusedFactory(SubscriberFactory.class));
+    }
+
+    @Override
+    public <T> CompletableFuture<String> publish(String topic, T payload) {
+        publishedCounts.computeIfAbsent(topic, t -> new AtomicLong()).incrementAndGet();
+        log.debug("Dropped in-memory Pub/Sub message for topic {}", topic);
+        return CompletableFuture.completedFuture(String.valueOf(messageIds.incrementAndGet()));
+    }
+
+    public long getPublishedCount(String topic) {
+        AtomicLong count = publishedCounts.get(topic);
+        return count == null ? 0 : count.get();
+    }
+
+    // The parent constructor only needs non-null factories; publish is overridden so they are never used
+    private static <F> F unusedFactory(Class<F> factoryType) {
+        return factoryType.cast(Proxy.newProxyInstance(factoryType.getClassLoader(), new Class<?>[]{factoryType},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> "unused " + factoryType.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                }));
+    }
+}
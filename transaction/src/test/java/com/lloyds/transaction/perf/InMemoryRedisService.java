@@ -0,0 +1,28 @@
+package com.lloyds.transaction.perf;
+
+import com.lloyds.transaction.service.redis.RedisService;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token blacklist held in memory for the "perf" profile, so load tests never touch Redis.
+ */
+public class InMemoryRedisService extends RedisService {
+
+    private final Set<String> blacklistedJtis = ConcurrentHashMap.newKeySet();
+
+    public InMemoryRedisService() {
+        super(null, null, null, DegradedPolicy.FAIL_OPEN);
+    }
+
+    @Override
+    public boolean isTokenBlacklisted(String jti, Instant tokenExpiresAt) {
+        return jti != null && blacklistedJtis.contains(jti);
+    }
+
+    public void blacklist(String jti) {
+        blacklistedJtis.add(jti);
+    }
+}
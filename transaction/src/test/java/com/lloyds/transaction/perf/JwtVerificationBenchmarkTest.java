@@ -0,0 +1,110 @@
+package com.lloyds.transaction.perf;
+
+import com.lloyds.transaction.security.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JMH throughput of JWT verification: the previous approach (decode the secret, build a key and a parser for every
+ * token) against {@link JwtUtil}, which reuses one key ring and parser.
+ * <p>
+ * Skipped unless {@code perf.jwt.threads} is set, e.g.
+ * {@code mvn test -Dtest=JwtVerificationBenchmarkTest -Dperf.jwt.threads=8}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmarkTest {
+
+    private static final String SECRET = "ThsvaeRGddaqobZs8+NTBIeZcck4Xc4kd3WnkDZKFQY3ZRq2Vvsf/N6lsuOFi4z3XfegqJVQrfNXh5rXYtxDUA==";
+    private static final int TOKENS = 1000;
+
+    private String[] tokens;
+
+    private JwtUtil jwtUtil;
+
+    @Setup
+    public void setUp() {
+        SecretKey key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET));
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = Jwts.builder()
+                    .setSubject(String.valueOf(i + 1))
+                    .setId("jti-" + i)
+                    .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                    .signWith(key)
+                    .compact();
+        }
+        jwtUtil = new JwtUtil(SECRET, "primary", "", false, "accounts");
+    }
+
+    @Benchmark
+    public String keyAndParserPerCall(Cursor cursor) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET)))
+                .build()
+                .parseClaimsJws(cursor.next(tokens))
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String sharedKeyRingAndParser(Cursor cursor) {
+        return jwtUtil.extractAllClaims(cursor.next(tokens)).getSubject();
+    }
+
+    /**
+     * Per-thread position in the token list, so threads do not contend on a shared counter.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int position;
+
+        String next(String[] tokens) {
+            position = (position + 1) % tokens.length;
+            return tokens[position];
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "perf.jwt.threads", matches = "\\d+")
+    void verificationThroughput() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(getClass().getName())
+                .threads(Integer.getInteger("perf.jwt.threads"))
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertThat(results).hasSize(2)
+                .allSatisfy(result -> assertThat(result.getPrimaryResult().getScore()).isPositive());
+    }
+}
@@ -0,0 +1,15 @@
+package com.lloyds.transaction.perf;
+
+import com.lloyds.transaction.TransactionApplication;
+import org.springframework.boot.SpringApplication;
+
+/**
+ * Starts the service with the in-process stubs of the "perf" profile. The stubs live in the test sources so
+ * they never ship; run with {@code mvn spring-boot:test-run -Dspring-boot.run.profiles=perf}.
+ */
+public class PerfApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.from(TransactionApplication::main).with(PerfConfig.class).run(args);
+    }
+}
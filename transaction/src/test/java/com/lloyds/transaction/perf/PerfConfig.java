@@ -0,0 +1,61 @@
+package com.lloyds.transaction.perf;
+
+import com.google.cloud.spring.pubsub.core.PubSubTemplate;
+import com.lloyds.transaction.feign.AccountInterface;
+import com.lloyds.transaction.feign.CustomerInterface;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Self-contained load-test wiring, active with {@code --spring.profiles.active=perf}.
+ * The Feign clients and the Redis-backed blacklist are swapped for in-process stand-ins under their
+ * original bean names, so everything that injects them (and anything that later wraps them) is unchanged.
+ */
+@Slf4j
+@Profile("perf")
+@Configuration
+public class PerfConfig {
+
+    static final String REDIS_SERVICE_BEAN = "redisService";
+
+    @Bean
+    public static BeanDefinitionRegistryPostProcessor perfStubRegistrar() {
+        return new BeanDefinitionRegistryPostProcessor() {
+            @Override
+            public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+                // Feign registers each client under the fully qualified interface name
+                replaceBean(registry, AccountInterface.class.getName(), StubAccountClient.class);
+                replaceBean(registry, CustomerInterface.class.getName(), StubCustomerClient.class);
+                replaceBean(registry, REDIS_SERVICE_BEAN, InMemoryRedisService.class);
+            }
+
+            @Override
+            public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+                // nothing to do
+            }
+        };
+    }
+
+    @Bean
+    public PubSubTemplate pubSubTemplate() {
+        return new InMemoryPubSubTemplate();
+    }
+
+    static void replaceBean(BeanDefinitionRegistry registry, String beanName, Class<?> stubClass) {
+        RootBeanDefinition stub = new RootBeanDefinition(stubClass);
+        if (registry.containsBeanDefinition(beanName)) {
+            BeanDefinition original = registry.getBeanDefinition(beanName);
+            stub.setPrimary(original.isPrimary());
+            registry.removeBeanDefinition(beanName);
+        }
+        registry.registerBeanDefinition(beanName, stub);
+        log.info("perf profile: bean '{}' replaced by {}", beanName, stubClass.getSimpleName());
+    }
+}
@@ -0,0 +1,293 @@
+package com.lloyds.transaction.perf;
+
+import com.lloyds.transaction.dto.request.TransferRequestDTO;
+import com.lloyds.transaction.dto.response.TransactionDTO;
+import com.lloyds.transaction.dto.response.TransferResponseDTO;
+import com.lloyds.transaction.service.SchedulerService;
+import com.lloyds.transaction.service.TransactionService;
+import com.lloyds.transaction.service.TransferOutcome;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.Page;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load harness for the transfer scheduler. Schedules a configurable number of one-time and recurring
+ * transfers through {@link SchedulerService}, waits for all of them to fire against a stubbed
+ * {@link TransactionService} and logs scheduling throughput, fire-lag percentiles and job-store size.
+ * <p>
+ * Skipped unless {@code perf.scheduler.transfers} is set, e.g.
+ * {@code mvn test -Dtest=SchedulerLoadHarnessTest -Dperf.scheduler.transfers=100000 -Dperf.scheduler.recurring=10000}.
+ * Runs on the in-memory H2 database of the "perf" profile; pass {@code -Dspring.datasource.url=...} and
+ * {@code -Dspring.quartz.properties.org.quartz.jobStore.driverDelegateClass=...} to target a local Postgres.
+ * Quartz thread-pool, batch-acquisition and engine settings are overridden the same way.
+ */
+@Slf4j
+@ActiveProfiles("perf")
+@SpringBootTest
+@EnabledIfSystemProperty(named = "perf.scheduler.transfers", matches = "\\d+")
+class SchedulerLoadHarnessTest {
+
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+    private static final int CUSTOMERS = 1000;
+
+    @Autowired
+    private SchedulerService schedulerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private FireLagRecorder fireLagRecorder;
+
+    @Value("${JWT_SECRET}")
+    private String jwtSecret;
+
+    @Value("${perf.scheduler.transfers}")
+    private int oneTimeTransfers;
+
+    @Value("${perf.scheduler.recurring:0}")
+    private int recurringTransfers;
+
+    // Clients scheduling concurrently, and transfers per bulk request (1 uses the single-transfer API)
+    @Value("${perf.scheduler.threads:8}")
+    private int threads;
+
+    @Value("${perf.scheduler.batch-size:1}")
+    private int batchSize;
+
+    // One-time fire times are spread evenly over this window; recurring transfers all fire at its start
+    @Value("${perf.scheduler.fire-window-ms:60000}")
+    private long fireWindowMs;
+
+    @Value("${perf.scheduler.timeout-s:1800}")
+    private long timeoutSeconds;
+
+    @Test
+    void scheduleAndFire() throws Exception {
+        int total = oneTimeTransfers + recurringTransfers;
+        fireLagRecorder.expect(total);
+        String[] authHeaders = authHeaders();
+
+        // Leave room to schedule everything before the first fire time; cron triggers fire on whole minutes
+        long scheduleBudgetMs = Math.max(60_000, total / 500L * 1000);
+        LocalDateTime fireStart = LocalDateTime.now(ZONE).plus(Duration.ofMillis(scheduleBudgetMs))
+                .truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+
+        List<TransferRequestDTO> requests = new ArrayList<>(total);
+        for (int i = 0; i < oneTimeTransfers; i++) {
+            long offsetMs = oneTimeTransfers > 1 ? fireWindowMs * i / (oneTimeTransfers - 1) : 0;
+            requests.add(request(i, fireStart.plus(Duration.ofMillis(offsetMs)), null));
+        }
+        for (int i = 0; i < recurringTransfers; i++) {
+            requests.add(request(oneTimeTransfers + i, fireStart, "DAILY"));
+        }
+
+        long scheduleStart = System.nanoTime();
+        int scheduled = schedule(requests, authHeaders);
+        long scheduleNanos = System.nanoTime() - scheduleStart;
+        assertThat(scheduled).as("transfers scheduled").isEqualTo(total);
+        assertThat(LocalDateTime.now(ZONE)).as("scheduling finished before the first fire time").isBefore(fireStart);
+
+        JobStoreSize scheduledSize = jobStoreSize();
+        boolean allFired = fireLagRecorder.await(timeoutSeconds);
+        long[] lags = fireLagRecorder.lags();
+
+        log.info("Scheduled {} transfers ({} one-time, {} recurring) in {} ms: {} transfers/s, {} threads, batch size {}",
+                total, oneTimeTransfers, recurringTransfers, TimeUnit.NANOSECONDS.toMillis(scheduleNanos),
+                String.format("%.1f", total * 1e9 / scheduleNanos), threads, batchSize);
+        log.info("Job store after scheduling: {}", scheduledSize);
+        log.info("Fired {} of {} transfers; fire lag ms p50={} p90={} p99={} p99.9={} max={}",
+                lags.length, total, percentile(lags, 50), percentile(lags, 90), percentile(lags, 99),
+                percentile(lags, 99.9), lags.length > 0 ? lags[lags.length - 1] : 0);
+        log.info("Job store after firing: {}", jobStoreSize());
+
+        assertThat(allFired).as("all transfers fired within %d s", timeoutSeconds).isTrue();
+    }
+
+    private int schedule(List<TransferRequestDTO> requests, String[] authHeaders) throws Exception {
+        // Requests for one customer go to the same client so that bulk batches are per customer
+        List<List<TransferRequestDTO>> byCustomer = new ArrayList<>(CUSTOMERS);
+        for (int c = 0; c < CUSTOMERS; c++) {
+            byCustomer.add(new ArrayList<>());
+        }
+        for (TransferRequestDTO request : requests) {
+            byCustomer.get((int) (request.getSenderAccountId() / StubAccountClient.ACCOUNT_ID_STRIDE - 1)).add(request);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>(CUSTOMERS);
+            for (int c = 0; c < CUSTOMERS; c++) {
+                List<TransferRequestDTO> customerRequests = byCustomer.get(c);
+                String authHeader = authHeaders[c];
+                futures.add(executor.submit(() -> scheduleForCustomer(authHeader, customerRequests)));
+            }
+            int scheduled = 0;
+            for (Future<Integer> future : futures) {
+                scheduled += future.get();
+            }
+            return scheduled;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private int scheduleForCustomer(String authHeader, List<TransferRequestDTO> requests) {
+        if (batchSize <= 1) {
+            requests.forEach(request -> schedulerService.scheduleTransfer(authHeader, request));
+            return requests.size();
+        }
+        int scheduled = 0;
+        for (int from = 0; from < requests.size(); from += batchSize) {
+            List<TransferRequestDTO> batch = requests.subList(from, Math.min(from + batchSize, requests.size()));
+            scheduled += schedulerService.scheduleTransfers(authHeader, batch).getScheduled();
+        }
+        return scheduled;
+    }
+
+    private TransferRequestDTO request(int index, LocalDateTime fireAt, String recurrencePattern) {
+        long customerId = index % CUSTOMERS + 1;
+        long receiverCustomerId = (index + 1) % CUSTOMERS + 1;
+
+        TransferRequestDTO request = new TransferRequestDTO();
+        request.setSenderAccountId(customerId * StubAccountClient.ACCOUNT_ID_STRIDE + 1);
+        request.setReceiverAccountId(receiverCustomerId * StubAccountClient.ACCOUNT_ID_STRIDE + 1);
+        request.setReceiverName("Perf Receiver");
+        request.setTransactionType("Transfer");
+        request.setAmount(1.0);
+        request.setTimeZone(ZONE);
+        // The stub measures lag against the intended fire time carried in the note
+        request.setNote(String.valueOf(fireAt.atZone(ZONE).toInstant().toEpochMilli()));
+        if (recurrencePattern == null) {
+            request.setScheduledTime(fireAt);
+        } else {
+            request.setRecurrencePattern(recurrencePattern);
+            request.setStartDate(fireAt);
+            request.setEndDate(fireAt.plusDays(30));
+        }
+        return request;
+    }
+
+    private String[] authHeaders() {
+        var key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(jwtSecret));
+        String[] headers = new String[CUSTOMERS];
+        for (int c = 0; c < CUSTOMERS; c++) {
+            headers[c] = "Bearer " + Jwts.builder().setSubject(String.valueOf(c + 1)).signWith(key).compact();
+        }
+        return headers;
+    }
+
+    private JobStoreSize jobStoreSize() {
+        return new JobStoreSize(count("qrtz_job_details"), count("qrtz_triggers"), count("qrtz_simple_triggers"),
+                count("qrtz_cron_triggers"), count("scheduled_transfer"));
+    }
+
+    private long count(String table) {
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        return rows != null ? rows : 0;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private record JobStoreSize(long jobDetails, long triggers, long simpleTriggers, long cronTriggers,
+                                long scheduledTransfers) {
+    }
+
+    /**
+     * Stands in for the real transaction service: executing a transfer only records how late it fired.
+     */
+    static class FireLagRecorder implements TransactionService {
+
+        private final AtomicInteger fired = new AtomicInteger();
+        private volatile long[] lags = new long[0];
+        private volatile CountDownLatch remaining = new CountDownLatch(0);
+
+        void expect(int transfers) {
+            fired.set(0);
+            lags = new long[transfers];
+            remaining = new CountDownLatch(transfers);
+        }
+
+        boolean await(long timeoutSeconds) throws InterruptedException {
+            return remaining.await(timeoutSeconds, TimeUnit.SECONDS);
+        }
+
+        long[] lags() {
+            long[] recorded = Arrays.copyOf(lags, Math.min(fired.get(), lags.length));
+            Arrays.sort(recorded);
+            return recorded;
+        }
+
+        @Override
+        public TransferResponseDTO transferFunds(TransferRequestDTO transferRequest, Long customerID) {
+            long lag = System.currentTimeMillis() - Long.parseLong(transferRequest.getNote());
+            int index = fired.getAndIncrement();
+            if (index < lags.length) {
+                lags[index] = lag;
+                remaining.countDown();
+            }
+            return new TransferResponseDTO("PERF" + index, "Transfer successful", 0, 0, "Success");
+        }
+
+        @Override
+        public List<TransferOutcome> transferFundsFromSender(List<TransferRequestDTO> transferRequests, Long customerID) {
+            return transferRequests.stream()
+                    .map(transferRequest -> TransferOutcome.succeeded(transferFunds(transferRequest, customerID)))
+                    .toList();
+        }
+
+        @Override
+        public Page<TransactionDTO> getTransactionsByAccountId(Long accountId, int page, int size, String sortOrder, String sortBy) {
+            return Page.empty();
+        }
+
+        @Override
+        public void publishTransactionCompletionEvent(TransferResponseDTO transferResponse, TransferRequestDTO transferRequest, Long customerId) {
+            // nothing to publish
+        }
+    }
+
+    @TestConfiguration
+    static class HarnessConfig {
+
+        @Bean
+        @Primary
+        FireLagRecorder fireLagRecorder() {
+            return new FireLagRecorder();
+        }
+    }
+}
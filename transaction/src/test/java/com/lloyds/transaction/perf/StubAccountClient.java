@@ -0,0 +1,86 @@
+package com.lloyds.transaction.perf;
+
+import com.lloyds.transaction.dto.response.AccountDTO;
+import com.lloyds.transaction.feign.AccountInterface;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process stand-in for the account service used by the "perf" profile.
+ * Customer {@code c} owns accounts {@code c * ACCOUNT_ID_STRIDE + 1 .. c * ACCOUNT_ID_STRIDE + accountsPerCustomer};
+ * any other account ID is created on first access and owned by {@code id / ACCOUNT_ID_STRIDE}.
+ */
+@Slf4j
+public class StubAccountClient implements AccountInterface {
+
+    public static final long ACCOUNT_ID_STRIDE = 1000L;
+
+    private final Map<Long, AccountDTO> accounts = new ConcurrentHashMap<>();
+    private final FaultInjector faultInjector;
+    private final int accountsPerCustomer;
+    private final double initialBalance;
+
+    public StubAccountClient(@Value("${perf.stub.account.latency-ms:20}") long latencyMs,
+                             @Value("${perf.stub.account.jitter-ms:10}") long jitterMs,
+                             @Value("${perf.stub.account.error-rate:0.0}") double errorRate,
+                             @Value("${perf.stub.account.accounts-per-customer:3}") int accountsPerCustomer,
+                             @Value("${perf.stub.account.initial-balance:1000000000}") double initialBalance) {
+        if (accountsPerCustomer < 1 || accountsPerCustomer >= ACCOUNT_ID_STRIDE) {
+            throw new IllegalArgumentException("accounts-per-customer must be between 1 and " + (ACCOUNT_ID_STRIDE - 1));
+        }
+        this.faultInjector = new FaultInjector(latencyMs, jitterMs, errorRate);
+        this.accountsPerCustomer = accountsPerCustomer;
+        this.initialBalance = initialBalance;
+        log.info("Account service stub active: latency={}ms, jitter={}ms, errorRate={}", latencyMs, jitterMs, errorRate);
+    }
+
+    @Override
+    public ResponseEntity<List<AccountDTO>> getAccountsByCustomerId(String authorizationHeader, String apiKey, Long customerID) {
+        faultInjector.pause();
+        if (faultInjector.shouldFail()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        List<AccountDTO> customerAccounts = new ArrayList<>(accountsPerCustomer);
+        for (int i = 1; i <= accountsPerCustomer; i++) {
+            customerAccounts.add(copyOf(account(customerID * ACCOUNT_ID_STRIDE + i)));
+        }
+        return ResponseEntity.ok(customerAccounts);
+    }
+
+    @Override
+    public ResponseEntity<AccountDTO> getAccountById(Long id, String authorizationHeader, String apiKey) {
+        faultInjector.pause();
+        if (faultInjector.shouldFail()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(copyOf(account(id)));
+    }
+
+    @Override
+    public void updateAccountBalance(Long accountId, BigDecimal newBalance, String authorizationHeader, String apiKey) {
+        faultInjector.pause();
+        if (faultInjector.shouldFail()) {
+            throw new IllegalStateException("Injected account service failure while updating account " + accountId);
+        }
+        account(accountId).setBalance(newBalance.doubleValue());
+    }
+
+    private AccountDTO account(Long id) {
+        return accounts.computeIfAbsent(id, accountId ->
+                new AccountDTO("ACC" + accountId, initialBalance, "Savings Account", accountId, accountId / ACCOUNT_ID_STRIDE));
+    }
+
+    // Callers must not be able to mutate the stub's state through the returned DTOs
+    private static AccountDTO copyOf(AccountDTO account) {
+        return new AccountDTO(account.getAccountNumber(), account.getBalance(), account.getAccountType(),
+                account.getId(), account.getCustomerId());
+    }
+}
@@ -0,0 +1,49 @@
+package com.lloyds.transaction.perf;
+
+import com.lloyds.transaction.dto.response.AccountDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StubAccountClientTest {
+
+    @Test
+    void getAccountsByCustomerId_ReturnsOwnedAccounts() {
+        StubAccountClient client = new StubAccountClient(0, 0, 0.0, 3, 500.0);
+
+        ResponseEntity<List<AccountDTO>> response = client.getAccountsByCustomerId("token", "key", 7L);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).extracting(AccountDTO::getId).containsExactly(7001L, 7002L, 7003L);
+        assertThat(response.getBody()).allMatch(account -> account.getCustomerId().equals(7L));
+    }
+
+    @Test
+    void updateAccountBalance_IsVisibleToLaterReads() {
+        StubAccountClient client = new StubAccountClient(0, 0, 0.0, 3, 500.0);
+
+        client.updateAccountBalance(7001L, BigDecimal.valueOf(125.0), "token", "key");
+
+        assertThat(client.getAccountById(7001L, "token", "key").getBody().getBalance()).isEqualTo(125.0);
+    }
+
+    @Test
+    void errorRateOfOne_FailsEveryCall() {
+        StubAccountClient client = new StubAccountClient(0, 0, 1.0, 3, 500.0);
+
+        assertThat(client.getAccountById(7001L, "token", "key").getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThrows(IllegalStateException.class,
+                () -> client.updateAccountBalance(7001L, BigDecimal.ONE, "token", "key"));
+    }
+
+    @Test
+    void invalidErrorRate_IsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new StubAccountClient(0, 0, 1.5, 3, 500.0));
+    }
+}
@@ -0,0 +1,34 @@
+package com.lloyds.transaction.perf;
+
+import com.lloyds.transaction.dto.response.CustomerDTO;
+import com.lloyds.transaction.feign.CustomerInterface;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * In-process stand-in for the customer service used by the "perf" profile.
+ * Every customer ID resolves to a synthetic profile.
+ */
+@Slf4j
+public class StubCustomerClient implements CustomerInterface {
+
+    private final FaultInjector faultInjector;
+
+    public StubCustomerClient(@Value("${perf.stub.customer.latency-ms:15}") long latencyMs,
+                              @Value("${perf.stub.customer.jitter-ms:5}") long jitterMs,
+                              @Value("${perf.stub.customer.error-rate:0.0}") double errorRate) {
+        this.faultInjector = new FaultInjector(latencyMs, jitterMs, errorRate);
+        log.info("Customer service stub active: latency={}ms, jitter={}ms, errorRate={}", latencyMs, jitterMs, errorRate);
+    }
+
+    @Override
+    public ResponseEntity<CustomerDTO> getCustomerById(Long id) {
+        faultInjector.pause();
+        if (faultInjector.shouldFail()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(new CustomerDTO(id, "Perf", null, "Customer" + id, "customer" + id + "@perf.local"));
+    }
+}
@@ -1,5 +1,6 @@
 package com.lloyds.transaction.security;
 
+import com.lloyds.transaction.exception.TokenBlacklistUnavailableException;
 import com.lloyds.transaction.service.redis.RedisService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -52,18 +53,21 @@ class JwtRequestFilterTest {
     @Test
     void doFilterInternal_ValidJwt() throws ServletException, IOException {
         String token = "valid.jwt.token";
+        AuthenticatedToken authenticatedToken = new AuthenticatedToken("12345", "jti-1", null);
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.isTokenValid(token)).thenReturn(true);
-        when(jwtUtil.extractId(token)).thenReturn("12345");
+        when(jwtUtil.verify(token)).thenReturn(authenticatedToken);
 
         jwtRequestFilter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtUtil, times(1)).isTokenValid(token);
-        verify(jwtUtil, times(1)).extractId(token);
+        verify(jwtUtil, times(1)).verify(token);
+        verifyNoMoreInteractions(jwtUtil);
+        verify(redisService).isTokenBlacklisted("jti-1", null);
         verify(filterChain, times(1)).doFilter(request, response);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
         assertThat(SecurityContextHolder.getContext().getAuthentication())
                 .isInstanceOf(UsernamePasswordAuthenticationToken.class);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isEqualTo(authenticatedToken);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("12345");
     }
 
     @Test
@@ -72,8 +76,8 @@ class JwtRequestFilterTest {
         String jti = "blacklisted-jti";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.extractJti(token)).thenReturn(jti);
-        when(redisService.isTokenBlacklisted(jti)).thenReturn(true);
+        when(jwtUtil.verify(token)).thenReturn(new AuthenticatedToken("12345", jti, null));
+        when(redisService.isTokenBlacklisted(jti, null)).thenReturn(true);
 
         // Mock HttpServletResponse with a real PrintWriter
         MockHttpServletResponse mockResponse = new MockHttpServletResponse();
@@ -100,16 +104,35 @@ class JwtRequestFilterTest {
     }
 
 
+    @Test
+    void doFilterInternal_BlacklistUnavailable_Returns503() throws Exception {
+        String token = "valid.jwt.token";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtil.verify(token)).thenReturn(new AuthenticatedToken("12345", "jti-1", null));
+        when(redisService.isTokenBlacklisted("jti-1", null))
+                .thenThrow(new TokenBlacklistUnavailableException("Token blacklist is unavailable", null));
+        StringWriter stringWriter = new StringWriter();
+        when(response.getWriter()).thenReturn(new PrintWriter(stringWriter));
+
+        jwtRequestFilter.doFilterInternal(request, response, filterChain);
+
+        verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        assertThat(stringWriter.toString()).contains("Token blacklist is unavailable");
+        verify(filterChain, never()).doFilter(request, response);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
     @Test
     void doFilterInternal_InvalidJwt() throws ServletException, IOException {
         String token = "invalid.jwt.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.isTokenValid(token)).thenReturn(false);
+        when(jwtUtil.verify(token)).thenReturn(null);
 
         jwtRequestFilter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtUtil, times(1)).isTokenValid(token);
+        verify(jwtUtil, times(1)).verify(token);
         verify(jwtUtil, never()).extractId(anyString());
+        verifyNoInteractions(redisService);
         verify(filterChain, times(1)).doFilter(request, response);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
@@ -120,7 +143,7 @@ class JwtRequestFilterTest {
 
         jwtRequestFilter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtUtil, never()).isTokenValid(anyString());
+        verify(jwtUtil, never()).verify(anyString());
         verify(jwtUtil, never()).extractId(anyString());
         verify(filterChain, times(1)).doFilter(request, response);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
@@ -132,7 +155,7 @@ class JwtRequestFilterTest {
 
         jwtRequestFilter.doFilterInternal(request, response, filterChain);
 
-        verify(jwtUtil, never()).isTokenValid(anyString());
+        verify(jwtUtil, never()).verify(anyString());
         verify(jwtUtil, never()).extractId(anyString());
         verify(filterChain, times(1)).doFilter(request, response);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
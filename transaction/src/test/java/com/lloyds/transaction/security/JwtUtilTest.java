@@ -2,14 +2,17 @@ package com.lloyds.transaction.security;
 
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import javax.crypto.SecretKey;
 import java.util.Base64;
+import java.util.List;
+import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -17,7 +20,6 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 @ExtendWith(MockitoExtension.class)
 class JwtUtilTest {
 
-    @InjectMocks
     private JwtUtil jwtUtil;
 
     private static final String SECRET_KEY = "mysecretkeymysecretkeymysecretkeymysecretkey";
@@ -26,10 +28,15 @@ class JwtUtilTest {
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET_KEY);
+        jwtUtil = new JwtUtil(SECRET_KEY, "v2", "", true, "accounts");
         validToken = generateValidToken(CUSTOMER_ID);
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     private String generateValidToken(int customerId) {
         SecretKey key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET_KEY));
         return Jwts.builder()
@@ -76,4 +83,60 @@ class JwtUtilTest {
         String invalidToken = validToken + "invalid";
         assertThat(jwtUtil.isTokenValid(invalidToken)).isFalse();
     }
+
+    @Test
+    void testVerify() {
+        AuthenticatedToken authenticatedToken = jwtUtil.verify(validToken);
+
+        assertThat(authenticatedToken.customerId()).isEqualTo(String.valueOf(CUSTOMER_ID));
+        assertThat(authenticatedToken.expiresAt()).isNull();
+        assertThat(jwtUtil.verify(validToken + "invalid")).isNull();
+    }
+
+    @Test
+    void testExtractId_ReadsClaimsVerifiedForRequest() {
+        // Not parseable, so the ID can only come from the security context
+        String verifiedToken = "already.verified.token";
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedToken("42", "jti-1", null), verifiedToken, null));
+
+        assertThat(jwtUtil.extractId(verifiedToken)).isEqualTo("42");
+        assertThat(jwtUtil.extractJti(verifiedToken)).isEqualTo("jti-1");
+        assertThat(jwtUtil.extractId(validToken)).isEqualTo(String.valueOf(CUSTOMER_ID));
+    }
+
+    @Test
+    void testKeyRing_AcceptsRetiredKeyByKeyId() {
+        String retiredSecret = Base64.getEncoder().encodeToString("retiredkeyretiredkeyretiredkeyretiredkey".getBytes());
+        JwtUtil rotatingJwtUtil = new JwtUtil(SECRET_KEY, "v2", "v1:" + retiredSecret, false, "accounts");
+        String retiredToken = Jwts.builder()
+                .setHeaderParam("kid", "v1")
+                .setSubject(String.valueOf(CUSTOMER_ID))
+                .signWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(retiredSecret)))
+                .compact();
+
+        assertThat(rotatingJwtUtil.extractId(retiredToken)).isEqualTo(String.valueOf(CUSTOMER_ID));
+        assertThat(rotatingJwtUtil.extractId(validToken)).isEqualTo(String.valueOf(CUSTOMER_ID));
+        assertThat(jwtUtil.isTokenValid(retiredToken)).isFalse();
+    }
+
+    @Test
+    void testExtractOwnedAccountIds() {
+        SecretKey key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET_KEY));
+        String listClaim = Jwts.builder()
+                .setSubject(String.valueOf(CUSTOMER_ID))
+                .claim("accounts", List.of(11, 12))
+                .signWith(key)
+                .compact();
+        String stringClaim = Jwts.builder()
+                .setSubject(String.valueOf(CUSTOMER_ID))
+                .claim("accounts", "11, 13")
+                .signWith(key)
+                .compact();
+
+        assertThat(jwtUtil.extractOwnedAccountIds(listClaim)).contains(Set.of(11L, 12L));
+        assertThat(jwtUtil.extractOwnedAccountIds(stringClaim)).contains(Set.of(11L, 13L));
+        assertThat(jwtUtil.extractOwnedAccountIds(validToken)).isEmpty();
+        assertThat(new JwtUtil(SECRET_KEY, "v2", "", false, "accounts").extractOwnedAccountIds(listClaim)).isEmpty();
+    }
 }
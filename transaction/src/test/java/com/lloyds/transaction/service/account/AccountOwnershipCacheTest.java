@@ -0,0 +1,79 @@
+package com.lloyds.transaction.service.account;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccountOwnershipCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AccountOwnershipCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new AccountOwnershipCache(meterRegistry, true, 60000, 2);
+    }
+
+    @Test
+    void put_AnswersLaterLookups() {
+        cache.put(100L, 1L);
+
+        assertThat(cache.ownerOf(100L)).isEqualTo(1L);
+        assertThat(cache.ownerOf(200L)).isNull();
+        assertThat(meterRegistry.get("account.ownership-cache.lookups").tag("result", "hit").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("account.ownership-cache.lookups").tag("result", "miss").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void put_EvictsLeastRecentlyUsedWhenFull() {
+        cache.put(100L, 1L);
+        cache.put(200L, 2L);
+        cache.ownerOf(100L);
+
+        cache.put(300L, 3L);
+
+        assertThat(cache.ownerOf(100L)).isEqualTo(1L);
+        assertThat(cache.ownerOf(200L)).isNull();
+        assertThat(cache.ownerOf(300L)).isEqualTo(3L);
+        assertThat(meterRegistry.get("account.ownership-cache.evictions").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void entriesExpireAfterTtl() {
+        AccountOwnershipCache expiring = new AccountOwnershipCache(meterRegistry, true, 0, 10);
+        expiring.put(100L, 1L);
+
+        assertThat(expiring.ownerOf(100L)).isNull();
+    }
+
+    @Test
+    void onMessage_InvalidatesOneAccountOrAll() {
+        cache.put(100L, 1L);
+        cache.put(200L, 2L);
+
+        cache.onMessage(new DefaultMessage("ownership".getBytes(StandardCharsets.UTF_8), "100".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(cache.ownerOf(100L)).isNull();
+        assertThat(cache.ownerOf(200L)).isEqualTo(2L);
+
+        cache.onMessage(new DefaultMessage("ownership".getBytes(StandardCharsets.UTF_8), "*".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(cache.ownerOf(200L)).isNull();
+        assertThat(meterRegistry.get("account.ownership-cache.invalidations").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void disabled_CachesNothing() {
+        AccountOwnershipCache disabled = new AccountOwnershipCache(meterRegistry, false, 60000, 10);
+        disabled.put(100L, 1L);
+
+        assertThat(disabled.ownerOf(100L)).isNull();
+    }
+}
@@ -0,0 +1,114 @@
+package com.lloyds.transaction.service.coalescing;
+
+import com.lloyds.transaction.dto.request.TransferRequestDTO;
+import com.lloyds.transaction.dto.response.TransferResponseDTO;
+import com.lloyds.transaction.exception.InsufficientFundsException;
+import com.lloyds.transaction.service.TransactionService;
+import com.lloyds.transaction.service.TransferOutcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SenderTransferCoalescerTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Test
+    void transfer_SameSenderWithinWindow_ExecutesOnce() throws Exception {
+        // Arrange
+        SenderTransferCoalescer coalescer = coalescer(5000, 2);
+        when(transactionService.transferFundsFromSender(anyList(), eq(7L))).thenReturn(List.of(
+                TransferOutcome.succeeded(new TransferResponseDTO("LLB1", "Transfer successful", 90, 10, "Success")),
+                TransferOutcome.failed(new InsufficientFundsException("Insufficient funds in the sender account"))));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        CompletableFuture<TransferResponseDTO> first = CompletableFuture.supplyAsync(
+                () -> coalescer.transfer(request(7001L, 10.0), 7L), executor);
+        CompletableFuture<TransferResponseDTO> second = CompletableFuture.supplyAsync(
+                () -> coalescer.transfer(request(7001L, 500.0), 7L), executor);
+
+        // Assert
+        TransferResponseDTO[] results = {null, null};
+        Throwable[] failures = {null, null};
+        first.handle((result, e) -> { results[0] = result; failures[0] = e; return null; }).join();
+        second.handle((result, e) -> { results[1] = result; failures[1] = e; return null; }).join();
+        executor.shutdown();
+
+        verify(transactionService, times(1)).transferFundsFromSender(anyList(), eq(7L));
+        verify(transactionService, never()).transferFunds(any(), any());
+        assertThat(results).filteredOn(result -> result != null)
+                .extracting(TransferResponseDTO::getTransactionId).containsExactly("LLB1");
+        assertThat(failures).filteredOn(failure -> failure != null).singleElement()
+                .satisfies(failure -> assertThat(failure.getCause()).isInstanceOf(InsufficientFundsException.class)
+                        .hasMessage("Insufficient funds in the sender account"));
+    }
+
+    @Test
+    void transfer_AloneInWindow_UsesSingleTransfer() {
+        // Arrange
+        SenderTransferCoalescer coalescer = coalescer(10, 50);
+        TransferRequestDTO request = request(7001L, 10.0);
+        when(transactionService.transferFunds(request, 7L))
+                .thenReturn(new TransferResponseDTO("LLB1", "Transfer successful", 90, 10, "Success"));
+
+        // Act & Assert
+        assertThat(coalescer.transfer(request, 7L).getTransactionId()).isEqualTo("LLB1");
+        verify(transactionService, never()).transferFundsFromSender(anyList(), any());
+    }
+
+    @Test
+    void transfer_SingleTransferFailure_PropagatesOriginalException() {
+        // Arrange
+        SenderTransferCoalescer coalescer = coalescer(10, 50);
+        TransferRequestDTO request = request(7001L, 10.0);
+        when(transactionService.transferFunds(request, 7L))
+                .thenThrow(new InsufficientFundsException("Insufficient funds in the sender account"));
+
+        // Act & Assert
+        assertThrows(InsufficientFundsException.class, () -> coalescer.transfer(request, 7L));
+    }
+
+    @Test
+    void transfer_DifferentSenders_AreNotGrouped() {
+        // Arrange
+        SenderTransferCoalescer coalescer = coalescer(10, 50);
+        when(transactionService.transferFunds(any(TransferRequestDTO.class), eq(7L)))
+                .thenReturn(new TransferResponseDTO("LLB1", "Transfer successful", 90, 10, "Success"));
+
+        // Act
+        coalescer.transfer(request(7001L, 10.0), 7L);
+        coalescer.transfer(request(7002L, 10.0), 7L);
+
+        // Assert
+        verify(transactionService, times(2)).transferFunds(any(TransferRequestDTO.class), eq(7L));
+    }
+
+    private SenderTransferCoalescer coalescer(long windowMs, int maxGroupSize) {
+        return new SenderTransferCoalescer(transactionService, new SimpleMeterRegistry(), true, windowMs, maxGroupSize);
+    }
+
+    private TransferRequestDTO request(Long senderAccountId, double amount) {
+        TransferRequestDTO request = new TransferRequestDTO();
+        request.setSenderAccountId(senderAccountId);
+        request.setReceiverAccountId(8001L);
+        request.setAmount(amount);
+        return request;
+    }
+}
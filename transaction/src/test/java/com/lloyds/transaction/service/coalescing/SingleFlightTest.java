@@ -0,0 +1,136 @@
+package com.lloyds.transaction.service.coalescing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<Long, String> singleFlight;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test", meterRegistry);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        List<Future<String>> results = startCallers(() -> {
+            calls.incrementAndGet();
+            await(release);
+            return "account-1";
+        });
+        awaitJoiners(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("account-1");
+        }
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(meterRegistry.get("single-flight.coalescing-ratio").gauge().value())
+                .isEqualTo((double) (CALLERS - 1) / CALLERS);
+    }
+
+    @Test
+    void joinersGetTheLeadersException() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = startCallers(() -> {
+            await(release);
+            throw new IllegalStateException("account service down");
+        });
+        awaitJoiners(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("account service down");
+        }
+    }
+
+    @Test
+    void nothingIsKeptOnceTheCallReturns() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute(1L, () -> "v" + calls.incrementAndGet());
+
+        assertThat(singleFlight.execute(1L, () -> "v" + calls.incrementAndGet())).isEqualTo("v2");
+    }
+
+    @Test
+    void forget_LaterCallersStartTheirOwnCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            await(release);
+            return "before update";
+        }));
+        awaitLeader();
+
+        singleFlight.forget(key -> key == 1L);
+
+        assertThat(singleFlight.execute(1L, () -> "after update")).isEqualTo("after update");
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("before update");
+    }
+
+    private List<Future<String>> startCallers(Supplier<String> call) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(1L, call)));
+        }
+        return results;
+    }
+
+    private void awaitLeader() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("single-flight.calls").tag("role", "leader").counter().count() < 1
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitJoiners(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("single-flight.calls").tag("role", "joiner").counter().count() < expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
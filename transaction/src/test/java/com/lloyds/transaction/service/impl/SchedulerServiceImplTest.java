@@ -2,13 +2,19 @@ package com.lloyds.transaction.service.impl;
 
 import com.lloyds.transaction.dto.request.TransferRequestDTO;
 import com.lloyds.transaction.dto.response.AccountDTO;
+import com.lloyds.transaction.dto.response.BulkSchedulerResponseDTO;
+import com.lloyds.transaction.dto.response.ScheduledTransferDTO;
 import com.lloyds.transaction.dto.response.SchedulerResponseDTO;
+import com.lloyds.transaction.entity.ScheduledTransfer;
 import com.lloyds.transaction.exception.AccountNotFoundException;
+import com.lloyds.transaction.exception.ScheduledTransferNotFoundException;
 import com.lloyds.transaction.exception.SchedulerException;
 import com.lloyds.transaction.exception.TransferSchedulingException;
 import com.lloyds.transaction.feign.AccountInterface;
+import com.lloyds.transaction.repository.ScheduledTransferRepository;
 import com.lloyds.transaction.security.JwtUtil;
 import com.lloyds.transaction.service.SchedulerServiceImpl;
+import com.lloyds.transaction.service.quartz.TransferFundsJob;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,22 +22,35 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Answers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.quartz.CronTrigger;
 import org.quartz.JobDetail;
 import org.quartz.JobKey;
 import org.quartz.Scheduler;
+import org.quartz.SimpleTrigger;
 import org.quartz.Trigger;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -45,12 +64,15 @@ class SchedulerServiceImplTest {
     @Mock
     private Scheduler scheduler;
 
-    @Mock
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private AccountInterface accountFeignClient;
 
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private ScheduledTransferRepository scheduledTransferRepository;
+
     @InjectMocks
     private SchedulerServiceImpl schedulerService;
 
@@ -86,6 +108,11 @@ class SchedulerServiceImplTest {
        jobKey = new JobKey("testJob", "testGroup");
 
         ReflectionTestUtils.setField(schedulerService, "apiKey", "test-api-key");
+        lenient().when(scheduledTransferRepository.save(any(ScheduledTransfer.class))).thenAnswer(invocation -> {
+            ScheduledTransfer saved = invocation.getArgument(0);
+            saved.setId(42L);
+            return saved;
+        });
     }
 
     @Test
@@ -96,7 +123,6 @@ class SchedulerServiceImplTest {
         when(jwtUtil.extractId(anyString())).thenReturn("1");
         when(accountFeignClient.getAccountsByCustomerId(anyString(), anyString(), anyLong()))
                 .thenReturn(ResponseEntity.ok(accountList));
-        when(scheduler.scheduleJob(any(JobDetail.class), any(Trigger.class))).thenReturn(null);
 
         // Act
         SchedulerResponseDTO response = schedulerService.scheduleTransfer(authHeader, transferRequest);
@@ -114,7 +140,272 @@ class SchedulerServiceImplTest {
 
         verify(jwtUtil, times(1)).extractId(anyString());
         verify(accountFeignClient, times(1)).getAccountsByCustomerId(anyString(), anyString(), anyLong());
-        verify(scheduler, times(1)).scheduleJob(any(JobDetail.class), any(Trigger.class));
+        verify(scheduler, times(1)).scheduleJob(any(JobDetail.class), anySet(), eq(false));
+    }
+
+    @Test
+    void testScheduleTransfer_TrustedAccountClaim_SkipsAccountLookup() throws Exception {
+        // Arrange
+        String authHeader = "Bearer test-token";
+        when(jwtUtil.extractId("test-token")).thenReturn("1");
+        when(jwtUtil.extractOwnedAccountIds("test-token")).thenReturn(Optional.of(Set.of(5L)));
+
+        // Act
+        SchedulerResponseDTO response = schedulerService.scheduleTransfer(authHeader, transferRequest);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo("SUCCESS");
+        verify(scheduler).scheduleJob(any(JobDetail.class), anySet(), eq(false));
+        verifyNoInteractions(accountFeignClient);
+    }
+
+    @Test
+    void testScheduleTransfer_TrustedAccountClaim_RejectsUnclaimedSender() {
+        // Arrange
+        when(jwtUtil.extractId("test-token")).thenReturn("1");
+        when(jwtUtil.extractOwnedAccountIds("test-token")).thenReturn(Optional.of(Set.of(6L)));
+
+        // Act & Assert
+        assertThrows(AccountNotFoundException.class, () -> schedulerService.scheduleTransfer("Bearer test-token", transferRequest));
+        verifyNoInteractions(accountFeignClient, scheduler);
+    }
+
+    @Test
+    void testScheduleTransfer_JobDataMapHoldsOnlyPayloadReference() throws Exception {
+        // Arrange
+        String authHeader = "Bearer test-token";
+        when(jwtUtil.extractId(anyString())).thenReturn("1");
+        when(accountFeignClient.getAccountsByCustomerId(anyString(), anyString(), anyLong()))
+                .thenReturn(ResponseEntity.ok(accountList));
+        ArgumentCaptor<JobDetail> jobDetailCaptor = ArgumentCaptor.forClass(JobDetail.class);
+
+        // Act
+        SchedulerResponseDTO response = schedulerService.scheduleTransfer(authHeader, transferRequest);
+
+        // Assert
+        verify(scheduler).scheduleJob(jobDetailCaptor.capture(), anySet(), eq(false));
+        JobDetail scheduledJob = jobDetailCaptor.getValue();
+        assertThat(scheduledJob.getJobDataMap().getKeys()).containsExactly(TransferFundsJob.SCHEDULED_TRANSFER_ID);
+        assertThat(scheduledJob.getJobDataMap().getString(TransferFundsJob.SCHEDULED_TRANSFER_ID)).isEqualTo("42");
+        verify(scheduledTransferRepository).save(argThat(saved ->
+                saved.getEngine() == ScheduledTransfer.Engine.QUARTZ
+                        && saved.getJobName().equals(response.getJobId())
+                        && saved.getAmount() == 2.00));
+    }
+
+    @Test
+    void testScheduleTransfer_SweeperEngine_StoresRowInsteadOfQuartzJob() {
+        // Arrange
+        String authHeader = "Bearer test-token";
+        ReflectionTestUtils.setField(schedulerService, "schedulerEngine", "sweeper");
+        when(jwtUtil.extractId(anyString())).thenReturn("1");
+        when(accountFeignClient.getAccountsByCustomerId(anyString(), anyString(), anyLong()))
+                .thenReturn(ResponseEntity.ok(accountList));
+
+        // Act
+        SchedulerResponseDTO response = schedulerService.scheduleTransfer(authHeader, transferRequest);
+
+        // Assert
+        assertThat(response.getStatus()).isEqualTo("SUCCESS");
+        assertThat(response.getJobId()).isEqualTo("42");
+        verify(scheduledTransferRepository).save(argThat(saved ->
+                saved.getStatus() == ScheduledTransfer.Status.PENDING
+                        && saved.getEngine() == ScheduledTransfer.Engine.SWEEPER
+                        && saved.getCustomerId().equals(1L)
+                        && saved.getDueAt().equals(ZonedDateTime.of(transferRequest.getScheduledTime(), transferRequest.getTimeZone()).toInstant())));
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    void testScheduleTransfers_RegistersValidItemsInOneCallAndReportsFailures() throws Exception {
+        // Arrange
+        String authHeader = "Bearer test-token";
+        ReflectionTestUtils.setField(schedulerService, "bulkMaxItems", 10);
+        TransferRequestDTO recurring = bulkItem(5L);
+        recurring.setRecurrencePattern("WEEKLY");
+        recurring.setStartDate(LocalDateTime.of(2030, 1, 6, 9, 0));
+        recurring.setEndDate(LocalDateTime.of(2031, 1, 6, 9, 0));
+        TransferRequestDTO foreignSender = bulkItem(99L);
+        TransferRequestDTO badPattern = bulkItem(5L);
+        badPattern.setRecurrencePattern("HOURLY");
+        when(jwtUtil.extractId(anyString())).thenReturn("1");
+        when(accountFeignClient.getAccountsByCustomerId(anyString(), anyString(), anyLong()))
+                .thenReturn(ResponseEntity.ok(accountList));
+
+        // Act
+        BulkSchedulerResponseDTO response = schedulerService.scheduleTransfers(authHeader,
+                List.of(transferRequest, recurring, foreignSender, badPattern));
+
+        // Assert
+        assertThat(response.getRequested()).isEqualTo(4);
+        assertThat(response.getScheduled()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(SchedulerResponseDTO::getStatus)
+                .containsExactly("SUCCESS", "SUCCESS", "FAILED", "FAILED");
+        assertThat(response.getResults().get(2).getMessage()).isEqualTo("Sender account not found");
+        assertThat(response.getResults().get(3).getMessage()).isEqualTo("Invalid recurrence pattern: HOURLY");
+
+        verify(accountFeignClient, times(1)).getAccountsByCustomerId(anyString(), anyString(), anyLong());
+        verify(scheduler, times(1)).scheduleJobs(argThat(jobs -> jobs.size() == 2), eq(false));
+        verify(scheduler, never()).scheduleJob(any(JobDetail.class), anySet(), eq(false));
+        verify(scheduledTransferRepository, times(2)).save(any(ScheduledTransfer.class));
+    }
+
+    @Test
+    void testScheduleTransfers_TooManyItems() {
+        // Arrange
+        ReflectionTestUtils.setField(schedulerService, "bulkMaxItems", 1);
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+                schedulerService.scheduleTransfers("Bearer test-token", List.of(transferRequest, transferRequest)));
+        verifyNoInteractions(accountFeignClient, scheduler);
+    }
+
+    private TransferRequestDTO bulkItem(Long senderAccountId) {
+        TransferRequestDTO item = new TransferRequestDTO();
+        item.setSenderAccountId(senderAccountId);
+        item.setReceiverAccountId(2L);
+        item.setAmount(5.00);
+        item.setScheduledTime(LocalDateTime.of(2030, 2, 17, 16, 28));
+        item.setTimeZone(ZoneId.of("Asia/Kolkata"));
+        return item;
+    }
+
+    @Test
+    void testGetScheduledTransfers_UsesCustomerIndex() {
+        // Arrange
+        ScheduledTransfer pending = storedTransfer(ScheduledTransfer.Engine.QUARTZ, ScheduledTransfer.Status.PENDING);
+        when(jwtUtil.extractId(anyString())).thenReturn("1");
+        when(scheduledTransferRepository.findByCustomerIdAndStatus(eq(1L), eq(ScheduledTransfer.Status.PENDING), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(pending)));
+
+        // Act
+        Page<ScheduledTransferDTO> transfers = schedulerService.getScheduledTransfers("Bearer test-token", null, "pending", 1, 20);
+
+        // Assert
+        assertThat(transfers.getContent()).extracting(ScheduledTransferDTO::getJobId).containsExactly("job-7");
+        verify(scheduledTransferRepository, never())
+                .findByCustomerIdAndSenderAccountIdAndStatus(anyLong(), anyLong(), any(), any(Pageable.class));
+    }
+
+    @Test
+    void testGetScheduledTransfers_ClampsPageSize() {
+        // Arrange
+        when(jwtUtil.extractId(anyString())).thenReturn("1");
+        when(scheduledTransferRepository.findByCustomerIdAndStatus(eq(1L), eq(ScheduledTransfer.Status.PENDING), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of()));
+
+        // Act
+        schedulerService.getScheduledTransfers("Bearer test-token", null, "PENDING", 1, 10_000);
+
+        // Assert
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(scheduledTransferRepository).findByCustomerIdAndStatus(eq(1L), eq(ScheduledTransfer.Status.PENDING), pageable.capture());
+        assertEquals(100, pageable.getValue().getPageSize());
+    }
+
+    @Test
+    void testGetScheduledTransfers_InvalidSizeOrStatus_IsRejected() {
+        IllegalArgumentException size = assertThrows(IllegalArgumentException.class, () ->
+                schedulerService.getScheduledTransfers("Bearer test-token", null, "PENDING", 1, 0));
+        IllegalArgumentException status = assertThrows(IllegalArgumentException.class, () ->
+                schedulerService.getScheduledTransfers("Bearer test-token", null, "SOON", 1, 20));
+
+        assertEquals("Page size must be 1 or greater.", size.getMessage());
+        assertThat(status.getMessage()).startsWith("Unknown status: SOON.");
+        verifyNoInteractions(scheduledTransferRepository);
+    }
+
+    @Test
+    void testCancelScheduledTransfer_QuartzRowDeletesJob() throws Exception {
+        // Arrange
+        ScheduledTransfer pending = storedTransfer(ScheduledTransfer.Engine.QUARTZ, ScheduledTransfer.Status.PENDING);
+        when(jwtUtil.extractId(anyString())).thenReturn("1");
+        when(scheduledTransferRepository.findByIdAndCustomerId(7L, 1L)).thenReturn(Optional.of(pending));
+        when(scheduledTransferRepository.cancelIfWaiting(eq(7L), eq(EnumSet.of(ScheduledTransfer.Status.PENDING, ScheduledTransfer.Status.RETRYING)),
+                eq(ScheduledTransfer.Status.CANCELLED), any(Instant.class))).thenReturn(1);
+
+        // Act
+        ScheduledTransferDTO cancelled = schedulerService.cancelScheduledTransfer("Bearer test-token", 7L);
+
+        // Assert
+        assertThat(cancelled.getStatus()).isEqualTo("CANCELLED");
+        assertThat(cancelled.getNextFireTime()).isNull();
+        verify(scheduler).deleteJob(new JobKey("job-7", TransferFundsJob.JOB_GROUP));
+    }
+
+    @Test
+    void testCancelScheduledTransfer_WaitingForRetry() throws Exception {
+        // Arrange
+        ScheduledTransfer retrying = storedTransfer(ScheduledTransfer.Engine.SWEEPER, ScheduledTransfer.Status.RETRYING);
+        when(jwtUtil.extractId(anyString())).thenReturn("1");
+        when(scheduledTransferRepository.findByIdAndCustomerId(7L, 1L)).thenReturn(Optional.of(retrying));
+        when(scheduledTransferRepository.cancelIfWaiting(eq(7L), eq(EnumSet.of(ScheduledTransfer.Status.PENDING, ScheduledTransfer.Status.RETRYING)),
+                eq(ScheduledTransfer.Status.CANCELLED), any(Instant.class))).thenReturn(1);
+
+        // Act
+        ScheduledTransferDTO cancelled = schedulerService.cancelScheduledTransfer("Bearer test-token", 7L);
+
+        // Assert
+        assertThat(cancelled.getStatus()).isEqualTo("CANCELLED");
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    void testCancelScheduledTransfer_AlreadyClaimed() {
+        // Arrange
+        ScheduledTransfer claimed = storedTransfer(ScheduledTransfer.Engine.SWEEPER, ScheduledTransfer.Status.CLAIMED);
+        when(jwtUtil.extractId(anyString())).thenReturn("1");
+        when(scheduledTransferRepository.findByIdAndCustomerId(7L, 1L)).thenReturn(Optional.of(claimed));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                schedulerService.cancelScheduledTransfer("Bearer test-token", 7L));
+        assertThat(exception.getMessage()).isEqualTo("Scheduled transfer is CLAIMED and can no longer be cancelled");
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    void testCancelScheduledTransfer_QuartzJobRunning_IsRefused() {
+        // Arrange: the Quartz job claimed the row when it started executing
+        ScheduledTransfer running = storedTransfer(ScheduledTransfer.Engine.QUARTZ, ScheduledTransfer.Status.CLAIMED);
+        when(jwtUtil.extractId(anyString())).thenReturn("1");
+        when(scheduledTransferRepository.findByIdAndCustomerId(7L, 1L)).thenReturn(Optional.of(running));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                schedulerService.cancelScheduledTransfer("Bearer test-token", 7L));
+        assertThat(exception.getMessage()).isEqualTo("Scheduled transfer is CLAIMED and can no longer be cancelled");
+        verifyNoInteractions(scheduler);
+    }
+
+    @Test
+    void testCancelScheduledTransfer_NotOwned() {
+        // Arrange
+        when(jwtUtil.extractId(anyString())).thenReturn("1");
+        when(scheduledTransferRepository.findByIdAndCustomerId(7L, 1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ScheduledTransferNotFoundException.class, () ->
+                schedulerService.cancelScheduledTransfer("Bearer test-token", 7L));
+        verify(scheduledTransferRepository, never()).cancelIfWaiting(anyLong(), any(), any(), any());
+    }
+
+    private ScheduledTransfer storedTransfer(ScheduledTransfer.Engine engine, ScheduledTransfer.Status status) {
+        ScheduledTransfer scheduledTransfer = new ScheduledTransfer();
+        scheduledTransfer.setId(7L);
+        scheduledTransfer.setEngine(engine);
+        scheduledTransfer.setJobName(engine == ScheduledTransfer.Engine.QUARTZ ? "job-7" : null);
+        scheduledTransfer.setStatus(status);
+        scheduledTransfer.setCustomerId(1L);
+        scheduledTransfer.setSenderAccountId(5L);
+        scheduledTransfer.setReceiverAccountId(2L);
+        scheduledTransfer.setAmount(2.00);
+        scheduledTransfer.setDueAt(Instant.now().plusSeconds(3600));
+        scheduledTransfer.setNextFireTime(scheduledTransfer.getDueAt());
+        scheduledTransfer.setCreatedAt(Instant.now());
+        return scheduledTransfer;
     }
 
     @Test
@@ -127,7 +418,6 @@ class SchedulerServiceImplTest {
         when(jwtUtil.extractId(anyString())).thenReturn("1");
         when(accountFeignClient.getAccountsByCustomerId(anyString(), anyString(), anyLong()))
                 .thenReturn(ResponseEntity.ok(accountList));
-        when(scheduler.scheduleJob(any(JobDetail.class), any(Trigger.class))).thenReturn(null);
 
         // Act
         SchedulerResponseDTO response = schedulerService.scheduleTransfer(authHeader, transferRequest);
@@ -143,7 +433,7 @@ class SchedulerServiceImplTest {
         SchedulerResponseDTO response2 = new SchedulerResponseDTO("SUCCESS", "Transfer scheduled successfully!", response.getJobId(), response.getTriggerId());
         verify(jwtUtil, times(1)).extractId(anyString());
         verify(accountFeignClient, times(1)).getAccountsByCustomerId(anyString(), anyString(), anyLong());
-        verify(scheduler, times(1)).scheduleJob(any(JobDetail.class), any(Trigger.class));
+        verify(scheduler, times(1)).scheduleJob(any(JobDetail.class), anySet(), eq(false));
     }
 
     @Test
@@ -189,7 +479,7 @@ class SchedulerServiceImplTest {
         when(jwtUtil.extractId(anyString())).thenReturn("1");
         when(accountFeignClient.getAccountsByCustomerId(anyString(), anyString(), anyLong()))
                 .thenReturn(new ResponseEntity<>(accountList, HttpStatus.OK));
-        doThrow(new org.quartz.SchedulerException("Scheduler error")).when(scheduler).scheduleJob(any(), any());
+        doThrow(new org.quartz.SchedulerException("Scheduler error")).when(scheduler).scheduleJob(any(), anySet(), anyBoolean());
 
         // Act & Assert
         SchedulerException exception = assertThrows(SchedulerException.class, () ->
@@ -198,7 +488,7 @@ class SchedulerServiceImplTest {
 
         verify(jwtUtil, times(1)).extractId(anyString());
         verify(accountFeignClient, times(1)).getAccountsByCustomerId(anyString(), anyString(), anyLong());
-        verify(scheduler, times(1)).scheduleJob(any(), any());
+        verify(scheduler, times(1)).scheduleJob(any(), anySet(), anyBoolean());
     }
 
     static Stream<Arguments> provideTestCases() {
@@ -257,6 +547,91 @@ class SchedulerServiceImplTest {
         assertThat(trigger.getJobKey()).isEqualTo(jobKey);
     }
 
+    @Test
+    void testBuildRecurringTrigger_QueueMisfireMode_SkipsMissedFireTimes() {
+        // Arrange
+        ReflectionTestUtils.setField(schedulerService, "misfireMode", "queue");
+        transferRequest.setRecurrencePattern("DAILY");
+        transferRequest.setStartDate(ZonedDateTime.now().toLocalDateTime());
+        transferRequest.setEndDate(ZonedDateTime.now().plusDays(10).toLocalDateTime());
+
+        when(jobDetail.getKey()).thenReturn(jobKey);
+
+        // Act
+        Trigger trigger = schedulerService.buildRecurringTrigger(jobDetail, transferRequest);
+
+        // Assert
+        assertThat(trigger.getMisfireInstruction()).isEqualTo(CronTrigger.MISFIRE_INSTRUCTION_DO_NOTHING);
+    }
+
+    @Test
+    void testBuildJobTrigger_QueueMisfireMode_SkipsMissedFireTime() {
+        // Arrange
+        ReflectionTestUtils.setField(schedulerService, "misfireMode", "queue");
+        when(jobDetail.getKey()).thenReturn(jobKey);
+
+        // Act
+        Trigger trigger = schedulerService.buildJobTrigger(jobDetail, ZonedDateTime.now().plusHours(1));
+
+        // Assert
+        assertThat(trigger.getMisfireInstruction())
+                .isEqualTo(SimpleTrigger.MISFIRE_INSTRUCTION_RESCHEDULE_NEXT_WITH_REMAINING_COUNT);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testScheduleRecurringTransfer_SpreadSlotPassedOnStartDay_FirstRunIsOnStartDay() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(schedulerService, "spreadRecurring", true);
+        ReflectionTestUtils.setField(schedulerService, "spreadWindowStart", "00:00");
+        ReflectionTestUtils.setField(schedulerService, "spreadWindowEnd", "06:00");
+        transferRequest.setRecurrencePattern("MONTHLY");
+        transferRequest.setStartDate(LocalDateTime.of(2030, 7, 1, 9, 0));
+        transferRequest.setEndDate(LocalDateTime.of(2031, 7, 1, 9, 0));
+        when(jwtUtil.extractId(anyString())).thenReturn("1");
+        when(accountFeignClient.getAccountsByCustomerId(anyString(), anyString(), anyLong()))
+                .thenReturn(ResponseEntity.ok(accountList));
+        ArgumentCaptor<JobDetail> jobDetailCaptor = ArgumentCaptor.forClass(JobDetail.class);
+        ArgumentCaptor<Set<Trigger>> triggersCaptor = ArgumentCaptor.forClass(Set.class);
+
+        // Act
+        schedulerService.scheduleTransfer("Bearer test-token", transferRequest);
+
+        // Assert
+        verify(scheduler).scheduleJob(jobDetailCaptor.capture(), triggersCaptor.capture(), eq(false));
+        LocalTime slot = schedulerService.spreadFireTime(jobDetailCaptor.getValue().getKey());
+        assertThat(slot).isBefore(LocalTime.of(6, 0));
+        ZoneId zone = transferRequest.getTimeZone();
+        Date requestedStart = Date.from(LocalDateTime.of(2030, 7, 1, 9, 0).atZone(zone).toInstant());
+        assertThat(triggersCaptor.getValue()).hasSize(2);
+        SimpleTrigger startDay = (SimpleTrigger) triggersCaptor.getValue().stream()
+                .filter(SimpleTrigger.class::isInstance).findFirst().orElseThrow();
+        CronTrigger recurring = (CronTrigger) triggersCaptor.getValue().stream()
+                .filter(CronTrigger.class::isInstance).findFirst().orElseThrow();
+
+        // The slot on 1 July is before the requested 09:00, so that day's run is at 09:00 and later ones in the slot
+        assertThat(startDay.getStartTime()).isEqualTo(requestedStart);
+        assertThat(recurring.getCronExpression())
+                .isEqualTo(slot.getSecond() + " " + slot.getMinute() + " " + slot.getHour() + " 1 * ?");
+        assertThat(recurring.getFireTimeAfter(requestedStart))
+                .isEqualTo(Date.from(LocalDateTime.of(2030, 8, 1, 0, 0).with(slot).atZone(zone).toInstant()));
+    }
+
+    @Test
+    void testSpreadFireTime_IsStablePerJobKey() {
+        // Arrange
+        ReflectionTestUtils.setField(schedulerService, "spreadWindowStart", "00:00");
+        ReflectionTestUtils.setField(schedulerService, "spreadWindowEnd", "06:00");
+
+        // Act & Assert
+        assertThat(schedulerService.spreadFireTime(new JobKey("job-a", "transfer-jobs")))
+                .isEqualTo(schedulerService.spreadFireTime(new JobKey("job-a", "transfer-jobs")));
+        assertThat(Stream.of("job-a", "job-b", "job-c", "job-d")
+                .map(name -> schedulerService.spreadFireTime(new JobKey(name, "transfer-jobs")))
+                .distinct()
+                .count()).isGreaterThan(1);
+    }
+
     @Test
     void testBuildRecurringTrigger_InvalidPattern() {
         // Arrange
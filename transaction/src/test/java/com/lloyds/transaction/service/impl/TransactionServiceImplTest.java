@@ -10,18 +10,28 @@ import com.lloyds.transaction.dto.response.CustomerDTO;
 import com.lloyds.transaction.dto.response.TransactionDTO;
 import com.lloyds.transaction.dto.response.TransferResponseDTO;
 import com.lloyds.transaction.entity.Transaction;
+import com.lloyds.transaction.exception.AccountNotFoundException;
+import com.lloyds.transaction.exception.AccountServiceUnavailableException;
+import com.lloyds.transaction.exception.BalanceUpdateIncompleteException;
 import com.lloyds.transaction.exception.DataAccessException;
 import com.lloyds.transaction.exception.InsufficientFundsException;
+import com.lloyds.transaction.exception.LaneCapacityExceededException;
 import com.lloyds.transaction.feign.AccountInterface;
 import com.lloyds.transaction.feign.CustomerInterface;
 import com.lloyds.transaction.repository.TransactionRepository;
+import com.lloyds.transaction.security.AuthenticatedToken;
 import com.lloyds.transaction.service.TransactionServiceImpl;
+import com.lloyds.transaction.service.TransferOutcome;
+import com.lloyds.transaction.service.recovery.TransferRetryPolicy;
 import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Answers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -32,6 +42,8 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
 
 
@@ -40,6 +52,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -52,7 +65,7 @@ class TransactionServiceImplTest {
     @Mock
     private TransactionRepository transactionRepository;
 
-    @Mock
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private AccountInterface accountInterface;
 
     @Mock
@@ -101,6 +114,11 @@ class TransactionServiceImplTest {
 
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void transferFunds_SuccessfulTransfer() {
 
@@ -154,6 +172,131 @@ class TransactionServiceImplTest {
         verify(transactionRepository, times(1)).save(any(Transaction.class));
     }
 
+    @Test
+    void transferFunds_TrustedAccountClaim_FetchesOnlyTheSenderAccount() {
+        authenticateWithAccountClaim(101L, Set.of(1L, 3L));
+        TransferRequestDTO request = new TransferRequestDTO();
+        request.setSenderAccountId(1L);
+        request.setReceiverAccountId(2L);
+        request.setAmount(100.0);
+        when(accountInterface.getAccountById(eq(1L), anyString(), anyString()))
+                .thenReturn(ResponseEntity.ok(new AccountDTO("1234567890", 500.0, "Checking", 1L, 101L)));
+        when(accountInterface.getAccountById(eq(2L), anyString(), anyString()))
+                .thenReturn(ResponseEntity.ok(new AccountDTO("0987654321", 300.0, "Savings", 2L, 102L)));
+        when(customerInterface.getCustomerById(101L)).thenReturn(ResponseEntity.ok(customer));
+
+        TransferResponseDTO response = transactionService.transferFunds(request, 101L);
+
+        assertEquals(400.0, response.getSourceBalance());
+        assertEquals(400.0, response.getDestinationBalance());
+        verify(accountInterface, never()).getAccountsByCustomerId(anyString(), anyString(), anyLong());
+        verify(accountInterface).updateAccountBalance(eq(1L), eq(BigDecimal.valueOf(400.0)), anyString(), anyString());
+    }
+
+    @Test
+    void transferFunds_TrustedAccountClaim_RejectsUnclaimedSenderWithoutRemoteCalls() {
+        authenticateWithAccountClaim(101L, Set.of(3L));
+        TransferRequestDTO request = new TransferRequestDTO();
+        request.setSenderAccountId(1L);
+        request.setReceiverAccountId(2L);
+        request.setAmount(100.0);
+
+        AccountNotFoundException exception = assertThrows(AccountNotFoundException.class,
+                () -> transactionService.transferFunds(request, 101L));
+
+        assertEquals("Sender account not found", exception.getMessage());
+        verifyNoInteractions(accountInterface, transactionRepository);
+    }
+
+    private static void authenticateWithAccountClaim(Long customerId, Set<Long> ownedAccountIds) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedToken(customerId.toString(), "jti-1", null, ownedAccountIds), "token", null));
+    }
+
+    @Test
+    void transferFundsFromSender_AppliesDebitsAgainstRunningBalance() {
+        AccountDTO sender = new AccountDTO("1234567890", 100.0, "Checking", 1L, 101L);
+        AccountDTO receiver = new AccountDTO("0987654321", 300.0, "Savings", 2L, 102L);
+        when(accountInterface.getAccountsByCustomerId(anyString(), anyString(), anyLong()))
+                .thenReturn(new ResponseEntity<>(List.of(sender), HttpStatus.OK));
+        when(accountInterface.getAccountById(eq(2L), anyString(), anyString()))
+                .thenReturn(new ResponseEntity<>(receiver, HttpStatus.OK));
+        lenient().when(customerInterface.getCustomerById(anyLong())).thenReturn(ResponseEntity.ok(customer));
+
+        List<TransferOutcome> outcomes = transactionService.transferFundsFromSender(
+                List.of(coalescedRequest(40.0), coalescedRequest(40.0), coalescedRequest(40.0)), 101L);
+
+        assertEquals("Success", outcomes.get(0).response().getTransactionStatus());
+        assertEquals(20.0, outcomes.get(1).response().getSourceBalance());
+        assertEquals(380.0, outcomes.get(1).response().getDestinationBalance());
+        assertInstanceOf(InsufficientFundsException.class, outcomes.get(2).failure());
+        assertEquals("Insufficient funds in the sender account", outcomes.get(2).failure().getMessage());
+        verify(accountInterface, times(1)).getAccountsByCustomerId(anyString(), anyString(), anyLong());
+        verify(accountInterface, times(1))
+                .updateAccountBalance(eq(1L), eq(BigDecimal.valueOf(20.0)), anyString(), anyString());
+        verify(accountInterface, times(1))
+                .updateAccountBalance(eq(2L), eq(BigDecimal.valueOf(380.0)), anyString(), anyString());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Transaction>> saved = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository, times(1)).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+    }
+
+    @Test
+    void transferFunds_LaneRejectionAfterSenderDebit_IsNotRetryable() {
+        AccountDTO sender = new AccountDTO("1234567890", 500.0, "Checking", 1L, 101L);
+        AccountDTO receiver = new AccountDTO("0987654321", 300.0, "Savings", 2L, 102L);
+        when(accountInterface.getAccountsByCustomerId(anyString(), anyString(), anyLong()))
+                .thenReturn(new ResponseEntity<>(List.of(sender), HttpStatus.OK));
+        when(accountInterface.getAccountById(eq(2L), anyString(), anyString()))
+                .thenReturn(new ResponseEntity<>(receiver, HttpStatus.OK));
+        doThrow(new LaneCapacityExceededException("Lane SCHEDULED is at capacity for downstream calls"))
+                .when(accountInterface).updateAccountBalance(eq(2L), any(BigDecimal.class), anyString(), anyString());
+
+        BalanceUpdateIncompleteException exception = assertThrows(BalanceUpdateIncompleteException.class,
+                () -> transactionService.transferFunds(coalescedRequest(100.0), 101L));
+
+        assertInstanceOf(LaneCapacityExceededException.class, exception.getCause());
+        assertFalse(new TransferRetryPolicy(true, 5, 30000, 2.0, 3600000).isRetryable(exception));
+        verify(accountInterface).updateAccountBalance(eq(1L), eq(BigDecimal.valueOf(400.0)), anyString(), anyString());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void transferFundsFromSender_ReceiverUnavailable_FailsWithRetryableException() {
+        AccountDTO sender = new AccountDTO("1234567890", 100.0, "Checking", 1L, 101L);
+        when(accountInterface.getAccountsByCustomerId(anyString(), anyString(), anyLong()))
+                .thenReturn(new ResponseEntity<>(List.of(sender), HttpStatus.OK));
+        when(accountInterface.getAccountById(eq(2L), anyString(), anyString()))
+                .thenReturn(new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE));
+
+        List<TransferOutcome> outcomes = transactionService.transferFundsFromSender(
+                List.of(coalescedRequest(10.0), coalescedRequest(20.0)), 101L);
+
+        assertTrue(outcomes.stream().allMatch(outcome -> outcome.failure() instanceof AccountServiceUnavailableException));
+        verify(accountInterface, times(1)).getAccountById(eq(2L), anyString(), anyString());
+        verify(accountInterface, never()).updateAccountBalance(any(), any(), anyString(), anyString());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void transferFundsFromSender_RejectsMixedSenders() {
+        TransferRequestDTO other = coalescedRequest(10.0);
+        other.setSenderAccountId(9L);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.transferFundsFromSender(List.of(coalescedRequest(10.0), other), 101L));
+        verifyNoInteractions(accountInterface);
+    }
+
+    private TransferRequestDTO coalescedRequest(double amount) {
+        TransferRequestDTO request = new TransferRequestDTO();
+        request.setSenderAccountId(1L);
+        request.setReceiverAccountId(2L);
+        request.setAmount(amount);
+        return request;
+    }
+
     @Test
     void shouldThrowExceptionWhenInsufficientFunds() {
         TransferRequestDTO transferRequest = new TransferRequestDTO();
@@ -0,0 +1,164 @@
+package com.lloyds.transaction.service.lanes;
+
+import com.lloyds.transaction.exception.LaneCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExecutionLanesTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ExecutionLanes executionLanes;
+
+    private ExecutorService executor;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // One interactive and two scheduled transfers at a time, one downstream call per lane; scheduled work gives up sooner
+        executionLanes = new ExecutionLanes(meterRegistry, 1, 1, 1000, 2, 1, 200);
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void run_LaneFull_RejectsAfterTimeout() throws Exception {
+        // Arrange
+        occupy(Lane.INTERACTIVE);
+
+        // Act & Assert
+        assertThrows(LaneCapacityExceededException.class, () -> executionLanes.run(Lane.INTERACTIVE, () -> "late"));
+        assertThat(executionLanes.run(Lane.SCHEDULED, () -> "scheduled")).isEqualTo("scheduled");
+        assertThat(meterRegistry.get("transfer.lane.rejected").tag("lane", "interactive").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("transfer.lane.active").tag("lane", "interactive").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void run_InteractiveQueueing_ScheduledWaits() throws Exception {
+        // Arrange: the interactive lane is full and another interactive transfer is queueing for it
+        occupy(Lane.INTERACTIVE);
+        Future<String> queued = executor.submit(() -> executionLanes.run(Lane.INTERACTIVE, () -> "interactive"));
+        awaitQueued(Lane.INTERACTIVE);
+
+        // Act & Assert: the scheduled lane has room, but steps back while interactive work waits
+        assertThrows(LaneCapacityExceededException.class, () -> executionLanes.run(Lane.SCHEDULED, () -> "scheduled"));
+        assertThat(meterRegistry.get("transfer.lane.rejected").tag("lane", "scheduled").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(queued.get(1, TimeUnit.SECONDS)).isEqualTo("interactive");
+        assertThat(executionLanes.run(Lane.SCHEDULED, () -> "scheduled")).isEqualTo("scheduled");
+    }
+
+    @Test
+    void callDownstream_LimitedByBudgetOfCurrentLane() throws Exception {
+        // Arrange: a scheduled transfer holds the lane's only downstream call
+        CountDownLatch calling = new CountDownLatch(1);
+        executor.submit(() -> executionLanes.run(Lane.SCHEDULED, () -> downstream(() -> {
+            calling.countDown();
+            release.await();
+            return "first";
+        })));
+        assertThat(calling.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // Act & Assert
+        assertThrows(LaneCapacityExceededException.class,
+                () -> executionLanes.run(Lane.SCHEDULED, () -> downstream(() -> "second")));
+        assertThat(executionLanes.run(Lane.INTERACTIVE, () -> downstream(() -> "interactive"))).isEqualTo("interactive");
+        assertThat(executionLanes.callDownstream(() -> "outside any lane")).isEqualTo("outside any lane");
+    }
+
+    @Test
+    void callDownstream_AfterWriteStarted_BypassesBudget() throws Exception {
+        // Arrange: a scheduled transfer holds the lane's only downstream call
+        CountDownLatch calling = new CountDownLatch(1);
+        executor.submit(() -> executionLanes.run(Lane.SCHEDULED, () -> downstream(() -> {
+            calling.countDown();
+            release.await();
+            return "first";
+        })));
+        assertThat(calling.await(1, TimeUnit.SECONDS)).isTrue();
+
+        // Act & Assert: once a balance has been written the transfer's remaining calls are never rejected
+        assertThat(executionLanes.run(Lane.SCHEDULED, () -> {
+            try {
+                executionLanes.callDownstreamWrite(() -> "debit sender");
+                return executionLanes.callDownstreamWrite(() -> "credit receiver") + downstream(() -> " read");
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        })).isEqualTo("credit receiver read");
+        assertThrows(LaneCapacityExceededException.class,
+                () -> executionLanes.run(Lane.SCHEDULED, () -> downstream(() -> "next transfer")));
+    }
+
+    @Test
+    void run_NestedInSameThread_DoesNotTakeSecondPermit() {
+        assertThat(executionLanes.run(Lane.INTERACTIVE,
+                () -> executionLanes.run(Lane.INTERACTIVE, () -> "nested"))).isEqualTo("nested");
+    }
+
+    private void occupy(Lane lane) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.submit(() -> executionLanes.run(lane, () -> {
+            started.countDown();
+            awaitRelease();
+            return null;
+        }));
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private void awaitQueued(Lane lane) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (meterRegistry.get("transfer.lane.queued").tag("lane", lane.tag()).gauge().value() < 1
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private <T> T downstream(ThrowingCall<T> call) {
+        try {
+            return executionLanes.callDownstream(() -> {
+                try {
+                    return call.call();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingCall<T> {
+        T call() throws InterruptedException;
+    }
+}
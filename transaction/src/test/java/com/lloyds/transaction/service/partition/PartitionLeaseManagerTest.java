@@ -0,0 +1,120 @@
+package com.lloyds.transaction.service.partition;
+
+import com.lloyds.transaction.entity.PartitionLease;
+import com.lloyds.transaction.entity.SchedulerNode;
+import com.lloyds.transaction.repository.PartitionLeaseRepository;
+import com.lloyds.transaction.repository.SchedulerNodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionLeaseManagerTest {
+
+    @Mock
+    private PartitionLeaseRepository partitionLeaseRepository;
+
+    @Mock
+    private SchedulerNodeRepository schedulerNodeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PartitionLeaseManager partitionLeaseManager;
+
+    @BeforeEach
+    void setUp() {
+        partitionLeaseManager = new PartitionLeaseManager(partitionLeaseRepository, schedulerNodeRepository,
+                transactionManager, 4, 30000);
+    }
+
+    @Test
+    void rebalance_SingleNodeTakesEveryFreePartition() {
+        // Arrange
+        List<PartitionLease> leases = leases();
+        liveNodes(partitionLeaseManager.getNodeId());
+        when(partitionLeaseRepository.lockAll()).thenReturn(leases);
+
+        // Act
+        Set<Integer> owned = partitionLeaseManager.rebalance();
+
+        // Assert
+        assertThat(owned).containsExactly(0, 1, 2, 3);
+        assertThat(leases).allMatch(lease -> partitionLeaseManager.getNodeId().equals(lease.getOwnerNode()));
+    }
+
+    @Test
+    void rebalance_ReleasesExcessWhenAnotherNodeJoins() {
+        // Arrange
+        List<PartitionLease> leases = leases();
+        leases.forEach(lease -> lease(lease, partitionLeaseManager.getNodeId()));
+        liveNodes(partitionLeaseManager.getNodeId(), "other-node");
+        when(partitionLeaseRepository.lockAll()).thenReturn(leases);
+
+        // Act
+        Set<Integer> owned = partitionLeaseManager.rebalance();
+
+        // Assert
+        assertThat(owned).containsExactly(2, 3);
+        assertThat(leases.get(0).getOwnerNode()).isNull();
+        assertThat(leases.get(1).getOwnerNode()).isNull();
+    }
+
+    @Test
+    void rebalance_LeavesPartitionsLeasedByLiveNodes() {
+        // Arrange
+        List<PartitionLease> leases = leases();
+        lease(leases.get(0), "other-node");
+        lease(leases.get(1), "other-node");
+        liveNodes(partitionLeaseManager.getNodeId(), "other-node");
+        when(partitionLeaseRepository.lockAll()).thenReturn(leases);
+
+        // Act
+        Set<Integer> owned = partitionLeaseManager.rebalance();
+
+        // Assert
+        assertThat(owned).containsExactly(2, 3);
+        assertThat(leases.get(0).getOwnerNode()).isEqualTo("other-node");
+    }
+
+    @Test
+    void rebalance_TakesOverExpiredLeases() {
+        // Arrange
+        List<PartitionLease> leases = leases();
+        leases.forEach(lease -> {
+            lease.setOwnerNode("dead-node");
+            lease.setLeaseExpiresAt(Instant.now().minusSeconds(5));
+        });
+        liveNodes(partitionLeaseManager.getNodeId());
+        when(partitionLeaseRepository.lockAll()).thenReturn(leases);
+
+        // Act & Assert
+        assertThat(partitionLeaseManager.rebalance()).containsExactly(0, 1, 2, 3);
+    }
+
+    private List<PartitionLease> leases() {
+        return IntStream.range(0, 4).mapToObj(PartitionLease::new).toList();
+    }
+
+    private void lease(PartitionLease lease, String owner) {
+        lease.setOwnerNode(owner);
+        lease.setLeaseExpiresAt(Instant.now().plusSeconds(30));
+    }
+
+    private void liveNodes(String... nodeIds) {
+        when(schedulerNodeRepository.findByHeartbeatAtAfter(any(Instant.class)))
+                .thenReturn(java.util.Arrays.stream(nodeIds).map(id -> new SchedulerNode(id, Instant.now())).toList());
+    }
+}
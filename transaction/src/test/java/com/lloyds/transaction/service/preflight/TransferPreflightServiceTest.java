@@ -0,0 +1,134 @@
+package com.lloyds.transaction.service.preflight;
+
+import com.lloyds.transaction.dto.response.AccountDTO;
+import com.lloyds.transaction.entity.ScheduledTransfer;
+import com.lloyds.transaction.feign.AccountInterface;
+import com.lloyds.transaction.repository.ScheduledTransferRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferPreflightServiceTest {
+
+    @Mock
+    private ScheduledTransferRepository scheduledTransferRepository;
+
+    @Mock
+    private AccountInterface accountFeignClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TransferPreflightService transferPreflightService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        transferPreflightService = new TransferPreflightService(scheduledTransferRepository, accountFeignClient,
+                transactionManager, meterRegistry, "test-api-key", 1800000, 600000, 100, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferPreflightService.shutdown();
+    }
+
+    @Test
+    void preflight_FlagsTransfersThatWillFail() {
+        // Arrange
+        ScheduledTransfer first = upcomingTransfer(1L, 5L, 2L, 60.0);
+        ScheduledTransfer exceedsBalance = upcomingTransfer(2L, 5L, 2L, 60.0);
+        ScheduledTransfer unknownSender = upcomingTransfer(3L, 6L, 2L, 10.0);
+        ScheduledTransfer unknownReceiver = upcomingTransfer(4L, 5L, 3L, 10.0);
+        when(scheduledTransferRepository.findDueForPreflight(eq(ScheduledTransfer.Status.PENDING), any(Instant.class),
+                any(Instant.class), any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of(first, exceedsBalance, unknownSender, unknownReceiver));
+        when(accountFeignClient.getAccountsByCustomerId(anyString(), anyString(), eq(1L)))
+                .thenReturn(ResponseEntity.ok(List.of(account(5L, 100.0))));
+        when(accountFeignClient.getAccountById(eq(2L), anyString(), anyString())).thenReturn(ResponseEntity.ok(account(2L, 0.0)));
+        when(accountFeignClient.getAccountById(eq(3L), anyString(), anyString()))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+
+        // Act
+        int flagged = transferPreflightService.preflight();
+
+        // Assert
+        assertThat(flagged).isEqualTo(3);
+        verify(scheduledTransferRepository).recordPreflight(eq(List.of(1L)), eq(ScheduledTransfer.PreflightStatus.PASSED), any(Instant.class));
+        verify(scheduledTransferRepository).recordPreflight(eq(List.of(2L)), eq(ScheduledTransfer.PreflightStatus.INSUFFICIENT_FUNDS), any(Instant.class));
+        verify(scheduledTransferRepository).recordPreflight(eq(List.of(3L)), eq(ScheduledTransfer.PreflightStatus.SENDER_NOT_FOUND), any(Instant.class));
+        verify(scheduledTransferRepository).recordPreflight(eq(List.of(4L)), eq(ScheduledTransfer.PreflightStatus.RECEIVER_NOT_FOUND), any(Instant.class));
+        verify(accountFeignClient, times(1)).getAccountsByCustomerId(anyString(), anyString(), anyLong());
+        assertThat(meterRegistry.get("transfer.preflight.checked").tag("result", "PASSED").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void preflight_AccountServiceUnavailable_LeavesTransfersUnchecked() {
+        // Arrange
+        when(scheduledTransferRepository.findDueForPreflight(eq(ScheduledTransfer.Status.PENDING), any(Instant.class),
+                any(Instant.class), any(Instant.class), any(Pageable.class)))
+                .thenReturn(List.of(upcomingTransfer(1L, 5L, 2L, 60.0)));
+        when(accountFeignClient.getAccountsByCustomerId(anyString(), anyString(), anyLong()))
+                .thenReturn(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        when(accountFeignClient.getAccountById(eq(2L), anyString(), anyString())).thenReturn(ResponseEntity.ok(account(2L, 0.0)));
+
+        // Act
+        int flagged = transferPreflightService.preflight();
+
+        // Assert
+        assertThat(flagged).isZero();
+        verify(scheduledTransferRepository, never()).recordPreflight(any(), any(), any());
+    }
+
+    @Test
+    void preflight_NothingUpcoming() {
+        when(scheduledTransferRepository.findDueForPreflight(any(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        assertThat(transferPreflightService.preflight()).isZero();
+        verifyNoInteractions(accountFeignClient);
+    }
+
+    private ScheduledTransfer upcomingTransfer(Long id, Long senderAccountId, Long receiverAccountId, double amount) {
+        ScheduledTransfer transfer = new ScheduledTransfer();
+        transfer.setId(id);
+        transfer.setCustomerId(1L);
+        transfer.setSenderAccountId(senderAccountId);
+        transfer.setReceiverAccountId(receiverAccountId);
+        transfer.setAmount(amount);
+        transfer.setDueAt(Instant.now().plusSeconds(600));
+        transfer.setNextFireTime(transfer.getDueAt());
+        transfer.setCreatedAt(Instant.now());
+        return transfer;
+    }
+
+    private AccountDTO account(Long id, double balance) {
+        AccountDTO account = new AccountDTO();
+        account.setId(id);
+        account.setBalance(balance);
+        account.setCustomerId(1L);
+        return account;
+    }
+}
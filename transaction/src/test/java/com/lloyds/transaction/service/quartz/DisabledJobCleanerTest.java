@@ -0,0 +1,45 @@
+package com.lloyds.transaction.service.quartz;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.springframework.scheduling.quartz.SchedulerFactoryBean;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DisabledJobCleanerTest {
+
+    @Mock
+    private Scheduler scheduler;
+
+    @Test
+    void start_DeletesEveryDisabledJob() throws Exception {
+        // Arrange
+        JobKey sweeperJob = JobKey.jobKey(TransferSweeperJob.JOB_NAME, TransferSweeperJob.JOB_GROUP);
+        JobKey otherJob = JobKey.jobKey("other", "other-jobs");
+        when(scheduler.deleteJob(sweeperJob)).thenThrow(new SchedulerException("job store unavailable"));
+        DisabledJobCleaner cleaner = new DisabledJobCleaner(scheduler, List.of(sweeperJob, otherJob));
+
+        // Act
+        cleaner.start();
+
+        // Assert
+        verify(scheduler).deleteJob(otherJob);
+        assertThat(cleaner.isRunning()).isTrue();
+    }
+
+    @Test
+    void getPhase_StartsBeforeTheScheduler() {
+        DisabledJobCleaner cleaner = new DisabledJobCleaner(scheduler, List.of());
+
+        assertThat(cleaner.getPhase()).isLessThan(new SchedulerFactoryBean().getPhase());
+    }
+}
@@ -0,0 +1,91 @@
+package com.lloyds.transaction.service.quartz;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quartz.SchedulerConfigException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ElasticThreadPoolTest {
+
+    private ElasticThreadPool threadPool;
+
+    @BeforeEach
+    void setUp() throws SchedulerConfigException {
+        threadPool = new ElasticThreadPool();
+        threadPool.setThreadCount(4);
+        threadPool.setKeepAliveSeconds(1);
+        threadPool.initialize();
+    }
+
+    @AfterEach
+    void tearDown() {
+        threadPool.shutdown(true);
+    }
+
+    @Test
+    void runInThread_NeverExceedsConcurrencyCap() throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(20);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(threadPool.runInThread(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(20);
+                running.decrementAndGet();
+                done.countDown();
+            })).isTrue();
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(peak.get()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void blockForAvailableThreads_ReportsFreeSlots() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        threadPool.runInThread(() -> awaitQuietly(release));
+
+        assertThat(threadPool.blockForAvailableThreads()).isEqualTo(3);
+        assertThat(threadPool.getPoolSize()).isEqualTo(4);
+        release.countDown();
+    }
+
+    @Test
+    void runInThread_AfterShutdown_IsRefused() {
+        threadPool.shutdown(false);
+
+        assertThat(threadPool.runInThread(() -> { })).isFalse();
+    }
+
+    @Test
+    void initialize_InvalidThreadCount_Fails() {
+        ElasticThreadPool invalid = new ElasticThreadPool();
+        invalid.setThreadCount(0);
+
+        assertThrows(SchedulerConfigException.class, invalid::initialize);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,19 +1,37 @@
 package com.lloyds.transaction.service.quartz;
 
 import com.lloyds.transaction.dto.request.TransferRequestDTO;
+import com.lloyds.transaction.dto.response.TransferResponseDTO;
+import com.lloyds.transaction.entity.ScheduledTransfer;
 import com.lloyds.transaction.exception.JobExecutionException;
 import com.lloyds.transaction.exception.SchedulerException;
+import com.lloyds.transaction.repository.ScheduledTransferRepository;
+import com.lloyds.transaction.service.ScheduledTransferExecutor;
 import com.lloyds.transaction.service.TransactionService;
+import com.lloyds.transaction.service.coalescing.SenderTransferCoalescer;
+import com.lloyds.transaction.service.lanes.ExecutionLanes;
+import com.lloyds.transaction.service.recovery.TransferRetryQueue;
 import com.lloyds.transaction.service.quartz.TransferFundsJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.quartz.JobDataMap;
+import org.quartz.JobDetail;
 import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
 import org.quartz.Scheduler;
 import org.quartz.SchedulerContext;
+import org.quartz.Trigger;
+import org.quartz.TriggerKey;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -36,6 +54,15 @@ class TransferFundsJobTest {
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private SenderTransferCoalescer senderTransferCoalescer;
+
+    @Mock
+    private TransferRetryQueue transferRetryQueue;
+
+    @Mock
+    private ScheduledTransferRepository scheduledTransferRepository;
+
     @InjectMocks
     private TransferFundsJob transferFundsJob;
 
@@ -45,6 +72,160 @@ class TransferFundsJobTest {
         when(jobExecutionContext.getScheduler()).thenReturn(scheduler);
         when(scheduler.getContext()).thenReturn(schedulerContext);
         when(schedulerContext.get("transactionService")).thenReturn(transactionService);
+        when(schedulerContext.get("scheduledTransferExecutor"))
+                .thenReturn(new ScheduledTransferExecutor(scheduledTransferRepository, transactionService, senderTransferCoalescer,
+                        transferRetryQueue, new ExecutionLanes(new SimpleMeterRegistry(), 4, 4, 1000, 4, 4, 1000)));
+    }
+
+    @Test
+    void executeInternal_LoadsPayloadByReference() throws Exception {
+        // Arrange
+        ScheduledTransfer scheduledTransfer = new ScheduledTransfer();
+        scheduledTransfer.setId(42L);
+        scheduledTransfer.setCustomerId(1L);
+        scheduledTransfer.setSenderAccountId(12345L);
+        scheduledTransfer.setReceiverAccountId(67890L);
+        scheduledTransfer.setAmount(100.0);
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put(TransferFundsJob.SCHEDULED_TRANSFER_ID, "42");
+
+        when(jobExecutionContext.getMergedJobDataMap()).thenReturn(jobDataMap);
+        when(scheduledTransferRepository.findById(42L)).thenReturn(Optional.of(scheduledTransfer));
+        when(scheduledTransferRepository.claim(eq(42L), any(), eq(ScheduledTransfer.Status.CLAIMED), any(Instant.class))).thenReturn(1);
+        when(transactionService.transferFunds(any(TransferRequestDTO.class), eq(1L)))
+                .thenReturn(new TransferResponseDTO("LLB123", "Transfer successful", 0, 0, "Success"));
+
+        // Act
+        transferFundsJob.executeInternal(jobExecutionContext);
+
+        // Assert
+        verify(transactionService).transferFunds(argThat(request ->
+                request.getSenderAccountId().equals(12345L) && request.getAmount() == 100.0), eq(1L));
+        assertEquals(ScheduledTransfer.Status.COMPLETED, scheduledTransfer.getStatus());
+        assertEquals("LLB123", scheduledTransfer.getTransactionId());
+        verify(scheduledTransferRepository).save(scheduledTransfer);
+    }
+
+    @Test
+    void executeInternal_MissingPayload() throws Exception {
+        // Arrange
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put(TransferFundsJob.SCHEDULED_TRANSFER_ID, "42");
+        when(jobExecutionContext.getMergedJobDataMap()).thenReturn(jobDataMap);
+        when(scheduledTransferRepository.findById(42L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        JobExecutionException exception = assertThrows(JobExecutionException.class, () ->
+                transferFundsJob.executeInternal(jobExecutionContext));
+        assertThat(exception.getMessage(), is("Scheduled transfer not found: 42"));
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void executeInternal_SkipsCancelledTransfer() throws Exception {
+        // Arrange
+        ScheduledTransfer scheduledTransfer = new ScheduledTransfer();
+        scheduledTransfer.setId(42L);
+        scheduledTransfer.setStatus(ScheduledTransfer.Status.CANCELLED);
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put(TransferFundsJob.SCHEDULED_TRANSFER_ID, "42");
+        when(jobExecutionContext.getMergedJobDataMap()).thenReturn(jobDataMap);
+        when(scheduledTransferRepository.findById(42L)).thenReturn(Optional.of(scheduledTransfer));
+
+        // Act
+        transferFundsJob.executeInternal(jobExecutionContext);
+
+        // Assert
+        verifyNoInteractions(transactionService);
+        verify(scheduledTransferRepository, never()).save(any());
+    }
+
+    @Test
+    void executeInternal_ClaimsRowWhileTheTransferRuns() throws Exception {
+        // Arrange
+        ScheduledTransfer scheduledTransfer = storedTransfer("DAILY");
+        Date nextFireTime = Date.from(Instant.parse("2030-07-02T09:00:00Z"));
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put(TransferFundsJob.SCHEDULED_TRANSFER_ID, "42");
+        when(jobExecutionContext.getMergedJobDataMap()).thenReturn(jobDataMap);
+        when(jobExecutionContext.getNextFireTime()).thenReturn(nextFireTime);
+        when(scheduledTransferRepository.findById(42L)).thenReturn(Optional.of(scheduledTransfer));
+        when(scheduledTransferRepository.claim(eq(42L), eq(EnumSet.of(ScheduledTransfer.Status.PENDING, ScheduledTransfer.Status.RETRYING)),
+                eq(ScheduledTransfer.Status.CLAIMED), any(Instant.class))).thenReturn(1);
+        when(scheduledTransferRepository.advance(eq(42L), any(), eq(ScheduledTransfer.Status.PENDING),
+                eq(nextFireTime.toInstant()), isNull())).thenReturn(1);
+        ScheduledTransfer.Status[] statusWhileRunning = {null};
+        when(transactionService.transferFunds(any(TransferRequestDTO.class), eq(1L))).thenAnswer(invocation -> {
+            // A cancel landing now only matches PENDING or RETRYING rows, so it is refused
+            statusWhileRunning[0] = scheduledTransfer.getStatus();
+            return new TransferResponseDTO("LLB123", "Transfer successful", 0, 0, "Success");
+        });
+
+        // Act
+        transferFundsJob.executeInternal(jobExecutionContext);
+
+        // Assert
+        assertEquals(ScheduledTransfer.Status.CLAIMED, statusWhileRunning[0]);
+        assertEquals(ScheduledTransfer.Status.PENDING, scheduledTransfer.getStatus());
+        assertEquals(nextFireTime.toInstant(), scheduledTransfer.getNextFireTime());
+        verify(scheduledTransferRepository, never()).save(any());
+    }
+
+    @Test
+    void executeInternal_StartDayTrigger_AdvancesToRecurringTrigger() throws Exception {
+        // Arrange: the one-off trigger for the start day fires; the series continues on its cron trigger
+        ScheduledTransfer scheduledTransfer = storedTransfer("MONTHLY");
+        Date nextFireTime = Date.from(Instant.parse("2030-08-01T03:00:00Z"));
+        JobKey jobKey = new JobKey("job-42", TransferFundsJob.JOB_GROUP);
+        JobDetail jobDetail = mock(JobDetail.class);
+        Trigger startDay = mock(Trigger.class);
+        Trigger recurring = mock(Trigger.class);
+        when(jobDetail.getKey()).thenReturn(jobKey);
+        when(startDay.getKey()).thenReturn(new TriggerKey("job-42", "transfer-triggers"));
+        when(recurring.getKey()).thenReturn(new TriggerKey("job-42", "recurring-transfer-triggers"));
+        when(recurring.getNextFireTime()).thenReturn(nextFireTime);
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put(TransferFundsJob.SCHEDULED_TRANSFER_ID, "42");
+        when(jobExecutionContext.getMergedJobDataMap()).thenReturn(jobDataMap);
+        when(jobExecutionContext.getJobDetail()).thenReturn(jobDetail);
+        when(jobExecutionContext.getTrigger()).thenReturn(startDay);
+        doReturn(List.of(startDay, recurring)).when(scheduler).getTriggersOfJob(jobKey);
+        when(scheduledTransferRepository.findById(42L)).thenReturn(Optional.of(scheduledTransfer));
+        when(scheduledTransferRepository.claim(eq(42L), any(), eq(ScheduledTransfer.Status.CLAIMED), any(Instant.class))).thenReturn(1);
+        when(scheduledTransferRepository.advance(eq(42L), any(), eq(ScheduledTransfer.Status.PENDING),
+                eq(nextFireTime.toInstant()), isNull())).thenReturn(1);
+        when(transactionService.transferFunds(any(TransferRequestDTO.class), eq(1L)))
+                .thenReturn(new TransferResponseDTO("LLB123", "Transfer successful", 0, 0, "Success"));
+
+        // Act
+        transferFundsJob.executeInternal(jobExecutionContext);
+
+        // Assert
+        assertEquals(ScheduledTransfer.Status.PENDING, scheduledTransfer.getStatus());
+        assertEquals(nextFireTime.toInstant(), scheduledTransfer.getNextFireTime());
+    }
+
+    @Test
+    void executeInternal_RecurringCancelledWhileRunning_IsNotRevived() throws Exception {
+        // Arrange
+        ScheduledTransfer scheduledTransfer = storedTransfer("DAILY");
+        JobDataMap jobDataMap = new JobDataMap();
+        jobDataMap.put(TransferFundsJob.SCHEDULED_TRANSFER_ID, "42");
+        when(jobExecutionContext.getMergedJobDataMap()).thenReturn(jobDataMap);
+        when(jobExecutionContext.getNextFireTime()).thenReturn(Date.from(Instant.parse("2030-07-02T09:00:00Z")));
+        when(scheduledTransferRepository.findById(42L)).thenReturn(Optional.of(scheduledTransfer));
+        when(scheduledTransferRepository.claim(eq(42L), any(), eq(ScheduledTransfer.Status.CLAIMED), any(Instant.class))).thenReturn(1);
+        when(transactionService.transferFunds(any(TransferRequestDTO.class), eq(1L)))
+                .thenReturn(new TransferResponseDTO("LLB123", "Transfer successful", 0, 0, "Success"));
+        // The series was cancelled while this occurrence ran, so the conditional advance matches nothing
+        when(scheduledTransferRepository.advance(eq(42L), any(), any(), any(), any())).thenReturn(0);
+
+        // Act
+        transferFundsJob.executeInternal(jobExecutionContext);
+
+        // Assert
+        assertThat(scheduledTransfer.getNextFireTime()).isNull();
+        verify(scheduledTransferRepository, never()).save(any());
     }
 
     @Test
@@ -101,4 +282,15 @@ class TransferFundsJobTest {
                 transferFundsJob.executeInternal(jobExecutionContext));
         assertThat(exception.getMessage(), is("An unexpected error occurred while executing transfer job"));
     }
+
+    private ScheduledTransfer storedTransfer(String recurrencePattern) {
+        ScheduledTransfer scheduledTransfer = new ScheduledTransfer();
+        scheduledTransfer.setId(42L);
+        scheduledTransfer.setCustomerId(1L);
+        scheduledTransfer.setSenderAccountId(12345L);
+        scheduledTransfer.setReceiverAccountId(67890L);
+        scheduledTransfer.setAmount(100.0);
+        scheduledTransfer.setRecurrencePattern(recurrencePattern);
+        return scheduledTransfer;
+    }
 }
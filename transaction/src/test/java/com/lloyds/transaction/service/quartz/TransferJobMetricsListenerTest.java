@@ -0,0 +1,89 @@
+package com.lloyds.transaction.service.quartz;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferJobMetricsListenerTest {
+
+    @Mock
+    private JobExecutionContext context;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TransferJobMetricsListener listener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new TransferJobMetricsListener(meterRegistry);
+    }
+
+    @Test
+    void jobWasExecuted_RecordsLagDurationAndOutcome() {
+        // Arrange
+        JobDetail jobDetail = JobBuilder.newJob(TransferFundsJob.class).withIdentity("job-1", TransferFundsJob.JOB_GROUP).build();
+        Trigger trigger = TriggerBuilder.newTrigger().withIdentity("job-1", "transfer-triggers").build();
+        when(context.getJobDetail()).thenReturn(jobDetail);
+        when(context.getTrigger()).thenReturn(trigger);
+        when(context.getScheduledFireTime()).thenReturn(new Date(10_000));
+        when(context.getFireTime()).thenReturn(new Date(12_500));
+        when(context.getJobRunTime()).thenReturn(300L);
+
+        // Act
+        listener.jobWasExecuted(context, new JobExecutionException("Insufficient funds"));
+
+        // Assert
+        assertThat(meterRegistry.get("transfer.job.lag").tag("group", "transfer-triggers").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(2500.0);
+        assertThat(meterRegistry.get("transfer.job.duration").tag("outcome", "failure").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(300.0);
+    }
+
+    @Test
+    void jobWasExecuted_IgnoresOtherJobs() {
+        // Arrange
+        JobDetail jobDetail = JobBuilder.newJob(TransferSweeperJob.class)
+                .withIdentity(TransferSweeperJob.JOB_NAME, TransferSweeperJob.JOB_GROUP).build();
+        when(context.getJobDetail()).thenReturn(jobDetail);
+
+        // Act
+        listener.jobWasExecuted(context, null);
+
+        // Assert
+        assertThat(meterRegistry.find("transfer.job.duration").timer()).isNull();
+    }
+
+    @Test
+    void triggerMisfired_CountsPerTriggerGroup() {
+        // Arrange
+        Trigger trigger = TriggerBuilder.newTrigger()
+                .withIdentity("job-1", "recurring-transfer-triggers")
+                .forJob("job-1", TransferFundsJob.JOB_GROUP)
+                .build();
+
+        // Act
+        listener.triggerMisfired(trigger);
+        listener.triggerMisfired(trigger);
+
+        // Assert
+        assertThat(meterRegistry.get("transfer.job.misfires").tag("group", "recurring-transfer-triggers").counter().count())
+                .isEqualTo(2.0);
+    }
+}
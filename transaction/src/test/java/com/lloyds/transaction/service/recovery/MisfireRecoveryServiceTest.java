@@ -0,0 +1,263 @@
+package com.lloyds.transaction.service.recovery;
+
+import com.lloyds.transaction.entity.RecoveryQueueEntry;
+import com.lloyds.transaction.entity.ScheduledTransfer;
+import com.lloyds.transaction.exception.AccountServiceUnavailableException;
+import com.lloyds.transaction.exception.InsufficientFundsException;
+import com.lloyds.transaction.repository.RecoveryQueueRepository;
+import com.lloyds.transaction.repository.ScheduledTransferRepository;
+import com.lloyds.transaction.service.ScheduledTransferExecutor;
+import com.lloyds.transaction.service.quartz.TransferFundsJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.quartz.JobKey;
+import org.quartz.Scheduler;
+import org.quartz.Trigger;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MisfireRecoveryServiceTest {
+
+    @Mock
+    private RecoveryQueueRepository recoveryQueueRepository;
+
+    @Mock
+    private ScheduledTransferRepository scheduledTransferRepository;
+
+    @Mock
+    private ScheduledTransferExecutor scheduledTransferExecutor;
+
+    @Mock
+    private TransferRetryQueue transferRetryQueue;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Scheduler scheduler;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private MisfireRecoveryService misfireRecoveryService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        misfireRecoveryService = new MisfireRecoveryService(recoveryQueueRepository, scheduledTransferRepository,
+                scheduledTransferExecutor, transferRetryQueue, transactionManager, meterRegistry, 0, 2, 2, 10, 600000, 120000);
+        lenient().when(recoveryQueueRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        misfireRecoveryService.shutdown();
+    }
+
+    @Test
+    void enqueue_StoresMissedOccurrence() {
+        Date missedFireTime = Date.from(Instant.parse("2024-05-31T09:00:00Z"));
+
+        misfireRecoveryService.enqueue(scheduledTransfer(42L), missedFireTime);
+
+        ArgumentCaptor<RecoveryQueueEntry> captor = ArgumentCaptor.forClass(RecoveryQueueEntry.class);
+        verify(recoveryQueueRepository).save(captor.capture());
+        assertThat(captor.getValue().getScheduledTransferId()).isEqualTo(42L);
+        assertThat(captor.getValue().getScheduledFireTime()).isEqualTo(missedFireTime.toInstant());
+        assertThat(captor.getValue().getStatus()).isEqualTo(RecoveryQueueEntry.Status.QUEUED);
+        assertThat(meterRegistry.get("transfer.misfire.recovery.queued").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("transfer.misfire.recovery.backlog").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void enqueue_DuplicateOccurrenceIsIgnored() {
+        when(recoveryQueueRepository.save(any(RecoveryQueueEntry.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        misfireRecoveryService.enqueue(scheduledTransfer(42L), new Date());
+
+        assertThat(meterRegistry.get("transfer.misfire.recovery.queued").counter().count()).isZero();
+    }
+
+    @Test
+    void queueSkippedOccurrences_QueuesOccurrenceNoTriggerWillFire() throws Exception {
+        Instant missedFireTime = Instant.parse("2024-05-31T09:00:00Z");
+        Date nextFireTime = Date.from(Instant.parse("2024-06-30T09:00:00Z"));
+        ScheduledTransfer overdue = quartzTransfer(42L, missedFireTime);
+        when(scheduledTransferRepository.findOverdue(eq(ScheduledTransfer.Engine.QUARTZ), eq(ScheduledTransfer.Status.PENDING),
+                any(Instant.class), any(Pageable.class))).thenReturn(List.of(overdue));
+        Trigger trigger = mock(Trigger.class);
+        when(trigger.getNextFireTime()).thenReturn(nextFireTime);
+        doReturn(List.of(trigger)).when(scheduler).getTriggersOfJob(JobKey.jobKey("job-42", TransferFundsJob.JOB_GROUP));
+
+        int queued = misfireRecoveryService.queueSkippedOccurrences(scheduler);
+
+        // Durable: the row still holds the missed fire time until it is queued, then moves to the next one
+        assertThat(queued).isEqualTo(1);
+        ArgumentCaptor<RecoveryQueueEntry> captor = ArgumentCaptor.forClass(RecoveryQueueEntry.class);
+        verify(recoveryQueueRepository).save(captor.capture());
+        assertThat(captor.getValue().getScheduledTransferId()).isEqualTo(42L);
+        assertThat(captor.getValue().getScheduledFireTime()).isEqualTo(missedFireTime);
+        verify(scheduledTransferRepository).skipOccurrence(42L, ScheduledTransfer.Status.PENDING, missedFireTime, nextFireTime.toInstant());
+    }
+
+    @Test
+    void queueSkippedOccurrences_LeavesOccurrenceStillDue() throws Exception {
+        Instant dueFireTime = Instant.parse("2024-05-31T09:00:00Z");
+        when(scheduledTransferRepository.findOverdue(eq(ScheduledTransfer.Engine.QUARTZ), eq(ScheduledTransfer.Status.PENDING),
+                any(Instant.class), any(Pageable.class))).thenReturn(List.of(quartzTransfer(42L, dueFireTime)));
+        Trigger trigger = mock(Trigger.class);
+        when(trigger.getNextFireTime()).thenReturn(Date.from(dueFireTime));
+        doReturn(List.of(trigger)).when(scheduler).getTriggersOfJob(any(JobKey.class));
+
+        int queued = misfireRecoveryService.queueSkippedOccurrences(scheduler);
+
+        assertThat(queued).isZero();
+        verify(recoveryQueueRepository, never()).save(any(RecoveryQueueEntry.class));
+        verify(scheduledTransferRepository, never()).skipOccurrence(any(), any(), any(), any());
+    }
+
+    @Test
+    void drain_ExecutesQueuedTransfersAndRecordsOutcomes() {
+        RecoveryQueueEntry succeeds = queueEntry(1L);
+        RecoveryQueueEntry fails = queueEntry(2L);
+        ScheduledTransfer first = scheduledTransfer(1L);
+        ScheduledTransfer second = scheduledTransfer(2L);
+        when(recoveryQueueRepository.lockReadyEntries(any(Instant.class), anyInt()))
+                .thenReturn(List.of(succeeds, fails))
+                .thenReturn(Collections.emptyList());
+        when(scheduledTransferExecutor.load(1L)).thenReturn(first);
+        when(scheduledTransferExecutor.load(2L)).thenReturn(second);
+        when(scheduledTransferExecutor.claim(any(ScheduledTransfer.class))).thenReturn(true);
+        when(scheduledTransferExecutor.execute(eq(second), any())).thenThrow(new InsufficientFundsException("Insufficient funds"));
+
+        int drained = misfireRecoveryService.drain();
+
+        assertThat(drained).isEqualTo(2);
+        assertThat(succeeds.getStatus()).isEqualTo(RecoveryQueueEntry.Status.DONE);
+        assertThat(succeeds.getAttempts()).isEqualTo(1);
+        assertThat(fails.getStatus()).isEqualTo(RecoveryQueueEntry.Status.FAILED);
+        assertThat(fails.getLastError()).isEqualTo("Insufficient funds");
+        assertThat(meterRegistry.get("transfer.misfire.recovery.drained").tag("outcome", "success").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("transfer.misfire.recovery.drained").tag("outcome", "failure").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void drain_SkipsTransfersNoLongerPending() {
+        RecoveryQueueEntry entry = queueEntry(1L);
+        ScheduledTransfer completed = scheduledTransfer(1L);
+        completed.setStatus(ScheduledTransfer.Status.COMPLETED);
+        when(recoveryQueueRepository.lockReadyEntries(any(Instant.class), anyInt())).thenReturn(List.of(entry));
+        when(scheduledTransferExecutor.load(1L)).thenReturn(completed);
+
+        misfireRecoveryService.drain();
+
+        verify(scheduledTransferExecutor, never()).execute(any(), any());
+        assertThat(entry.getStatus()).isEqualTo(RecoveryQueueEntry.Status.DONE);
+    }
+
+    @Test
+    void drain_RequeuedRetryIsNotFailed() {
+        RecoveryQueueEntry entry = queueEntry(1L);
+        entry.setReason(RecoveryQueueEntry.Reason.RETRY);
+        ScheduledTransfer retrying = scheduledTransfer(1L);
+        retrying.setStatus(ScheduledTransfer.Status.RETRYING);
+        AccountServiceUnavailableException failure = new AccountServiceUnavailableException("Failed to fetch accounts, status: 503 SERVICE_UNAVAILABLE");
+        when(recoveryQueueRepository.lockReadyEntries(any(Instant.class), anyInt())).thenReturn(List.of(entry));
+        when(scheduledTransferExecutor.load(1L)).thenReturn(retrying);
+        when(scheduledTransferExecutor.claim(retrying)).thenReturn(true);
+        when(scheduledTransferExecutor.execute(eq(retrying), any())).thenAnswer(invocation -> {
+            // What TransferRetryQueue.requeue does to the entry before the executor rethrows
+            entry.setStatus(RecoveryQueueEntry.Status.QUEUED);
+            throw failure;
+        });
+
+        misfireRecoveryService.drain();
+
+        assertThat(entry.getStatus()).isEqualTo(RecoveryQueueEntry.Status.QUEUED);
+        assertThat(entry.getCompletedAt()).isNull();
+        assertThat(meterRegistry.get("transfer.misfire.recovery.drained").tag("outcome", "retry").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("transfer.misfire.recovery.drained").tag("outcome", "failure").counter().count()).isZero();
+    }
+
+    @Test
+    void drain_SkipsRetryOfCancelledTransfer() {
+        RecoveryQueueEntry entry = queueEntry(1L);
+        entry.setReason(RecoveryQueueEntry.Reason.RETRY);
+        ScheduledTransfer cancelled = scheduledTransfer(1L);
+        cancelled.setStatus(ScheduledTransfer.Status.CANCELLED);
+        when(recoveryQueueRepository.lockReadyEntries(any(Instant.class), anyInt())).thenReturn(List.of(entry));
+        when(scheduledTransferExecutor.load(1L)).thenReturn(cancelled);
+
+        misfireRecoveryService.drain();
+
+        verify(scheduledTransferExecutor, never()).execute(any(), any());
+        assertThat(entry.getStatus()).isEqualTo(RecoveryQueueEntry.Status.DONE);
+        assertThat(entry.getLastError()).isEqualTo("Scheduled transfer is CANCELLED");
+    }
+
+    @Test
+    void drain_SkipsRetryCancelledAfterLoading() {
+        RecoveryQueueEntry entry = queueEntry(1L);
+        entry.setReason(RecoveryQueueEntry.Reason.RETRY);
+        ScheduledTransfer retrying = scheduledTransfer(1L);
+        retrying.setStatus(ScheduledTransfer.Status.RETRYING);
+        when(recoveryQueueRepository.lockReadyEntries(any(Instant.class), anyInt())).thenReturn(List.of(entry));
+        when(scheduledTransferExecutor.load(1L)).thenReturn(retrying);
+        // The cancellation committed first, so the row is no longer RETRYING
+        when(scheduledTransferExecutor.claim(retrying)).thenReturn(false);
+
+        misfireRecoveryService.drain();
+
+        verify(scheduledTransferExecutor, never()).execute(any(), any());
+        assertThat(entry.getStatus()).isEqualTo(RecoveryQueueEntry.Status.DONE);
+        assertThat(entry.getLastError()).isEqualTo("Scheduled transfer was cancelled or started elsewhere before this run");
+    }
+
+    private RecoveryQueueEntry queueEntry(Long scheduledTransferId) {
+        RecoveryQueueEntry entry = new RecoveryQueueEntry();
+        entry.setScheduledTransferId(scheduledTransferId);
+        entry.setScheduledFireTime(Instant.now().minusSeconds(600));
+        entry.setNotBefore(Instant.now().minusSeconds(60));
+        entry.setCreatedAt(Instant.now().minusSeconds(60));
+        return entry;
+    }
+
+    private ScheduledTransfer quartzTransfer(Long id, Instant nextFireTime) {
+        ScheduledTransfer transfer = scheduledTransfer(id);
+        transfer.setEngine(ScheduledTransfer.Engine.QUARTZ);
+        transfer.setJobName("job-" + id);
+        transfer.setNextFireTime(nextFireTime);
+        return transfer;
+    }
+
+    private ScheduledTransfer scheduledTransfer(Long id) {
+        ScheduledTransfer transfer = new ScheduledTransfer();
+        transfer.setId(id);
+        transfer.setCustomerId(7L);
+        transfer.setSenderAccountId(7001L);
+        transfer.setReceiverAccountId(8001L);
+        transfer.setAmount(10.0);
+        transfer.setDueAt(Instant.now().minusSeconds(600));
+        transfer.setCreatedAt(Instant.now().minusSeconds(3600));
+        return transfer;
+    }
+}
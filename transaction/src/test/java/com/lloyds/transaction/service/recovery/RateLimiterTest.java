@@ -0,0 +1,40 @@
+package com.lloyds.transaction.service.recovery;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void reserve_SpacesPermitsEvenly() {
+        RateLimiter rateLimiter = new RateLimiter(4);
+        long now = System.nanoTime() + ONE_SECOND;
+
+        assertThat(rateLimiter.reserve(now)).isZero();
+        assertThat(rateLimiter.reserve(now)).isEqualTo(ONE_SECOND / 4);
+        assertThat(rateLimiter.reserve(now)).isEqualTo(ONE_SECOND / 2);
+    }
+
+    @Test
+    void reserve_DoesNotBankPermitsWhileIdle() {
+        RateLimiter rateLimiter = new RateLimiter(4);
+        long later = System.nanoTime() + 10 * ONE_SECOND;
+
+        assertThat(rateLimiter.reserve(later)).isZero();
+        assertThat(rateLimiter.reserve(later)).isEqualTo(ONE_SECOND / 4);
+    }
+
+    @Test
+    void reserve_NonPositiveRateIsUnlimited() {
+        RateLimiter rateLimiter = new RateLimiter(0);
+        long now = System.nanoTime();
+
+        assertThat(rateLimiter.reserve(now)).isZero();
+        assertThat(rateLimiter.reserve(now)).isZero();
+    }
+}
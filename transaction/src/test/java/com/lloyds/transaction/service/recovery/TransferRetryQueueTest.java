@@ -0,0 +1,129 @@
+package com.lloyds.transaction.service.recovery;
+
+import com.lloyds.transaction.entity.DeadLetterTransfer;
+import com.lloyds.transaction.entity.RecoveryQueueEntry;
+import com.lloyds.transaction.entity.ScheduledTransfer;
+import com.lloyds.transaction.exception.AccountServiceUnavailableException;
+import com.lloyds.transaction.exception.InsufficientFundsException;
+import com.lloyds.transaction.repository.DeadLetterTransferRepository;
+import com.lloyds.transaction.repository.RecoveryQueueRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferRetryQueueTest {
+
+    private static final AccountServiceUnavailableException UNAVAILABLE =
+            new AccountServiceUnavailableException("Failed to fetch accounts, status: 503 SERVICE_UNAVAILABLE");
+
+    @Mock
+    private RecoveryQueueRepository recoveryQueueRepository;
+
+    @Mock
+    private DeadLetterTransferRepository deadLetterTransferRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TransferRetryQueue transferRetryQueue;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        TransferRetryPolicy retryPolicy = new TransferRetryPolicy(true, 3, 1000, 2.0, 3000);
+        transferRetryQueue = new TransferRetryQueue(recoveryQueueRepository, deadLetterTransferRepository, retryPolicy, meterRegistry);
+    }
+
+    @Test
+    void offer_TransientFailure_QueuesRetryAfterBackoff() {
+        Instant fireTime = Instant.parse("2024-05-31T09:00:00Z");
+
+        assertThat(transferRetryQueue.offer(scheduledTransfer(), fireTime, UNAVAILABLE)).isTrue();
+
+        ArgumentCaptor<RecoveryQueueEntry> captor = ArgumentCaptor.forClass(RecoveryQueueEntry.class);
+        verify(recoveryQueueRepository).save(captor.capture());
+        RecoveryQueueEntry entry = captor.getValue();
+        assertThat(entry.getReason()).isEqualTo(RecoveryQueueEntry.Reason.RETRY);
+        assertThat(entry.getScheduledFireTime()).isEqualTo(fireTime);
+        assertThat(entry.getAttempts()).isEqualTo(1);
+        assertThat(entry.getNotBefore()).isAfter(Instant.now().plusMillis(400));
+        assertThat(meterRegistry.get("transfer.retry.queued").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void offer_PermanentFailure_IsNotRetried() {
+        assertThat(transferRetryQueue.offer(scheduledTransfer(), Instant.now(),
+                new InsufficientFundsException("Insufficient funds in the sender account"))).isFalse();
+
+        verifyNoInteractions(recoveryQueueRepository);
+    }
+
+    @Test
+    void requeue_AttemptsLeft_PutsEntryBackOnQueue() {
+        RecoveryQueueEntry entry = claimedEntry(2);
+
+        assertThat(transferRetryQueue.requeue(entry, UNAVAILABLE)).isTrue();
+
+        assertThat(entry.getStatus()).isEqualTo(RecoveryQueueEntry.Status.QUEUED);
+        assertThat(entry.getClaimedAt()).isNull();
+        assertThat(entry.getLastError()).isEqualTo(UNAVAILABLE.getMessage());
+        verifyNoInteractions(deadLetterTransferRepository);
+    }
+
+    @Test
+    void requeue_AttemptsExhausted_DeadLetters() {
+        RecoveryQueueEntry entry = claimedEntry(3);
+
+        assertThat(transferRetryQueue.requeue(entry, UNAVAILABLE)).isFalse();
+
+        ArgumentCaptor<DeadLetterTransfer> captor = ArgumentCaptor.forClass(DeadLetterTransfer.class);
+        verify(deadLetterTransferRepository).save(captor.capture());
+        assertThat(captor.getValue().getScheduledTransferId()).isEqualTo(42L);
+        assertThat(captor.getValue().getAttempts()).isEqualTo(3);
+        assertThat(entry.getStatus()).isEqualTo(RecoveryQueueEntry.Status.IN_PROGRESS);
+        assertThat(meterRegistry.get("transfer.retry.dead-lettered").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void backoff_GrowsExponentiallyUpToCap() {
+        TransferRetryPolicy retryPolicy = new TransferRetryPolicy(true, 10, 1000, 2.0, 3000);
+
+        assertThat(retryPolicy.backoff(1)).isBetween(Duration.ofMillis(500), Duration.ofMillis(1000));
+        assertThat(retryPolicy.backoff(2)).isBetween(Duration.ofMillis(1000), Duration.ofMillis(2000));
+        assertThat(retryPolicy.backoff(8)).isBetween(Duration.ofMillis(1500), Duration.ofMillis(3000));
+    }
+
+    @Test
+    void disabledPolicy_RetriesNothing() {
+        TransferRetryPolicy retryPolicy = new TransferRetryPolicy(false, 3, 1000, 2.0, 3000);
+
+        assertThat(retryPolicy.isRetryable(UNAVAILABLE)).isFalse();
+    }
+
+    private ScheduledTransfer scheduledTransfer() {
+        ScheduledTransfer transfer = new ScheduledTransfer();
+        transfer.setId(42L);
+        return transfer;
+    }
+
+    private RecoveryQueueEntry claimedEntry(int attempts) {
+        RecoveryQueueEntry entry = new RecoveryQueueEntry();
+        entry.setScheduledTransferId(42L);
+        entry.setReason(RecoveryQueueEntry.Reason.RETRY);
+        entry.setScheduledFireTime(Instant.now().minusSeconds(600));
+        entry.setStatus(RecoveryQueueEntry.Status.IN_PROGRESS);
+        entry.setClaimedAt(Instant.now());
+        entry.setAttempts(attempts);
+        return entry;
+    }
+}
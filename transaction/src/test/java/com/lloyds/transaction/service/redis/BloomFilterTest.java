@@ -0,0 +1,47 @@
+package com.lloyds.transaction.service.redis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_NoFalseNegativesAndFalsePositivesNearConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("revoked-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("revoked-" + i)).isTrue();
+        }
+        long falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("valid-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        assertThat(filter.estimatedFalsePositiveRate()).isBetween(0.005, 0.02);
+    }
+
+    @Test
+    void overfilled_KeepsSizeAndReportsHigherRate() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+        long bits = filter.bitCount();
+        for (int i = 0; i < 5_000; i++) {
+            filter.put("revoked-" + i);
+        }
+
+        assertThat(filter.bitCount()).isEqualTo(bits);
+        assertThat(filter.estimatedFalsePositiveRate()).isGreaterThan(0.1);
+    }
+
+    @Test
+    void invalidSizing_IsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(1_000, 1.0));
+    }
+}
@@ -0,0 +1,68 @@
+package com.lloyds.transaction.service.redis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new CircuitBreaker("test", 3, 5_000, now::get);
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRejectsCalls() {
+        failTimes(2);
+        circuitBreaker.onSuccess();
+        failTimes(2);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        failTimes(1);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    void halfOpenTrial_SuccessCloses() {
+        failTimes(3);
+        now.addAndGet(5_000);
+
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquire()).as("only one trial at a time").isFalse();
+
+        circuitBreaker.onSuccess();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void halfOpenTrial_FailureReopens() {
+        failTimes(3);
+        now.addAndGet(5_000);
+        assertThat(circuitBreaker.tryAcquire()).isTrue();
+
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        now.addAndGet(4_999);
+        assertThat(circuitBreaker.tryAcquire()).isFalse();
+    }
+
+    private void failTimes(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThat(circuitBreaker.tryAcquire()).isTrue();
+            circuitBreaker.onFailure();
+        }
+    }
+}
@@ -1,41 +1,129 @@
 package com.lloyds.transaction.service.redis;
 
+import com.lloyds.transaction.exception.CircuitBreakerOpenException;
+import com.lloyds.transaction.exception.TokenBlacklistUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Instant;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class RedisServiceTest {
 
     @Mock
-    private RedisTemplate<String, String> redisTemplate;
+    private BlacklistRedisClient blacklistRedisClient;
+
+    @Mock
+    private TokenBlacklistNearCache nearCache;
+
+    @Mock
+    private RevokedJtiFilter revokedJtiFilter;
 
-    @InjectMocks
     private RedisService redisService;
 
     private static final String BLACKLISTED_JTI = "blacklistedToken";
     private static final String NON_BLACKLISTED_JTI = "validToken";
 
+    @BeforeEach
+    void setUp() {
+        redisService = new RedisService(blacklistRedisClient, nearCache, revokedJtiFilter, RedisService.DegradedPolicy.FAIL_OPEN);
+    }
+
 
     @Test
     void testIsTokenBlacklisted_whenRedisAvailable() {
-        when(redisTemplate.hasKey(BLACKLISTED_JTI)).thenReturn(true);
+        when(blacklistRedisClient.hasKey(BLACKLISTED_JTI)).thenReturn(true);
         assertThat(redisService.isTokenBlacklisted(BLACKLISTED_JTI)).isTrue();
 
-        when(redisTemplate.hasKey(NON_BLACKLISTED_JTI)).thenReturn(false);
+        when(blacklistRedisClient.hasKey(NON_BLACKLISTED_JTI)).thenReturn(false);
         assertThat(redisService.isTokenBlacklisted(NON_BLACKLISTED_JTI)).isFalse();
     }
 
 
     @Test
     void testIsTokenBlacklisted_whenTokenNotBlacklisted() {
-        doThrow(new RuntimeException("Redis unavailable")).when(redisTemplate).hasKey(anyString());
+        doThrow(new RuntimeException("Redis unavailable")).when(blacklistRedisClient).hasKey(anyString());
         assertThat(redisService.isTokenBlacklisted(NON_BLACKLISTED_JTI)).isFalse();
     }
+
+    @Test
+    void testIsTokenBlacklisted_breakerOpenFailOpenLetsTokenThrough() {
+        when(blacklistRedisClient.hasKey(NON_BLACKLISTED_JTI))
+                .thenThrow(new CircuitBreakerOpenException("Blacklist Redis circuit breaker is open"));
+
+        assertThat(redisService.isTokenBlacklisted(NON_BLACKLISTED_JTI)).isFalse();
+    }
+
+    @Test
+    void testIsTokenBlacklisted_nearCacheHitSkipsRedis() {
+        when(nearCache.isEnabled()).thenReturn(true);
+        when(nearCache.isKnownNotBlacklisted(NON_BLACKLISTED_JTI)).thenReturn(true);
+
+        assertThat(redisService.isTokenBlacklisted(NON_BLACKLISTED_JTI)).isFalse();
+        verifyNoInteractions(blacklistRedisClient);
+    }
+
+    @Test
+    void testIsTokenBlacklisted_nearCacheMissCachesNegativeAnswer() {
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        when(nearCache.isEnabled()).thenReturn(true);
+        when(nearCache.revocationMark()).thenReturn(3L);
+        when(blacklistRedisClient.hasKey(NON_BLACKLISTED_JTI)).thenReturn(false);
+        when(blacklistRedisClient.hasKey(BLACKLISTED_JTI)).thenReturn(true);
+
+        assertThat(redisService.isTokenBlacklisted(NON_BLACKLISTED_JTI, expiresAt)).isFalse();
+        assertThat(redisService.isTokenBlacklisted(BLACKLISTED_JTI, expiresAt)).isTrue();
+
+        verify(nearCache).putNotBlacklisted(NON_BLACKLISTED_JTI, expiresAt, 3L);
+        verify(nearCache, never()).putNotBlacklisted(eq(BLACKLISTED_JTI), any(), anyLong());
+    }
+
+    @Test
+    void testIsTokenBlacklisted_filterRulesOutJtiWithoutRedis() {
+        when(revokedJtiFilter.isEnabled()).thenReturn(true);
+        when(revokedJtiFilter.mightBeRevoked(NON_BLACKLISTED_JTI)).thenReturn(false);
+
+        assertThat(redisService.isTokenBlacklisted(NON_BLACKLISTED_JTI)).isFalse();
+        verifyNoInteractions(blacklistRedisClient);
+    }
+
+    @Test
+    void testIsTokenBlacklisted_filterHitIsCheckedInRedis() {
+        when(revokedJtiFilter.isEnabled()).thenReturn(true);
+        when(revokedJtiFilter.mightBeRevoked(anyString())).thenReturn(true);
+        when(blacklistRedisClient.hasKey(BLACKLISTED_JTI)).thenReturn(true);
+        when(blacklistRedisClient.hasKey(NON_BLACKLISTED_JTI)).thenReturn(false);
+
+        assertThat(redisService.isTokenBlacklisted(BLACKLISTED_JTI)).isTrue();
+        assertThat(redisService.isTokenBlacklisted(NON_BLACKLISTED_JTI)).isFalse();
+        verify(revokedJtiFilter, times(1)).recordFalsePositive();
+    }
+
+    @Test
+    void testIsTokenBlacklisted_failClosedRefusesWhenRedisUnavailable() {
+        RedisService failClosed = new RedisService(blacklistRedisClient, nearCache, revokedJtiFilter,
+                RedisService.DegradedPolicy.FAIL_CLOSED);
+        when(blacklistRedisClient.hasKey(NON_BLACKLISTED_JTI)).thenThrow(new QueryTimeoutException("Read timed out"));
+
+        assertThrows(TokenBlacklistUnavailableException.class, () -> failClosed.isTokenBlacklisted(NON_BLACKLISTED_JTI));
+    }
+
+    @Test
+    void testIsTokenBlacklisted_failClosedStillUsesLocalAnswers() {
+        RedisService failClosed = new RedisService(blacklistRedisClient, nearCache, revokedJtiFilter,
+                RedisService.DegradedPolicy.FAIL_CLOSED);
+        when(nearCache.isEnabled()).thenReturn(true);
+        when(nearCache.isKnownNotBlacklisted(NON_BLACKLISTED_JTI)).thenReturn(true);
+
+        assertThat(failClosed.isTokenBlacklisted(NON_BLACKLISTED_JTI)).isFalse();
+        verifyNoInteractions(blacklistRedisClient);
+    }
 }
@@ -0,0 +1,131 @@
+package com.lloyds.transaction.service.redis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevokedJtiFilterTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisKeyCommands keyCommands;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RevokedJtiFilter revokedJtiFilter;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private final AtomicBoolean subscribed = new AtomicBoolean(true);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        revokedJtiFilter = new RevokedJtiFilter(redisTemplate, meterRegistry, true, 1_000, 0.001, 60_000, "*",
+                120_000, now::get);
+        revokedJtiFilter.trackSubscription(subscribed::get);
+    }
+
+    @Test
+    void mightBeRevoked_BeforeFirstBuild_AlwaysTrue() {
+        assertThat(revokedJtiFilter.mightBeRevoked("any-jti")).isTrue();
+    }
+
+    @Test
+    void rebuild_LoadsRevokedJtisFromRedis() {
+        // Arrange
+        stubScan("revoked-1", "revoked-2");
+
+        // Act
+        revokedJtiFilter.rebuild();
+
+        // Assert
+        assertThat(revokedJtiFilter.mightBeRevoked("revoked-1")).isTrue();
+        assertThat(revokedJtiFilter.mightBeRevoked("revoked-2")).isTrue();
+        assertThat(revokedJtiFilter.mightBeRevoked("valid-1")).isFalse();
+        assertThat(meterRegistry.get("token.blacklist.bloom.entries").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("token.blacklist.bloom.lookups").tag("result", "negative").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void revocationMessage_AddsJtiToBuiltFilter() {
+        // Arrange
+        stubScan();
+        revokedJtiFilter.rebuild();
+
+        // Act
+        revokedJtiFilter.onMessage(new DefaultMessage("token-revocations".getBytes(StandardCharsets.UTF_8),
+                "revoked-3".getBytes(StandardCharsets.UTF_8)), null);
+
+        // Assert
+        assertThat(revokedJtiFilter.mightBeRevoked("revoked-3")).isTrue();
+    }
+
+    @Test
+    void mightBeRevoked_ListenerNotSubscribed_DoesNotTrustNegative() {
+        // Arrange
+        stubScan("revoked-1");
+        revokedJtiFilter.rebuild();
+        subscribed.set(false);
+
+        // Act & Assert: a revocation message may have been missed, so Redis has to be asked
+        assertThat(revokedJtiFilter.mightBeRevoked("valid-1")).isTrue();
+        assertThat(meterRegistry.get("token.blacklist.bloom.lookups").tag("result", "untrusted").counter().count()).isEqualTo(1.0);
+
+        subscribed.set(true);
+        assertThat(revokedJtiFilter.mightBeRevoked("valid-1")).isFalse();
+    }
+
+    @Test
+    void mightBeRevoked_FilterOlderThanMaxTrustedAge_DoesNotTrustNegative() {
+        // Arrange
+        stubScan("revoked-1");
+        revokedJtiFilter.rebuild();
+
+        // Act & Assert
+        now.addAndGet(120_000);
+        assertThat(revokedJtiFilter.mightBeRevoked("valid-1")).isFalse();
+        now.addAndGet(1);
+        assertThat(revokedJtiFilter.mightBeRevoked("valid-1")).isTrue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubScan(String... keys) {
+        Iterator<byte[]> scanned = Arrays.stream(keys).map(key -> key.getBytes(StandardCharsets.UTF_8)).iterator();
+        Cursor<byte[]> cursor = mock(Cursor.class);
+        doAnswer(invocation -> {
+            scanned.forEachRemaining(invocation.getArgument(0));
+            return null;
+        }).when(cursor).forEachRemaining(any());
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        when(keyCommands.scan(any(ScanOptions.class))).thenReturn(cursor);
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection));
+    }
+}
@@ -0,0 +1,102 @@
+package com.lloyds.transaction.service.redis;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBlacklistNearCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TokenBlacklistNearCache nearCache;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean(true);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        nearCache = new TokenBlacklistNearCache(meterRegistry, true, 60000, 2);
+        nearCache.trackSubscription(subscribed::get);
+    }
+
+    @Test
+    void putNotBlacklisted_AnswersLaterLookups() {
+        nearCache.putNotBlacklisted("jti-1", null, nearCache.revocationMark());
+
+        assertThat(nearCache.isKnownNotBlacklisted("jti-1")).isTrue();
+        assertThat(nearCache.isKnownNotBlacklisted("jti-2")).isFalse();
+        assertThat(meterRegistry.get("token.blacklist.near-cache.lookups").tag("result", "hit").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("token.blacklist.near-cache.lookups").tag("result", "miss").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void putNotBlacklisted_NeverOutlivesToken() {
+        nearCache.putNotBlacklisted("expired", Instant.now().minusSeconds(1), nearCache.revocationMark());
+
+        assertThat(nearCache.isKnownNotBlacklisted("expired")).isFalse();
+    }
+
+    @Test
+    void revocationMessage_DropsCachedJti() {
+        nearCache.putNotBlacklisted("jti-1", null, nearCache.revocationMark());
+
+        nearCache.onMessage(new DefaultMessage("__keyevent@0__:set".getBytes(StandardCharsets.UTF_8),
+                "jti-1".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(nearCache.isKnownNotBlacklisted("jti-1")).isFalse();
+        assertThat(meterRegistry.get("token.blacklist.near-cache.invalidations").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void putNotBlacklisted_RevocationDuringLookup_IsNotCached() {
+        long mark = nearCache.revocationMark();
+        nearCache.invalidate("jti-1");
+
+        nearCache.putNotBlacklisted("jti-1", null, mark);
+
+        assertThat(nearCache.isKnownNotBlacklisted("jti-1")).isFalse();
+    }
+
+    @Test
+    void putNotBlacklisted_StaysWithinMaxEntries() {
+        for (int i = 0; i < 5; i++) {
+            nearCache.putNotBlacklisted("jti-" + i, null, nearCache.revocationMark());
+        }
+
+        assertThat(meterRegistry.get("token.blacklist.near-cache.size").gauge().value()).isLessThanOrEqualTo(2.0);
+        assertThat(nearCache.isKnownNotBlacklisted("jti-4")).isTrue();
+    }
+
+    @Test
+    void putNotBlacklisted_FullCache_EvictsLeastRecentlyUsed() {
+        nearCache.putNotBlacklisted("jti-1", null, nearCache.revocationMark());
+        nearCache.putNotBlacklisted("jti-2", null, nearCache.revocationMark());
+        nearCache.isKnownNotBlacklisted("jti-1");
+
+        nearCache.putNotBlacklisted("jti-3", null, nearCache.revocationMark());
+
+        assertThat(nearCache.isKnownNotBlacklisted("jti-1")).isTrue();
+        assertThat(nearCache.isKnownNotBlacklisted("jti-2")).isFalse();
+        assertThat(nearCache.isKnownNotBlacklisted("jti-3")).isTrue();
+        assertThat(meterRegistry.get("token.blacklist.near-cache.evictions").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void listenerNotSubscribed_CacheIsBypassed() {
+        nearCache.putNotBlacklisted("jti-1", null, nearCache.revocationMark());
+        subscribed.set(false);
+
+        // A revocation message could be missed, so nothing cached is trusted and nothing new is cached
+        assertThat(nearCache.isKnownNotBlacklisted("jti-1")).isFalse();
+        nearCache.putNotBlacklisted("jti-2", null, nearCache.revocationMark());
+        subscribed.set(true);
+        assertThat(nearCache.isKnownNotBlacklisted("jti-2")).isFalse();
+    }
+}
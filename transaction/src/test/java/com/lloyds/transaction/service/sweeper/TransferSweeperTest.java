@@ -0,0 +1,164 @@
+package com.lloyds.transaction.service.sweeper;
+
+import com.lloyds.transaction.dto.request.TransferRequestDTO;
+import com.lloyds.transaction.dto.response.TransferResponseDTO;
+import com.lloyds.transaction.entity.ScheduledTransfer;
+import com.lloyds.transaction.exception.InsufficientFundsException;
+import com.lloyds.transaction.repository.ScheduledTransferRepository;
+import com.lloyds.transaction.service.ScheduledTransferExecutor;
+import com.lloyds.transaction.service.TransactionService;
+import com.lloyds.transaction.service.coalescing.SenderTransferCoalescer;
+import com.lloyds.transaction.service.lanes.ExecutionLanes;
+import com.lloyds.transaction.service.recovery.TransferRetryQueue;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransferSweeperTest {
+
+    @Mock
+    private ScheduledTransferRepository scheduledTransferRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private SenderTransferCoalescer senderTransferCoalescer;
+
+    @Mock
+    private TransferRetryQueue transferRetryQueue;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TransferSweeper transferSweeper;
+
+    @BeforeEach
+    void setUp() {
+        transferSweeper = new TransferSweeper(scheduledTransferRepository,
+                new ScheduledTransferExecutor(scheduledTransferRepository, transactionService, senderTransferCoalescer,
+                        transferRetryQueue, new ExecutionLanes(new SimpleMeterRegistry(), 4, 4, 1000, 4, 4, 1000)), transactionManager,
+                2, 2, 10, 600000);
+        lenient().when(scheduledTransferRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transferSweeper.shutdown();
+    }
+
+    @Test
+    void sweep_ExecutesClaimedTransfersAndMarksThemCompleted() {
+        ScheduledTransfer first = scheduledTransfer(1L);
+        ScheduledTransfer second = scheduledTransfer(2L);
+        when(scheduledTransferRepository.lockDueTransfers(any(Instant.class), eq(2)))
+                .thenReturn(List.of(first, second))
+                .thenReturn(Collections.emptyList());
+        when(transactionService.transferFunds(any(TransferRequestDTO.class), eq(7L)))
+                .thenReturn(new TransferResponseDTO("LLB123", "Transfer successful", 0, 0, "Success"));
+
+        int executed = transferSweeper.sweep();
+
+        assertThat(executed).isEqualTo(2);
+        assertThat(first.getStatus()).isEqualTo(ScheduledTransfer.Status.COMPLETED);
+        assertThat(first.getTransactionId()).isEqualTo("LLB123");
+        assertThat(second.getStatus()).isEqualTo(ScheduledTransfer.Status.COMPLETED);
+        verify(transactionService, times(2)).transferFunds(any(TransferRequestDTO.class), eq(7L));
+    }
+
+    @Test
+    void sweep_RecordsFailureWithoutStoppingTheBatch() {
+        ScheduledTransfer transfer = scheduledTransfer(1L);
+        when(scheduledTransferRepository.lockDueTransfers(any(Instant.class), anyInt()))
+                .thenReturn(List.of(transfer));
+        when(transactionService.transferFunds(any(TransferRequestDTO.class), eq(7L)))
+                .thenThrow(new InsufficientFundsException("Insufficient funds in the sender account"));
+
+        int executed = transferSweeper.sweep();
+
+        assertThat(executed).isEqualTo(1);
+        assertThat(transfer.getStatus()).isEqualTo(ScheduledTransfer.Status.FAILED);
+        assertThat(transfer.getLastError()).isEqualTo("Insufficient funds in the sender account");
+        verify(scheduledTransferRepository).save(transfer);
+    }
+
+    @Test
+    void sweep_MarksExpiredClaimsUnreconciled() {
+        when(scheduledTransferRepository.lockDueTransfers(any(Instant.class), anyInt())).thenReturn(Collections.emptyList());
+
+        transferSweeper.sweep();
+
+        // Whether an expired claim moved money is unknown, so it is neither failed nor run again
+        verify(scheduledTransferRepository).expireClaims(eq(ScheduledTransfer.Status.CLAIMED),
+                eq(ScheduledTransfer.Status.UNRECONCILED), eq("Claim expired before completion"),
+                any(Instant.class), any(Instant.class));
+    }
+
+    @Test
+    void sweepPartitions_OnlyClaimsOwnedPartitions() {
+        ScheduledTransfer transfer = scheduledTransfer(1L);
+        when(scheduledTransferRepository.lockDueTransfersInPartitions(any(Instant.class), eq(Set.of(3, 5)), eq(false), anyInt()))
+                .thenReturn(List.of(transfer));
+        when(transactionService.transferFunds(any(TransferRequestDTO.class), eq(7L)))
+                .thenReturn(new TransferResponseDTO("LLB123", "Transfer successful", 0, 0, "Success"));
+
+        assertThat(transferSweeper.sweepPartitions(Set.of(3, 5))).isEqualTo(1);
+        verify(scheduledTransferRepository, never()).lockDueTransfers(any(Instant.class), anyInt());
+    }
+
+    @Test
+    void sweepPartitions_HolderOfPartitionZero_AlsoClaimsUnassignedRows() {
+        ScheduledTransfer unassigned = scheduledTransfer(1L);
+        unassigned.setPartitionId(null);
+        when(scheduledTransferRepository.lockDueTransfersInPartitions(any(Instant.class), eq(Set.of(0, 5)), eq(true), anyInt()))
+                .thenReturn(List.of(unassigned));
+        when(transactionService.transferFunds(any(TransferRequestDTO.class), eq(7L)))
+                .thenReturn(new TransferResponseDTO("LLB123", "Transfer successful", 0, 0, "Success"));
+
+        assertThat(transferSweeper.sweepPartitions(Set.of(0, 5))).isEqualTo(1);
+        assertThat(unassigned.getStatus()).isEqualTo(ScheduledTransfer.Status.COMPLETED);
+    }
+
+    @Test
+    void sweepPartitions_NoPartitionsOwned_ExecutesNothing() {
+        assertThat(transferSweeper.sweepPartitions(Set.of())).isZero();
+        verifyNoInteractions(scheduledTransferRepository);
+    }
+
+    @Test
+    void sweep_NothingDue_ExecutesNothing() {
+        when(scheduledTransferRepository.lockDueTransfers(any(Instant.class), anyInt())).thenReturn(Collections.emptyList());
+
+        assertThat(transferSweeper.sweep()).isZero();
+        verifyNoInteractions(transactionService);
+    }
+
+    private ScheduledTransfer scheduledTransfer(Long id) {
+        ScheduledTransfer transfer = new ScheduledTransfer();
+        transfer.setId(id);
+        transfer.setCustomerId(7L);
+        transfer.setSenderAccountId(7001L);
+        transfer.setReceiverAccountId(8001L);
+        transfer.setAmount(10.0);
+        transfer.setDueAt(Instant.now().minusSeconds(5));
+        transfer.setCreatedAt(Instant.now().minusSeconds(60));
+        return transfer;
+    }
+}